@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Run the JMH benchmarks and compare them with the recorded baseline (benchmarks/baseline.json).
+#
+#   scripts/benchmarks.sh record [regex]   run and save the results as the new baseline
+#   scripts/benchmarks.sh check  [regex]   run and fail if a benchmark regressed (default)
+#
+# Baselines are machine specific: record and check on the same hardware and JDK.
+# BENCH_TOLERANCE (percent, default 10) and JMH_ARGS (default "-f 1 -wi 3 -i 5") can be overridden.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MODE="${1:-check}"
+FILTER="${2:-}"
+RESULTS="target/jmh-result.json"
+BASELINE="benchmarks/baseline.json"
+TOLERANCE="${BENCH_TOLERANCE:-10}"
+JMH_ARGS="${JMH_ARGS:--f 1 -wi 3 -i 5}"
+
+case "${MODE}" in
+  record|check) ;;
+  *) echo "Usage: $0 record|check [benchmark regex]" >&2; exit 2 ;;
+esac
+
+mvn -B -q -Pbenchmarks test-compile exec:exec \
+  -Djmh.args="${JMH_ARGS} -rf json -rff ${RESULTS} ${FILTER}"
+
+mvn -B -q -Pbenchmarks exec:exec \
+  -Djmh.main=com.pha.inspection.benchmark.BaselineCheck \
+  -Djmh.args="${MODE} ${RESULTS} ${BASELINE} ${TOLERANCE} ${FILTER}"
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Compare platform-thread and virtual-thread request execution under simulated inspector load.
+#
+# Starts DynamoDB Local, then for each mode builds/starts the backend, runs the load test
+# driver and stops the backend. Prints the SUMMARY line of each run (throughput, p50, p99).
+#
+# Requires: docker, aws CLI, Java 21, Maven. Usage: scripts/loadtest-compare.sh [inspectors] [seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+INSPECTORS="${1:-1000}"
+DURATION="${2:-60}"
+PORT=8080
+RESULTS="target/loadtest"
+mkdir -p "${RESULTS}"
+
+scripts/local-dynamodb.sh 8000
+mvn -B -q -DskipTests package
+JAR="$(ls target/inspection-backend-*.jar | head -n 1)"
+
+export SPRING_PROFILES_ACTIVE=prod
+export AWS_DYNAMODB_ENDPOINT=http://localhost:8000
+export AWS_ACCESS_KEY_ID=local AWS_SECRET_ACCESS_KEY=local AWS_REGION=us-east-1
+export JWT_SECRET="loadtest-secret-loadtest-secret-loadtest-secret-loadtest-secret-0001"
+export BEDROCK_ACCESS_KEY_ID=local BEDROCK_SECRET_ACCESS_KEY=local BEDROCK_REGION=us-east-1
+export CHANGELOG_DIR="${RESULTS}/changelog"
+export INSPECTOR_ADMIN_OPERATOR_IDS=LT0000  # the driver bulk-imports the other inspectors as LT0000
+
+for MODE in platform virtual; do
+  if [ "${MODE}" = "virtual" ]; then VIRTUAL=true; else VIRTUAL=false; fi
+
+  java -jar "${JAR}" --server.port="${PORT}" --spring.threads.virtual.enabled="${VIRTUAL}" \
+    > "${RESULTS}/backend-${MODE}.log" 2>&1 &
+  BACKEND_PID=$!
+  trap 'kill ${BACKEND_PID} 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:${PORT}/api/health" >/dev/null; do
+    sleep 1
+  done
+
+  mvn -B -q -Ploadtest test-compile exec:exec \
+    -Dloadtest.args="-Dloadtest.base-url=http://localhost:${PORT}/api -Dloadtest.inspectors=${INSPECTORS} -Dloadtest.duration=${DURATION} -Dloadtest.label=${MODE}" \
+    | tee "${RESULTS}/loadtest-${MODE}.txt"
+
+  kill "${BACKEND_PID}"
+  wait "${BACKEND_PID}" 2>/dev/null || true
+done
+
+echo
+grep -h '^SUMMARY' "${RESULTS}"/loadtest-platform.txt "${RESULTS}"/loadtest-virtual.txt
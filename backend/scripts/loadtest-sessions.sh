@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Replay complete inspector sessions against the backend backed by DynamoDB Local.
+#
+# Starts DynamoDB Local, builds and starts the backend, then runs InspectorSessionLoadTest with
+# the given arrival stages and prints per-endpoint latency percentiles. Percentile distributions
+# (.hgrm) and the backend log are written to target/loadtest/. Same settings and seed give the
+# same sessions, so runs can be compared as a baseline.
+#
+# Requires: docker, aws CLI, Java 21, Maven.
+# Usage: scripts/loadtest-sessions.sh [rates] [label]   e.g. scripts/loadtest-sessions.sh 1:60,5:120 baseline
+# Other loadtest.* properties can be passed in LOADTEST_OPTS (e.g. "-Dloadtest.think-ms=200").
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RATES="${1:-2:120}"
+LABEL="${2:-sessions}"
+PORT=8080
+RESULTS="target/loadtest"
+mkdir -p "${RESULTS}"
+
+scripts/local-dynamodb.sh 8000
+mvn -B -q -DskipTests package
+JAR="$(ls target/inspection-backend-*.jar | head -n 1)"
+
+export SPRING_PROFILES_ACTIVE=prod
+export AWS_DYNAMODB_ENDPOINT=http://localhost:8000
+export AWS_ACCESS_KEY_ID=local AWS_SECRET_ACCESS_KEY=local AWS_REGION=us-east-1
+export JWT_SECRET="loadtest-secret-loadtest-secret-loadtest-secret-loadtest-secret-0001"
+export BEDROCK_ACCESS_KEY_ID=local BEDROCK_SECRET_ACCESS_KEY=local BEDROCK_REGION=us-east-1
+export CHANGELOG_DIR="${RESULTS}/changelog"
+export INSPECTOR_ADMIN_OPERATOR_IDS=LT0000  # the driver bulk-imports the other inspectors as LT0000
+
+java -jar "${JAR}" --server.port="${PORT}" > "${RESULTS}/backend-${LABEL}.log" 2>&1 &
+BACKEND_PID=$!
+trap 'kill ${BACKEND_PID} 2>/dev/null || true' EXIT
+
+until curl -sf "http://localhost:${PORT}/api/health" >/dev/null; do
+  sleep 1
+done
+
+mvn -B -q -Ploadtest test-compile exec:exec \
+  -Dloadtest.main=com.pha.inspection.loadtest.InspectorSessionLoadTest \
+  -Dloadtest.args="-Dloadtest.base-url=http://localhost:${PORT}/api -Dloadtest.rates=${RATES} -Dloadtest.label=${LABEL} -Dloadtest.output=${RESULTS} ${LOADTEST_OPTS:-}" \
+  | tee "${RESULTS}/loadtest-${LABEL}.txt"
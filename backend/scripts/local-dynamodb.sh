@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Start DynamoDB Local in Docker and create the pha-inspections table with its GSIs.
+# Requires: docker, aws CLI. Usage: scripts/local-dynamodb.sh [port]
+set -euo pipefail
+
+PORT="${1:-8000}"
+ENDPOINT="http://localhost:${PORT}"
+CONTAINER="pha-dynamodb-local"
+export AWS_ACCESS_KEY_ID="${AWS_ACCESS_KEY_ID:-local}"
+export AWS_SECRET_ACCESS_KEY="${AWS_SECRET_ACCESS_KEY:-local}"
+export AWS_DEFAULT_REGION="${AWS_DEFAULT_REGION:-us-east-1}"
+
+if ! docker ps --format '{{.Names}}' | grep -qx "${CONTAINER}"; then
+  docker rm -f "${CONTAINER}" >/dev/null 2>&1 || true
+  docker run -d --name "${CONTAINER}" -p "${PORT}:8000" amazon/dynamodb-local -jar DynamoDBLocal.jar -inMemory -sharedDb >/dev/null
+fi
+
+until aws dynamodb list-tables --endpoint-url "${ENDPOINT}" >/dev/null 2>&1; do
+  sleep 1
+done
+
+if aws dynamodb describe-table --table-name pha-inspections --endpoint-url "${ENDPOINT}" >/dev/null 2>&1; then
+  echo "Table pha-inspections already exists at ${ENDPOINT}"
+  exit 0
+fi
+
+gsi() {
+  echo "{\"IndexName\":\"$1\",\"KeySchema\":[{\"AttributeName\":\"$1PK\",\"KeyType\":\"HASH\"},{\"AttributeName\":\"$1SK\",\"KeyType\":\"RANGE\"}],\"Projection\":{\"ProjectionType\":\"ALL\"}}"
+}
+
+aws dynamodb create-table \
+  --endpoint-url "${ENDPOINT}" \
+  --table-name pha-inspections \
+  --billing-mode PAY_PER_REQUEST \
+  --attribute-definitions \
+      AttributeName=PK,AttributeType=S AttributeName=SK,AttributeType=S \
+      AttributeName=GSI1PK,AttributeType=S AttributeName=GSI1SK,AttributeType=S \
+      AttributeName=GSI2PK,AttributeType=S AttributeName=GSI2SK,AttributeType=S \
+      AttributeName=GSI3PK,AttributeType=S AttributeName=GSI3SK,AttributeType=S \
+  --key-schema AttributeName=PK,KeyType=HASH AttributeName=SK,KeyType=RANGE \
+  --global-secondary-indexes "[$(gsi GSI1),$(gsi GSI2),$(gsi GSI3)]" >/dev/null
+
+echo "Created table pha-inspections at ${ENDPOINT}"
@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# Smoke test the native image and compare it with the JVM build.
+#
+# Starts DynamoDB Local, builds the jar and the native executable (native profile), then for
+# each mode starts the backend and measures the time until GET /api/health first answers and
+# the resident memory (RSS) at that point. It then runs a short smoke flow through the API
+# (create inspector, login, list, create and get an inspection), which fails the script on an
+# error status, and records RSS again after it:
+#   jvm    - java -jar target/inspection-backend-*.jar
+#   native - target/inspection-backend
+#
+# Requires: docker, aws CLI, curl, GraalVM for JDK 21 (native-image), Maven.
+# Usage: scripts/native-smoke-test.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=8080
+BASE_URL="http://localhost:${PORT}/api"
+RESULTS="$(pwd)/target/native-smoke"
+mkdir -p "${RESULTS}"
+
+scripts/local-dynamodb.sh 8000
+mvn -B -q -DskipTests package
+JAR="${RESULTS}/$(basename "$(ls target/inspection-backend-*.jar | head -n 1)")"
+cp target/inspection-backend-*.jar "${JAR}"
+mvn -B -q -DskipTests -Pnative native:compile
+NATIVE="target/inspection-backend"
+
+export SPRING_PROFILES_ACTIVE=prod
+export AWS_DYNAMODB_ENDPOINT=http://localhost:8000
+export AWS_ACCESS_KEY_ID=local AWS_SECRET_ACCESS_KEY=local AWS_REGION=us-east-1
+export JWT_SECRET="smoke-secret-smoke-secret-smoke-secret-smoke-secret-smoke-0001"
+export BEDROCK_ACCESS_KEY_ID=local BEDROCK_SECRET_ACCESS_KEY=local BEDROCK_REGION=us-east-1
+export CHANGELOG_DIR="${RESULTS}/changelog"
+
+rss_kb() {
+  ps -o rss= -p "$1" | tr -d ' '
+}
+
+# Create an inspector, log in and exercise the inspection endpoints; prints the created SO number
+smoke() {
+  local inspector="SMOKE$1" token so
+  curl -sf -o /dev/null -X POST "${BASE_URL}/auth/create-inspector" -H 'Content-Type: application/json' \
+    -d "{\"inspectorId\":\"${inspector}\",\"name\":\"Smoke Test\",\"password\":\"smoke-password\",\"vehicleTagId\":\"Z\"}"
+  token=$(curl -sf -X POST "${BASE_URL}/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"inspectorId\":\"${inspector}\",\"password\":\"smoke-password\"}" \
+    | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+
+  curl -sf -o /dev/null -H "Authorization: Bearer ${token}" "${BASE_URL}/inspections?page=0&size=5"
+  so=$(curl -sf -X POST "${BASE_URL}/inspections" -H "Authorization: Bearer ${token}" -H 'Content-Type: application/json' \
+    -d "{\"unitNumber\":\"099001\",\"siteCode\":\"901\",\"siteName\":\"Haddington\",\"address\":\"1 Smoke St\",\"divisionCode\":\"D1\",\"inspectorId\":\"${inspector}\",\"inspectorName\":\"Smoke Test\",\"vehicleTagId\":\"Z\",\"startDate\":\"2025-05-02\",\"startTime\":\"08:30:00\"}" \
+    | sed -n 's/.*"soNumber":"\([^"]*\)".*/\1/p')
+  curl -sf -o /dev/null -H "Authorization: Bearer ${token}" "${BASE_URL}/inspections/${so}"
+  echo "${so}"
+}
+
+for MODE in jvm native; do
+  LOG="${RESULTS}/backend-${MODE}.log"
+  case "${MODE}" in
+    jvm)    CMD=(java -jar "${JAR}"); SIZE=$(du -k "${JAR}" | cut -f1) ;;
+    native) CMD=("${NATIVE}"); SIZE=$(du -k "${NATIVE}" | cut -f1) ;;
+  esac
+
+  START=$(date +%s%N)
+  "${CMD[@]}" --server.port="${PORT}" > "${LOG}" 2>&1 &
+  BACKEND_PID=$!
+  trap 'kill ${BACKEND_PID} 2>/dev/null || true' EXIT
+
+  until curl -sf -o /dev/null "${BASE_URL}/health"; do
+    if ! kill -0 "${BACKEND_PID}" 2>/dev/null; then
+      echo "Backend (${MODE}) exited during startup, see ${LOG}" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  END=$(date +%s%N)
+  RSS_START=$(rss_kb "${BACKEND_PID}")
+
+  if ! SO=$(smoke "$(date +%s)${MODE}"); then
+    echo "Smoke flow failed (${MODE}), see ${LOG}" >&2
+    exit 1
+  fi
+  RSS_AFTER=$(rss_kb "${BACKEND_PID}")
+  echo "${MODE}: created and read inspection ${SO}"
+
+  kill "${BACKEND_PID}"
+  wait "${BACKEND_PID}" 2>/dev/null || true
+
+  printf "SUMMARY mode=%s startup=%dms rss_start=%dMB rss_after_smoke=%dMB artifact=%dMB\n" \
+    "${MODE}" $(( (END - START) / 1000000 )) $(( RSS_START / 1024 )) $(( RSS_AFTER / 1024 )) $(( SIZE / 1024 )) \
+    > "${RESULTS}/${MODE}.txt"
+done
+
+echo
+cat "${RESULTS}/jvm.txt" "${RESULTS}/native.txt" | tee "${RESULTS}/summary.txt"
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Measure backend time-to-first-request with and without the class data sharing archive.
+#
+# Starts DynamoDB Local, builds with the cds profile (plain jar, lib/ and application.jsa in
+# target/cds), then starts the backend RUNS times per variant and measures the time from
+# launching the JVM until GET /api/health first answers:
+#   fatjar - java -jar target/inspection-backend-*.jar (the deployed artifact)
+#   jar    - java -jar target/cds/*-cds.jar (same classpath as the archive, no archive)
+#   cds    - the same with -XX:SharedArchiveFile=application.jsa
+# Extra backend settings can be passed as environment variables, e.g. SPRINGDOC_ENABLED=false.
+#
+# Requires: docker, aws CLI, curl, Java 21, Maven. Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT=8080
+RESULTS="$(pwd)/target/startup"
+mkdir -p "${RESULTS}"
+
+scripts/local-dynamodb.sh 8000
+mvn -B -q -DskipTests -Pcds package
+FATJAR="$(ls target/inspection-backend-*.jar | head -n 1)"
+CDSJAR="$(cd target/cds && ls *-cds.jar | head -n 1)"
+
+export SPRING_PROFILES_ACTIVE=prod
+export AWS_DYNAMODB_ENDPOINT=http://localhost:8000
+export AWS_ACCESS_KEY_ID=local AWS_SECRET_ACCESS_KEY=local AWS_REGION=us-east-1
+export JWT_SECRET="startup-secret-startup-secret-startup-secret-startup-secret-0001"
+export BEDROCK_ACCESS_KEY_ID=local BEDROCK_SECRET_ACCESS_KEY=local BEDROCK_REGION=us-east-1
+export CHANGELOG_DIR="${RESULTS}/changelog"
+
+# Milliseconds from JVM launch until the first successful health check
+measure() {
+  local variant="$1" run="$2"
+  shift 2
+  local log="${RESULTS}/backend-${variant}-${run}.log"
+  local start end
+
+  start=$(date +%s%N)
+  "$@" --server.port="${PORT}" > "${log}" 2>&1 &
+  BACKEND_PID=$!
+  trap 'kill ${BACKEND_PID} 2>/dev/null || true' EXIT
+
+  until curl -sf -o /dev/null "http://localhost:${PORT}/api/health"; do
+    if ! kill -0 "${BACKEND_PID}" 2>/dev/null; then
+      echo "Backend exited during startup, see ${log}" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+
+  kill "${BACKEND_PID}"
+  wait "${BACKEND_PID}" 2>/dev/null || true
+  echo $(( (end - start) / 1000000 ))
+}
+
+# Prints "variant runs min median max" from one value per line on stdin
+summarize() {
+  sort -n | awk -v variant="$1" '{ v[NR] = $1 } END {
+    median = (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2
+    printf "SUMMARY variant=%s runs=%d min=%dms median=%dms max=%dms\n", variant, NR, v[1], median, v[NR]
+  }'
+}
+
+for VARIANT in fatjar jar cds; do
+  : > "${RESULTS}/${VARIANT}.txt"
+  for RUN in $(seq 1 "${RUNS}"); do
+    case "${VARIANT}" in
+      fatjar) MS=$(measure "${VARIANT}" "${RUN}" java -jar "${FATJAR}") ;;
+      jar)    MS=$(cd target/cds && measure "${VARIANT}" "${RUN}" java -jar "${CDSJAR}") ;;
+      cds)    MS=$(cd target/cds && measure "${VARIANT}" "${RUN}" java -XX:SharedArchiveFile=application.jsa -jar "${CDSJAR}") ;;
+    esac
+    echo "${VARIANT} run ${RUN}: ${MS}ms"
+    echo "${MS}" >> "${RESULTS}/${VARIANT}.txt"
+  done
+done
+
+echo
+for VARIANT in fatjar jar cds; do
+  summarize "${VARIANT}" < "${RESULTS}/${VARIANT}.txt"
+done | tee "${RESULTS}/summary.txt"
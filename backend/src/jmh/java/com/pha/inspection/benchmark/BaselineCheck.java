@@ -0,0 +1,196 @@
+package com.pha.inspection.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Records JMH results as a baseline, or checks new results against it
+ *
+ * Usage:
+ *   BaselineCheck record target/jmh-result.json benchmarks/baseline.json
+ *   BaselineCheck check  target/jmh-result.json benchmarks/baseline.json [tolerance-percent] [benchmark-regex]
+ *
+ * The baseline is a JSON object keyed by "benchmark[param=value,...]" holding mode, score,
+ * scoreError and unit, plus the JDK, OS and CPU count it was recorded on. A benchmark
+ * regresses when it is worse than the baseline by more than the tolerance (default 10%) and
+ * by more than the two error margins combined; "worse" is higher for time modes and lower
+ * for throughput. Benchmarks missing from the baseline are reported but never fail.
+ * Baseline entries without a current result (renamed, deleted or failed benchmarks) are
+ * reported and fail the check, except for those outside the benchmark regex the run was
+ * filtered with (matched like JMH does, anywhere in the benchmark name).
+ *
+ * Exit codes: 0 ok, 1 regression, 2 usage or missing file.
+ * Only compare results from the same machine the baseline was recorded on.
+ */
+public final class BaselineCheck {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || !("record".equals(args[0]) || "check".equals(args[0]))) {
+            System.err.println("Usage: BaselineCheck record|check <jmh-result.json> <baseline.json> [tolerance-percent] [benchmark-regex]");
+            System.exit(2);
+        }
+        File results = new File(args[1]);
+        File baseline = new File(args[2]);
+        if (!results.isFile()) {
+            System.err.println("JMH results not found: " + results);
+            System.exit(2);
+        }
+
+        Map<String, Result> current = readResults(MAPPER.readTree(results));
+
+        if ("record".equals(args[0])) {
+            record(current, baseline);
+            return;
+        }
+
+        if (!baseline.isFile()) {
+            System.err.println("No baseline at " + baseline + " - record one with: scripts/benchmarks.sh record");
+            System.exit(2);
+        }
+        double tolerance = args.length > 3 ? Double.parseDouble(args[3]) : 10.0;
+        Pattern filter = args.length > 4 && !args[4].isEmpty() ? Pattern.compile(args[4]) : null;
+        System.exit(check(current, readBaseline(MAPPER.readTree(baseline)), tolerance, filter) ? 0 : 1);
+    }
+
+    private static void record(Map<String, Result> current, File baseline) throws Exception {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("recordedAt", Instant.now().toString());
+        root.put("jdk", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        root.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        root.put("cpus", Runtime.getRuntime().availableProcessors());
+
+        ObjectNode benchmarks = root.putObject("benchmarks");
+        current.forEach((key, result) -> {
+            ObjectNode node = benchmarks.putObject(key);
+            node.put("mode", result.mode);
+            node.put("score", result.score);
+            node.put("scoreError", result.error);
+            node.put("unit", result.unit);
+        });
+
+        File parent = baseline.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        MAPPER.writeValue(baseline, root);
+        System.out.printf("Recorded %d benchmarks to %s%n", current.size(), baseline);
+    }
+
+    private static boolean check(Map<String, Result> current, Map<String, Result> baseline, double tolerance,
+                                 Pattern filter) {
+        boolean ok = true;
+        System.out.printf("%-90s %14s %14s %9s  %s%n", "benchmark", "baseline", "current", "change", "");
+
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  NEW%n", entry.getKey(), "-", now.score, "-");
+                continue;
+            }
+
+            boolean higherIsBetter = "thrpt".equals(now.mode);
+            double change = (now.score - before.score) / before.score * 100.0;
+            double worsePercent = higherIsBetter ? -change : change;
+            boolean beyondNoise = Math.abs(now.score - before.score) > now.error + before.error;
+            boolean regressed = worsePercent > tolerance && beyondNoise;
+
+            ok &= !regressed;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), before.score, now.score, change,
+                    regressed ? "REGRESSION" : "");
+        }
+
+        int missing = 0;
+        for (Map.Entry<String, Result> entry : baseline.entrySet()) {
+            if (current.containsKey(entry.getKey()) || !selected(entry.getKey(), filter)) {
+                continue;
+            }
+            missing++;
+            System.out.printf("%-90s %14.3f %14s %9s  MISSING%n", entry.getKey(), entry.getValue().score, "-", "-");
+        }
+
+        if (missing > 0) {
+            System.out.println(missing + " baseline benchmarks have no current result "
+                    + "(re-record the baseline if they were renamed or removed)");
+        }
+        System.out.println(ok
+                ? "No regressions beyond " + tolerance + "%"
+                : "Regressions beyond " + tolerance + "% found");
+        return ok && missing == 0;
+    }
+
+    /**
+     * Whether a baseline entry was part of the run (every entry when there was no filter)
+     */
+    private static boolean selected(String key, Pattern filter) {
+        if (filter == null) {
+            return true;
+        }
+        int params = key.indexOf('[');
+        return filter.matcher(params < 0 ? key : key.substring(0, params)).find();
+    }
+
+    private static Map<String, Result> readResults(JsonNode results) {
+        Map<String, Result> byKey = new TreeMap<>();
+        for (JsonNode run : results) {
+            JsonNode metric = run.get("primaryMetric");
+            byKey.put(key(run), new Result(
+                    run.get("mode").asText(),
+                    metric.get("score").asDouble(),
+                    finite(metric.get("scoreError").asDouble()),
+                    metric.get("scoreUnit").asText()));
+        }
+        return byKey;
+    }
+
+    private static Map<String, Result> readBaseline(JsonNode baseline) {
+        Map<String, Result> byKey = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = baseline.get("benchmarks").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode node = field.getValue();
+            byKey.put(field.getKey(), new Result(
+                    node.get("mode").asText(),
+                    node.get("score").asDouble(),
+                    finite(node.get("scoreError").asDouble()),
+                    node.get("unit").asText()));
+        }
+        return byKey;
+    }
+
+    private static String key(JsonNode run) {
+        String benchmark = run.get("benchmark").asText();
+        JsonNode params = run.get("params");
+        if (params == null || params.isEmpty()) {
+            return benchmark;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+        StringBuilder key = new StringBuilder(benchmark).append('[');
+        sorted.forEach((name, value) -> key.append(name).append('=').append(value).append(','));
+        key.setLength(key.length() - 1);
+        return key.append(']').toString();
+    }
+
+    // JMH reports "NaN" as the error when there are too few iterations to compute one
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0.0;
+    }
+
+    private record Result(String mode, double score, double error, String unit) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.pha.inspection.benchmark;
+
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.model.entity.InspectionResponse;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DynamoDB Enhanced Client bean-schema mapping for the entities on the hottest paths
+ *
+ * Measures item to attribute map (every put) and attribute map to item (every read).
+ * Schema creation itself is not measured here: TableSchema.fromBean caches per class, so
+ * after the first call it is a map lookup.
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="BeanSchemaBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BeanSchemaBenchmark {
+
+    private TableSchema<Inspection> inspectionSchema;
+    private TableSchema<InspectionResponse> responseSchema;
+
+    private Inspection inspection;
+    private InspectionResponse response;
+    private Map<String, AttributeValue> inspectionItem;
+    private Map<String, AttributeValue> responseItem;
+
+    @Setup
+    public void setUp() {
+        inspectionSchema = TableSchema.fromBean(Inspection.class);
+        responseSchema = TableSchema.fromBean(InspectionResponse.class);
+
+        inspection = BenchmarkData.inspection(1);
+        response = BenchmarkData.response(inspection.getSoNumber(), 12);
+        inspectionItem = inspectionSchema.itemToMap(inspection, true);
+        responseItem = responseSchema.itemToMap(response, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> inspectionToItem() {
+        return inspectionSchema.itemToMap(inspection, true);
+    }
+
+    @Benchmark
+    public Inspection itemToInspection() {
+        return inspectionSchema.mapToItem(inspectionItem);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> responseToItem() {
+        return responseSchema.itemToMap(response, true);
+    }
+
+    @Benchmark
+    public InspectionResponse itemToResponse() {
+        return responseSchema.mapToItem(responseItem);
+    }
+}
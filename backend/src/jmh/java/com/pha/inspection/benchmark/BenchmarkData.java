@@ -0,0 +1,89 @@
+package com.pha.inspection.benchmark;
+
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.model.entity.InspectionResponse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic sample data shared by the benchmarks
+ *
+ * Inspections are spread over 60 sites in the four areas (6xx-9xx), three statuses and the
+ * last three years, with a fixed seed so every run measures the same input.
+ */
+public final class BenchmarkData {
+
+    private static final String[] STATUSES = {"New", "InProgress", "Closed"};
+    private static final String[] AREA_PREFIXES = {"6", "7", "8", "9"};
+
+    private BenchmarkData() {
+    }
+
+    public static List<Inspection> inspections(int count) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2025, 6, 30);
+        List<Inspection> inspections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inspections.add(inspection(i, random, today));
+        }
+        return inspections;
+    }
+
+    public static Inspection inspection(int index) {
+        return inspection(index, new Random(index), LocalDate.of(2025, 6, 30));
+    }
+
+    public static InspectionResponse response(String soNumber, int itemIndex) {
+        InspectionResponse response = new InspectionResponse(soNumber, String.format("ITEM%03d", itemIndex), "Def");
+        response.setScopeOfWork("Replace damaged smoke detector in hallway and test interconnect");
+        response.setMaterialRequired(true);
+        response.setMaterialDescription("Hardwired smoke detector with battery backup");
+        response.setServiceId("SRV" + itemIndex);
+        response.setActivityCode("ACT-" + (itemIndex % 40));
+        response.setTenantCharge(false);
+        response.setUrgent(itemIndex % 7 == 0);
+        response.setRrp(false);
+        response.setCreatedAt("2025-06-30T14:05:00Z");
+        return response;
+    }
+
+    private static Inspection inspection(int index, Random random, LocalDate today) {
+        String siteCode = AREA_PREFIXES[random.nextInt(AREA_PREFIXES.length)] + String.format("%02d", random.nextInt(15));
+        String status = STATUSES[random.nextInt(STATUSES.length)];
+        LocalDate startDate = today.minusDays(random.nextInt(3 * 365));
+
+        Inspection inspection = new Inspection();
+        inspection.setSoNumber(String.valueOf(3_184_962 + index));
+        inspection.setUnitNumber("U" + (10_000 + random.nextInt(90_000)));
+        inspection.setSiteCode(siteCode);
+        inspection.setSiteName("Site " + siteCode);
+        inspection.setAddress((100 + random.nextInt(9_900)) + " Market Street, Apt " + random.nextInt(400));
+        inspection.setDivisionCode("D" + siteCode.charAt(0));
+        inspection.setTenantName("Tenant " + index);
+        inspection.setTenantPhone("215-555-" + String.format("%04d", random.nextInt(10_000)));
+        inspection.setTenantAvailability(random.nextBoolean());
+        inspection.setBrSize(1 + random.nextInt(5));
+        inspection.setIsHardwired(random.nextBoolean());
+        inspection.setInspectorId(String.format("INS%03d", random.nextInt(120)));
+        inspection.setInspectorName("Inspector " + random.nextInt(120));
+        inspection.setVehicleTagId("VT" + random.nextInt(500));
+        inspection.setStatus(status);
+        inspection.setStartDate(startDate.toString());
+        inspection.setStartTime("09:15");
+        if ("Closed".equals(status)) {
+            inspection.setEndDate(startDate.plusDays(1).toString());
+            inspection.setEndTime("15:40");
+            inspection.setSubmitTime(startDate.plusDays(1) + "T15:45:00Z");
+            inspection.setCompletionDate(startDate.plusDays(1).toString());
+        }
+        inspection.setSmokeDetectorsCount(random.nextInt(6));
+        inspection.setCoDetectorsCount(random.nextInt(3));
+        inspection.setCreatedAt(startDate + "T08:00:00Z");
+        inspection.setUpdatedAt(startDate + "T16:00:00Z");
+        inspection.initializeGSI();
+        return inspection;
+    }
+}
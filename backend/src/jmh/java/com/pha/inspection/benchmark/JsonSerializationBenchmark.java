@@ -0,0 +1,59 @@
+package com.pha.inspection.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pha.inspection.model.dto.InspectionDTO;
+import com.pha.inspection.model.dto.InspectionListDTO;
+import com.pha.inspection.model.dto.InspectionSummaryDTO;
+import com.pha.inspection.model.entity.Inspection;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of the inspection detail and list responses
+ *
+ * Uses an ObjectMapper built the way Spring MVC builds its message converter mapper.
+ * The list is one default-sized page (20 summaries).
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="JsonSerializationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private InspectionDTO inspection;
+    private InspectionListDTO list;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        // The entity getters match the DTO properties, so Jackson can do the copy
+        ObjectMapper copier = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        inspection = copier.convertValue(BenchmarkData.inspection(1), InspectionDTO.class);
+
+        List<Inspection> page = BenchmarkData.inspections(20);
+        List<InspectionSummaryDTO> summaries = page.stream()
+                .map(i -> new InspectionSummaryDTO(i.getSoNumber(), i.getUnitNumber(), i.getStartDate(),
+                        i.getDivisionCode(), i.getSiteCode(), i.getSiteName(), i.getTenantName(),
+                        i.getAddress(), i.getCompletionDate(), i.getStatus()))
+                .collect(Collectors.toList());
+        list = new InspectionListDTO(summaries, 1_000, 0, 20);
+    }
+
+    @Benchmark
+    public byte[] serializeInspection() throws Exception {
+        return objectMapper.writeValueAsBytes(inspection);
+    }
+
+    @Benchmark
+    public byte[] serializeInspectionList() throws Exception {
+        return objectMapper.writeValueAsBytes(list);
+    }
+}
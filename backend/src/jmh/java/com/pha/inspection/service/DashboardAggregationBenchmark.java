@@ -0,0 +1,46 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.benchmark.BenchmarkData;
+import com.pha.inspection.model.dto.DashboardFilterDTO;
+import com.pha.inspection.model.dto.SiteSummaryDTO;
+import com.pha.inspection.model.entity.Inspection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardService.aggregateBySite over an in-memory inspection list
+ *
+ * "none" aggregates every inspection; "area-year" is the typical web admin filter
+ * (one area, one year), which discards most rows before grouping.
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="DashboardAggregationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DashboardAggregationBenchmark {
+
+    @Param({"1000", "50000"})
+    public int inspections;
+
+    @Param({"none", "area-year"})
+    public String filter;
+
+    private List<Inspection> data;
+    private DashboardFilterDTO filters;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkData.inspections(inspections);
+        filters = "none".equals(filter)
+                ? new DashboardFilterDTO()
+                : new DashboardFilterDTO("SS", 2024, null, null);
+    }
+
+    @Benchmark
+    public List<SiteSummaryDTO> aggregateBySite() {
+        return DashboardService.aggregateBySite(data, filters);
+    }
+}
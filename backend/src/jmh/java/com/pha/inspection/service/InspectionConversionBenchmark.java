@@ -0,0 +1,57 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.benchmark.BenchmarkData;
+import com.pha.inspection.model.dto.InspectionDTO;
+import com.pha.inspection.model.dto.InspectionSummaryDTO;
+import com.pha.inspection.model.entity.Inspection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inspection entity to DTO conversion in InspectionService
+ *
+ * Lives in the service package because the converters are package-private.
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="InspectionConversionBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class InspectionConversionBenchmark {
+
+    private InspectionService inspectionService;
+    private Inspection inspection;
+    private List<Inspection> page;
+
+    @Setup
+    public void setUp() {
+        inspectionService = new InspectionService();
+        inspection = BenchmarkData.inspection(1);
+        page = BenchmarkData.inspections(20);
+    }
+
+    @Benchmark
+    public InspectionDTO toDetailDTO() {
+        return inspectionService.convertToDTO(inspection);
+    }
+
+    @Benchmark
+    public InspectionSummaryDTO toSummaryDTO() {
+        return inspectionService.convertToSummaryDTO(inspection);
+    }
+
+    /**
+     * One default-sized page of the inspection list endpoint
+     */
+    @Benchmark
+    public List<InspectionSummaryDTO> toSummaryPage() {
+        List<InspectionSummaryDTO> summaries = new ArrayList<>(page.size());
+        for (Inspection item : page) {
+            summaries.add(inspectionService.convertToSummaryDTO(item));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pha.inspection.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client for the load test drivers: JSON requests, login and test inspector provisioning
+ */
+final class BackendClient {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    static final String PASSWORD = "loadtest-password";
+
+    private final String baseUrl;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    BackendClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Create the load test inspectors LT0000..LT{count-1} (idempotent: existing IDs are
+     * reported as rejected and reused). The bulk import needs LT0000 in
+     * INSPECTOR_ADMIN_OPERATOR_IDS, as the load test scripts set it.
+     *
+     * @return a token for inspector LT0000
+     */
+    String provisionInspectors(int count) throws Exception {
+        post("/auth/create-inspector", null, Map.of(
+                "inspectorId", inspectorId(0), "name", "Load Test 0", "password", PASSWORD, "vehicleTagId", "LT"));
+        String token = login(inspectorId(0));
+
+        for (int from = 1; from < count; from += 500) {
+            List<Map<String, String>> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 500, count); i++) {
+                batch.add(Map.of("inspectorId", inspectorId(i), "name", "Load Test " + i,
+                        "password", PASSWORD, "vehicleTagId", "LT"));
+            }
+            HttpResponse<String> response = post("/inspectors/bulk-import", token, batch);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Bulk import failed: " + response.statusCode() + " " + response.body());
+            }
+        }
+        return token;
+    }
+
+    List<String> areas(String token) throws Exception {
+        List<String> areas = new ArrayList<>();
+        for (JsonNode area : MAPPER.readTree(get("/inspections/areas", token).body())) {
+            areas.add(area.get("areaName").asText());
+        }
+        return areas;
+    }
+
+    String login(String inspectorId) throws Exception {
+        HttpResponse<String> response = post("/auth/login", null,
+                Map.of("inspectorId", inspectorId, "password", PASSWORD));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + inspectorId + ": " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> post(String path, String token, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    static String inspectorId(int index) {
+        return String.format("LT%04d", index);
+    }
+}
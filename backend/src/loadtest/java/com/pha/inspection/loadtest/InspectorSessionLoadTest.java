@@ -0,0 +1,426 @@
+package com.pha.inspection.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.pha.inspection.loadtest.BackendClient.MAPPER;
+import static com.pha.inspection.loadtest.BackendClient.PASSWORD;
+import static com.pha.inspection.loadtest.BackendClient.inspectorId;
+
+/**
+ * Open-model load test replaying complete inspector sessions against a running backend
+ *
+ * Sessions arrive at a configured rate regardless of how fast the backend answers, so a
+ * slow backend builds up concurrent sessions instead of quietly lowering the load. Each
+ * session is one inspection from start to finish:
+ * login, list inspections, create and open an inspection, walk the areas posting
+ * responses (mostly OK, some NA and deficiencies), upload images, add the inspector and
+ * tenant signatures, reload the responses and submit.
+ *
+ * Latencies are recorded per endpoint in HdrHistograms. The "session" row is measured from
+ * the scheduled arrival time, so it also shows delay caused by the generator falling behind.
+ * A percentile distribution (.hgrm) per endpoint is written to the output directory.
+ * All choices are drawn from seeded randoms, so a run with the same settings sends the
+ * same sessions in the same order.
+ *
+ * System properties:
+ * - loadtest.base-url      (http://localhost:8080/api)
+ * - loadtest.rates         (2:120) arrival stages as sessionsPerSecond:seconds, comma separated
+ *                          (e.g. 1:60,5:120,10:60)
+ * - loadtest.arrival       (poisson) poisson or uniform inter-arrival times
+ * - loadtest.warmup        (10) seconds at the start whose sessions are not recorded
+ * - loadtest.inspectors    (200) size of the inspector account pool
+ * - loadtest.responses     (55) responses posted per session
+ * - loadtest.images        (3) images uploaded per session
+ * - loadtest.image-kb      (256) size of each uploaded image
+ * - loadtest.think-ms      (500) mean pause between steps
+ * - loadtest.max-sessions  (10000) in-flight sessions; arrivals beyond this are dropped and reported
+ * - loadtest.seed          (42)
+ * - loadtest.label         (sessions) label for the summary line and output files
+ * - loadtest.output        (target/loadtest) directory for the .hgrm files
+ *
+ * Run with: mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.pha.inspection.loadtest.InspectorSessionLoadTest
+ */
+public class InspectorSessionLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(30);
+    private static final String SESSION = "session";
+
+    private final String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080/api");
+    private final List<Stage> stages = Stage.parse(System.getProperty("loadtest.rates", "2:120"));
+    private final boolean poisson = !"uniform".equals(System.getProperty("loadtest.arrival", "poisson"));
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+    private final int inspectors = Integer.getInteger("loadtest.inspectors", 200);
+    private final int responsesPerSession = Integer.getInteger("loadtest.responses", 55);
+    private final int imagesPerSession = Integer.getInteger("loadtest.images", 3);
+    private final int imageKb = Integer.getInteger("loadtest.image-kb", 256);
+    private final long thinkMs = Long.getLong("loadtest.think-ms", 500);
+    private final int maxSessions = Integer.getInteger("loadtest.max-sessions", 10_000);
+    private final long seed = Long.getLong("loadtest.seed", 42);
+    private final String label = System.getProperty("loadtest.label", "sessions");
+    private final Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+
+    private final BackendClient client = new BackendClient(baseUrl);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private String imageData;
+    private String signatureData;
+
+    public static void main(String[] args) throws Exception {
+        new InspectorSessionLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Load test '%s': stages %s (%s arrivals), %ds warm-up, %d inspectors, %d responses, " +
+                        "%d images of %dKB, %dms think time, seed %d, target %s%n",
+                label, stages, poisson ? "poisson" : "uniform", warmupSeconds, inspectors, responsesPerSession,
+                imagesPerSession, imageKb, thinkMs, seed, baseUrl);
+
+        List<String> areas = client.areas(client.provisionInspectors(inspectors));
+        imageData = payload(imageKb * 1024);
+        signatureData = payload(8 * 1024);
+
+        Random arrivals = new Random(seed);
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long scheduled = start;
+        int session = 0;
+
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            long stageStart = start;
+            for (Stage stage : stages) {
+                long stageEnd = stageStart + TimeUnit.SECONDS.toNanos(stage.seconds());
+                if (stage.rate() <= 0) {
+                    sleepUntil(stageEnd);
+                    stageStart = stageEnd;
+                    continue;
+                }
+                double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / stage.rate();
+                scheduled = Math.max(scheduled, stageStart);
+
+                while (true) {
+                    double gap = poisson ? -Math.log(1.0 - arrivals.nextDouble()) * meanGapNanos : meanGapNanos;
+                    scheduled += (long) gap;
+                    if (scheduled >= stageEnd) {
+                        break;
+                    }
+                    sleepUntil(scheduled);
+
+                    if (inFlight.get() >= maxSessions) {
+                        dropped.increment();
+                        continue;
+                    }
+                    inFlight.incrementAndGet();
+                    int index = session++;
+                    long arrival = scheduled;
+                    boolean record = arrival >= recordFrom;
+                    sessions.submit(() -> runSession(index, areas, arrival, record));
+                }
+                stageStart = stageEnd;
+            }
+        }
+
+        report(session, Math.max(System.nanoTime() - recordFrom, 0));
+    }
+
+    private void runSession(int index, List<String> areas, long arrivalNanos, boolean record) {
+        Session session = new Session(index, new Random(seed * 31 + index), record);
+        try {
+            session.run(areas);
+            completed.increment();
+            if (record) {
+                histogram(SESSION).recordValue(Math.min(micros(System.nanoTime() - arrivalNanos), HIGHEST_TRACKABLE_MICROS));
+            }
+        } catch (Exception e) {
+            aborted.increment();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * One inspector working one inspection
+     */
+    private final class Session {
+
+        private final int index;
+        private final Random random;
+        private final boolean record;
+        private final String inspectorId;
+        private String token;
+
+        Session(int index, Random random, boolean record) {
+            this.index = index;
+            this.random = random;
+            this.record = record;
+            this.inspectorId = inspectorId(random.nextInt(inspectors));
+        }
+
+        void run(List<String> areas) throws Exception {
+            HttpResponse<String> login = call("POST /auth/login", () -> client.post("/auth/login", null,
+                    Map.of("inspectorId", inspectorId, "password", PASSWORD)));
+            token = MAPPER.readTree(required(login).body()).get("token").asText();
+            think();
+
+            call("GET /inspections", () -> client.get("/inspections?size=20", token));
+            think();
+
+            HttpResponse<String> created = call("POST /inspections", () -> client.post("/inspections", token, Map.of(
+                    "unitNumber", "LT-" + index,
+                    "siteCode", String.valueOf(900 + random.nextInt(60)),
+                    "siteName", "Load Test Site",
+                    "inspectorId", inspectorId,
+                    "inspectorName", "Load Test " + inspectorId,
+                    "startDate", LocalDate.now().toString())));
+            String soNumber = MAPPER.readTree(required(created).body()).get("soNumber").asText();
+
+            call("GET /inspections/{soNumber}", () -> client.get("/inspections/" + soNumber, token));
+            think();
+
+            List<String> answered = postResponses(soNumber, areas);
+
+            for (int i = 0; i < imagesPerSession; i++) {
+                String itemId = answered.isEmpty() ? null : answered.get(random.nextInt(answered.size()));
+                Map<String, Object> image = new HashMap<>();
+                image.put("itemId", itemId);
+                image.put("caption", "Load test image " + i);
+                image.put("imageData", imageData);
+                image.put("mimeType", "image/jpeg");
+                image.put("fileName", "image-" + i + ".jpg");
+                call("POST /inspections/{soNumber}/images/upload",
+                        () -> client.post("/inspections/" + soNumber + "/images/upload", token, image));
+                think();
+            }
+
+            for (String signatureType : List.of("inspector", "tenant")) {
+                call("POST /inspections/{soNumber}/signatures/upload",
+                        () -> client.post("/inspections/" + soNumber + "/signatures/upload", token, Map.of(
+                                "signatureType", signatureType,
+                                "signedBy", "Load Test " + signatureType,
+                                "signatureData", signatureData,
+                                "fileName", signatureType + "-signature.png")));
+                think();
+            }
+
+            call("GET /inspections/{soNumber}/responses", () -> client.get("/inspections/" + soNumber + "/responses", token));
+            think();
+
+            call("POST /inspections/{soNumber}/submit", () -> client.post("/inspections/" + soNumber + "/submit", token,
+                    Map.of("tenantName", "Load Test Tenant", "tenantAvailability", true,
+                            "smokeDetectorsCount", 1 + random.nextInt(3), "coDetectorsCount", random.nextInt(2))));
+        }
+
+        /**
+         * Walk the areas in order, answering items until the response count is reached
+         *
+         * @return the item IDs answered
+         */
+        private List<String> postResponses(String soNumber, List<String> areas) throws Exception {
+            List<String> answered = new ArrayList<>();
+            for (String area : areas) {
+                if (answered.size() >= responsesPerSession) {
+                    break;
+                }
+                HttpResponse<String> items = call("GET /inspections/areas/items", () -> client.get(
+                        "/inspections/areas/items?areaName=" + URLEncoder.encode(area, StandardCharsets.UTF_8), token));
+                if (items.statusCode() >= 400) {
+                    continue;
+                }
+                think();
+
+                for (JsonNode item : MAPPER.readTree(items.body())) {
+                    if (answered.size() >= responsesPerSession) {
+                        break;
+                    }
+                    String itemId = item.get("itemId").asText();
+                    call("POST /inspections/{soNumber}/responses",
+                            () -> client.post("/inspections/" + soNumber + "/responses", token, response(itemId)));
+                    answered.add(itemId);
+                    think();
+                }
+            }
+            return answered;
+        }
+
+        /**
+         * 85% OK, 10% NA and 5% deficiencies with a scope of work
+         */
+        private Map<String, Object> response(String itemId) {
+            int roll = random.nextInt(100);
+            if (roll < 85) {
+                return Map.of("itemId", itemId, "response", "OK");
+            }
+            if (roll < 95) {
+                return Map.of("itemId", itemId, "response", "NA");
+            }
+            return Map.of("itemId", itemId, "response", "Def",
+                    "scopeOfWork", "Repair or replace item " + itemId,
+                    "materialRequired", random.nextBoolean(),
+                    "urgent", random.nextInt(10) == 0);
+        }
+
+        private HttpResponse<String> call(String endpoint, BackendCall call) throws Exception {
+            long begin = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = call.execute();
+            } catch (Exception e) {
+                error(endpoint);
+                throw e;
+            }
+            long latencyMicros = micros(System.nanoTime() - begin);
+
+            if (response.statusCode() >= 400) {
+                error(endpoint);
+            }
+            if (record) {
+                histogram(endpoint).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+            }
+            return response;
+        }
+
+        private void error(String endpoint) {
+            if (record) {
+                errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+            }
+        }
+
+        private void think() throws InterruptedException {
+            if (thinkMs > 0) {
+                Thread.sleep(thinkMs / 2 + (long) (random.nextDouble() * thinkMs));
+            }
+        }
+    }
+
+    private void report(int sessions, long measuredNanos) throws IOException {
+        Files.createDirectories(output);
+        System.out.printf("%n%-46s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram requests = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (String endpoint : new TreeSet<>(histograms.keySet())) {
+            Histogram histogram = histograms.get(endpoint);
+            printRow(endpoint, histogram);
+            writeDistribution(endpoint, histogram);
+            if (!SESSION.equals(endpoint)) {
+                requests.add(histogram);
+            }
+        }
+        printRow("ALL", requests);
+        writeDistribution("all", requests);
+
+        long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        double seconds = Math.max(measuredNanos, 1) / 1e9;
+        Histogram session = histograms.getOrDefault(SESSION, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+        System.out.printf("%nSUMMARY label=%s sessions=%d completed=%d aborted=%d dropped=%d requests=%d " +
+                        "throughput=%.1f/s p50=%.1fms p99=%.1fms session-p50=%.1fs session-p99=%.1fs errors=%d%n",
+                label, sessions, completed.sum(), aborted.sum(), dropped.sum(), requests.getTotalCount(),
+                requests.getTotalCount() / seconds, millis(requests, 50), millis(requests, 99),
+                millis(session, 50) / 1000.0, millis(session, 99) / 1000.0, errorCount);
+        System.out.printf("Percentile distributions written to %s%n", output.toAbsolutePath());
+    }
+
+    private void printRow(String endpoint, Histogram histogram) {
+        LongAdder endpointErrors = errors.get(endpoint);
+        System.out.printf("%-46s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint, histogram.getTotalCount(),
+                endpointErrors != null ? endpointErrors.sum() : 0,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private void writeDistribution(String endpoint, Histogram histogram) throws IOException {
+        String file = label + "-" + endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(file)), false, StandardCharsets.UTF_8)) {
+            out.printf("#%s %s recorded %s%n", label, endpoint, Instant.now());
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private Histogram histogram(String endpoint) {
+        return histograms.computeIfAbsent(endpoint, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0.0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static HttpResponse<String> required(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Session step failed: " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    /**
+     * Base64 payload of roughly the given decoded size; contents are irrelevant to the backend
+     */
+    private String payload(int bytes) {
+        byte[] data = new byte[bytes];
+        new Random(seed).nextBytes(data);
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long remaining = nanos - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+    }
+
+    /**
+     * One arrival stage: a constant session rate held for a number of seconds
+     */
+    private record Stage(double rate, int seconds) {
+
+        static List<Stage> parse(String spec) {
+            List<Stage> stages = new ArrayList<>();
+            for (String part : spec.split(",")) {
+                String[] fields = part.trim().split(":");
+                if (fields.length != 2) {
+                    throw new IllegalArgumentException("Invalid stage '" + part + "', expected sessionsPerSecond:seconds");
+                }
+                stages.add(new Stage(Double.parseDouble(fields[0]), Integer.parseInt(fields[1])));
+            }
+            return stages;
+        }
+
+        @Override
+        public String toString() {
+            return rate + "/s for " + seconds + "s";
+        }
+    }
+
+    @FunctionalInterface
+    private interface BackendCall {
+        HttpResponse<String> execute() throws Exception;
+    }
+}
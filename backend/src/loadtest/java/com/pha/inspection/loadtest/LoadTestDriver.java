@@ -0,0 +1,221 @@
+package com.pha.inspection.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.pha.inspection.loadtest.BackendClient.MAPPER;
+import static com.pha.inspection.loadtest.BackendClient.inspectorId;
+
+/**
+ * Load test driver simulating concurrent inspectors against a running backend
+ *
+ * Each simulated inspector logs in, creates an inspection and then loops through the
+ * field workflow (list inspections, open one, load an area's items, save a response,
+ * reload responses) with a think time between steps, until the test duration ends.
+ * Reports throughput and p50/p99/max latency per operation.
+ *
+ * System properties:
+ * - loadtest.base-url    (http://localhost:8080/api)
+ * - loadtest.inspectors  (1000) concurrent simulated inspectors
+ * - loadtest.duration    (60) measured seconds, after ramp-up
+ * - loadtest.ramp-up     (10) seconds over which inspectors start
+ * - loadtest.think-ms    (250) pause between workflow steps
+ * - loadtest.label       (run) label printed on the summary line
+ *
+ * Run with: mvn -Ploadtest test-compile exec:exec
+ */
+public class LoadTestDriver {
+
+    private final String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080/api");
+    private final int inspectors = Integer.getInteger("loadtest.inspectors", 1000);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+    private final int rampUpSeconds = Integer.getInteger("loadtest.ramp-up", 10);
+    private final long thinkMs = Long.getLong("loadtest.think-ms", 250);
+    private final String label = System.getProperty("loadtest.label", "run");
+
+    private final BackendClient client = new BackendClient(baseUrl);
+
+    private final Map<String, List<long[]>> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile long measureStartNanos;
+    private volatile long measureEndNanos;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestDriver().run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Load test '%s': %d inspectors, %ds ramp-up, %ds measured, %dms think time, target %s%n",
+                label, inspectors, rampUpSeconds, durationSeconds, thinkMs, baseUrl);
+
+        List<String> areas = client.areas(client.provisionInspectors(inspectors));
+
+        long start = System.nanoTime();
+        measureStartNanos = start + Duration.ofSeconds(rampUpSeconds).toNanos();
+        measureEndNanos = measureStartNanos + Duration.ofSeconds(durationSeconds).toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < inspectors; i++) {
+                int index = i;
+                long delayNanos = rampUpSeconds == 0 ? 0 : (long) i * Duration.ofSeconds(rampUpSeconds).toNanos() / inspectors;
+                users.submit(() -> simulateInspector(index, areas, start + delayNanos));
+            }
+        }
+
+        report();
+    }
+
+    private void simulateInspector(int index, List<String> areas, long startAtNanos) {
+        Map<String, long[]> local = new HashMap<>();
+        try {
+            sleepUntil(startAtNanos);
+            String token = client.login(inspectorId(index));
+
+            HttpResponse<String> created = timed(local, "create-inspection", () -> client.post("/inspections", token, Map.of(
+                    "unitNumber", "LT-" + index,
+                    "siteCode", String.valueOf(900 + index % 60),
+                    "siteName", "Load Test Site",
+                    "inspectorId", inspectorId(index),
+                    "inspectorName", "Load Test " + index,
+                    "startDate", LocalDate.now().toString())));
+            String soNumber = MAPPER.readTree(created.body()).get("soNumber").asText();
+
+            while (System.nanoTime() < measureEndNanos) {
+                timed(local, "list-inspections", () -> client.get("/inspections?size=20", token));
+                think();
+                timed(local, "get-inspection", () -> client.get("/inspections/" + soNumber, token));
+                think();
+
+                String area = areas.get(ThreadLocalRandom.current().nextInt(areas.size()));
+                HttpResponse<String> items = timed(local, "get-area-items", () -> client.get(
+                        "/inspections/areas/items?areaName=" + URLEncoder.encode(area, StandardCharsets.UTF_8), token));
+                JsonNode itemList = MAPPER.readTree(items.body());
+                think();
+
+                if (itemList.size() > 0) {
+                    String itemId = itemList.get(ThreadLocalRandom.current().nextInt(itemList.size())).get("itemId").asText();
+                    timed(local, "save-response", () -> client.post("/inspections/" + soNumber + "/responses", token,
+                            Map.of("itemId", itemId, "response", "OK")));
+                    think();
+                }
+
+                timed(local, "get-responses", () -> client.get("/inspections/" + soNumber + "/responses", token));
+                think();
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        } finally {
+            local.forEach((operation, samples) ->
+                    latencies.computeIfAbsent(operation, k -> Collections.synchronizedList(new ArrayList<>())).add(samples));
+        }
+    }
+
+    /**
+     * Time one call; only calls that start inside the measurement window are recorded.
+     * samples[0] holds the count, the rest are latencies in microseconds.
+     */
+    private HttpResponse<String> timed(Map<String, long[]> local, String operation, Call call) throws Exception {
+        long begin = System.nanoTime();
+        HttpResponse<String> response = call.execute();
+        long end = System.nanoTime();
+
+        if (response.statusCode() >= 400) {
+            errors.incrementAndGet();
+        }
+        if (begin >= measureStartNanos && begin < measureEndNanos) {
+            long[] samples = local.computeIfAbsent(operation, k -> new long[64]);
+            int count = (int) samples[0] + 1;
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, samples.length * 2);
+                local.put(operation, samples);
+            }
+            samples[0] = count;
+            samples[count] = (end - begin) / 1_000;
+        }
+        return response;
+    }
+
+    private void report() {
+        System.out.printf("%n%-20s %10s %10s %10s %10s%n", "operation", "count", "p50 ms", "p99 ms", "max ms");
+
+        long[] all = new long[0];
+        for (String operation : new TreeSet<>(latencies.keySet())) {
+            long[] merged = merge(latencies.get(operation));
+            printRow(operation, merged);
+            all = concat(all, merged);
+        }
+        Arrays.sort(all);
+        printRow("ALL", all);
+
+        double throughput = all.length / (double) durationSeconds;
+        System.out.printf("%nSUMMARY label=%s inspectors=%d requests=%d throughput=%.1f/s p50=%.1fms p99=%.1fms errors=%d%n",
+                label, inspectors, all.length, throughput, percentile(all, 50), percentile(all, 99), errors.get());
+    }
+
+    private void printRow(String operation, long[] sorted) {
+        System.out.printf("%-20s %10d %10.1f %10.1f %10.1f%n", operation, sorted.length,
+                percentile(sorted, 50), percentile(sorted, 99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private static long[] merge(List<long[]> perUser) {
+        synchronized (perUser) {
+            int total = 0;
+            for (long[] samples : perUser) {
+                total += (int) samples[0];
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (long[] samples : perUser) {
+                System.arraycopy(samples, 1, merged, offset, (int) samples[0]);
+                offset += (int) samples[0];
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMs > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs / 2, thinkMs * 3 / 2 + 1));
+        }
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long remaining = nanos - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> execute() throws Exception;
+    }
+}
@@ -0,0 +1,72 @@
+package com.pha.inspection.local;
+
+import com.pha.inspection.service.AreaService;
+import com.pha.inspection.service.PMIService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.AbstractDependsOnBeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+/**
+ * Local profile: embedded DynamoDB Local with a created table seeded by SyntheticDataGenerator
+ *
+ * Only compiled with the Maven "local" profile (src/local/java). Activate with
+ * SPRING_PROFILES_ACTIVE=prod,local; application-local.yml points aws.dynamodb.endpoint at
+ * the embedded server.
+ *
+ * The application's DynamoDB clients depend on the server bean, so the server is running,
+ * the table exists and the seed data is loaded before anything else touches DynamoDB.
+ * Seeding only runs when the table is created, so a persisted database (db-path) is
+ * seeded once and reused.
+ */
+@Configuration
+@Profile("local")
+public class LocalDynamoDbConfig {
+
+    static final String SERVER_BEAN = "localDynamoDbServer";
+
+    @Bean(name = SERVER_BEAN, destroyMethod = "stop")
+    public LocalDynamoDbServer localDynamoDbServer(AreaService areaService,
+                                                   PMIService pmiService,
+                                                   @Value("${local.dynamodb.port:8000}") int port,
+                                                   @Value("${local.dynamodb.db-path:}") String dbPath,
+                                                   @Value("${local.dynamodb.native-libs:target/native-libs}") String nativeLibs,
+                                                   @Value("${aws.dynamodb.table-name}") String tableName,
+                                                   @Value("${local.dynamodb.seed.inspections:1000}") int inspections,
+                                                   @Value("${local.dynamodb.seed.inspectors:50}") int inspectors,
+                                                   @Value("${local.dynamodb.seed.responses:55}") int responses,
+                                                   @Value("${local.dynamodb.seed.pmi-share:0.3}") double pmiShare,
+                                                   @Value("${local.dynamodb.seed.threads:4}") int threads,
+                                                   @Value("${local.dynamodb.seed.random-seed:42}") long randomSeed,
+                                                   @Value("${local.dynamodb.seed.password:synthetic-password}") String password) {
+        LocalDynamoDbServer server = new LocalDynamoDbServer(port, dbPath, nativeLibs);
+        server.start();
+
+        try (DynamoDbClient client = server.client()) {
+            if (LocalDynamoDbServer.createTableIfMissing(client, tableName) && inspections > 0) {
+                new SyntheticDataGenerator(client, tableName, areaService, pmiService, new SyntheticDataGenerator.Settings(
+                        inspections, inspectors, responses, pmiShare, threads, randomSeed, password)).generate();
+            }
+        } catch (RuntimeException e) {
+            server.stop();
+            throw e;
+        }
+        return server;
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor dynamoDbClientDependsOnLocalServer() {
+        return new AbstractDependsOnBeanFactoryPostProcessor(DynamoDbClient.class, SERVER_BEAN) {
+        };
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor dynamoDbAsyncClientDependsOnLocalServer() {
+        return new AbstractDependsOnBeanFactoryPostProcessor(DynamoDbAsyncClient.class, SERVER_BEAN) {
+        };
+    }
+}
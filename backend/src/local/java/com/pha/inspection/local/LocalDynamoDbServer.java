@@ -0,0 +1,150 @@
+package com.pha.inspection.local;
+
+import com.amazonaws.services.dynamodbv2.local.main.ServerRunner;
+import com.amazonaws.services.dynamodbv2.local.server.DynamoDBProxyServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded DynamoDB Local server for the "local" profile
+ *
+ * Runs DynamoDB Local in-process on localhost:{port}, either in memory or persisted under a
+ * directory, and creates the application table with the layout the entities expect:
+ * - PK/SK (S, S)
+ * - GSI1 (GSI1PK/GSI1SK), GSI2 (GSI2PK/GSI2SK), GSI3 (GSI3PK/GSI3SK), all projecting ALL
+ * The same layout as scripts/local-dynamodb.sh.
+ *
+ * DynamoDB Local stores data in SQLite through sqlite4java, whose native libraries are copied
+ * to target/native-libs by the Maven "local" profile.
+ */
+public class LocalDynamoDbServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalDynamoDbServer.class);
+
+    private final int port;
+    private final String dbPath;
+
+    private DynamoDBProxyServer server;
+
+    public LocalDynamoDbServer(int port, String dbPath, String nativeLibs) {
+        this.port = port;
+        this.dbPath = dbPath;
+
+        // Only point sqlite4java at the copied natives when they are there, otherwise let it find its own
+        File nativeDir = new File(nativeLibs);
+        String[] natives = nativeDir.list();
+        if (System.getProperty("sqlite4java.library.path") == null && natives != null && natives.length > 0) {
+            System.setProperty("sqlite4java.library.path", nativeDir.getAbsolutePath());
+        }
+    }
+
+    public void start() {
+        List<String> args = new ArrayList<>(List.of("-port", String.valueOf(port), "-sharedDb"));
+        if (dbPath == null || dbPath.isEmpty()) {
+            args.add("-inMemory");
+        } else {
+            new File(dbPath).mkdirs();
+            args.add("-dbPath");
+            args.add(dbPath);
+        }
+
+        try {
+            server = ServerRunner.createServerFromCommandLineArgs(args.toArray(new String[0]));
+            server.start();
+        } catch (Exception e) {
+            throw new RuntimeException("Error starting DynamoDB Local on port " + port, e);
+        }
+        logger.info("DynamoDB Local started on {} ({})", endpoint(),
+                dbPath == null || dbPath.isEmpty() ? "in memory" : "persisted in " + dbPath);
+    }
+
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        try {
+            server.stop();
+            logger.info("DynamoDB Local stopped");
+        } catch (Exception e) {
+            logger.warn("Error stopping DynamoDB Local", e);
+        }
+    }
+
+    public String endpoint() {
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Client for setup and seeding, independent from the application's instrumented clients
+     */
+    public DynamoDbClient client() {
+        return DynamoDbClient.builder()
+                .endpointOverride(URI.create(endpoint()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")))
+                .build();
+    }
+
+    /**
+     * Create the table and its GSIs unless it exists (a persisted database keeps it)
+     *
+     * @return true if the table was created
+     */
+    public static boolean createTableIfMissing(DynamoDbClient client, String tableName) {
+        try {
+            client.describeTable(DescribeTableRequest.builder().tableName(tableName).build());
+            logger.info("Table {} already exists", tableName);
+            return false;
+        } catch (ResourceNotFoundException e) {
+            // Create below
+        }
+
+        List<AttributeDefinition> attributes = new ArrayList<>();
+        List<GlobalSecondaryIndex> indexes = new ArrayList<>();
+        attributes.add(stringAttribute("PK"));
+        attributes.add(stringAttribute("SK"));
+        for (String index : List.of("GSI1", "GSI2", "GSI3")) {
+            attributes.add(stringAttribute(index + "PK"));
+            attributes.add(stringAttribute(index + "SK"));
+            indexes.add(GlobalSecondaryIndex.builder()
+                    .indexName(index)
+                    .keySchema(hashKey(index + "PK"), rangeKey(index + "SK"))
+                    .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+                    .build());
+        }
+
+        client.createTable(CreateTableRequest.builder()
+                .tableName(tableName)
+                .billingMode(BillingMode.PAY_PER_REQUEST)
+                .attributeDefinitions(attributes)
+                .keySchema(hashKey("PK"), rangeKey("SK"))
+                .globalSecondaryIndexes(indexes)
+                .build());
+        client.waiter().waitUntilTableExists(DescribeTableRequest.builder().tableName(tableName).build());
+
+        logger.info("Created table {} with GSI1, GSI2 and GSI3", tableName);
+        return true;
+    }
+
+    private static AttributeDefinition stringAttribute(String name) {
+        return AttributeDefinition.builder().attributeName(name).attributeType(ScalarAttributeType.S).build();
+    }
+
+    private static KeySchemaElement hashKey(String name) {
+        return KeySchemaElement.builder().attributeName(name).keyType(KeyType.HASH).build();
+    }
+
+    private static KeySchemaElement rangeKey(String name) {
+        return KeySchemaElement.builder().attributeName(name).keyType(KeyType.RANGE).build();
+    }
+}
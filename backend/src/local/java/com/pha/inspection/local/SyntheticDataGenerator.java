@@ -0,0 +1,485 @@
+package com.pha.inspection.local;
+
+import com.pha.inspection.model.dto.AreaDTO;
+import com.pha.inspection.model.dto.ItemDTO;
+import com.pha.inspection.model.dto.PMICategoryDTO;
+import com.pha.inspection.model.dto.PMIItemDTO;
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.model.entity.InspectionImage;
+import com.pha.inspection.model.entity.InspectionResponse;
+import com.pha.inspection.model.entity.InspectionSignature;
+import com.pha.inspection.model.entity.Inspector;
+import com.pha.inspection.model.entity.PMIResponse;
+import com.pha.inspection.model.entity.TableSchemas;
+import com.pha.inspection.service.AreaService;
+import com.pha.inspection.service.PMIService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.net.URI;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synthetic data generator for large, realistically skewed inspection datasets
+ *
+ * Generates inspectors and inspections with their responses, PMI responses, image and
+ * signature metadata, and writes them with parallel BatchWriteItem (25 items per request,
+ * unprocessed items retried with backoff). Items go through the entity bean schemas, so
+ * keys and GSI attributes match what the application writes.
+ *
+ * Distributions:
+ * - Sites: by area 9xx (SS) 40%, 8xx (CS) 30%, 7xx (AMPB) 20%, 6xx (PAPMC) 10%, and Zipf within an area
+ * - Inspectors: Zipf, a few inspectors carry most of the work
+ * - Start dates: weekdays, mostly recent (exponential, mean 120 days) with a long tail up to 3 years
+ * - Status by age: older inspections are almost all Closed, the last week is mostly New/InProgress
+ * - Responses: Closed inspections answer ~N items in area order, InProgress part of them, New none;
+ *   OK ~85%, NA ~9%, deficiencies ~6% scaled per site, higher in kitchens and bathrooms
+ * - Images per deficiency (1-2) and on some inspections; inspector and tenant signatures on Closed ones
+ * - PMI checklists on a share of started inspections
+ *
+ * Inspection i gets SO number 9000000 + i and is generated from its own Random(seed + i), so
+ * a dataset is identical for the same settings regardless of thread count. Generated inspectors
+ * are SYN0001.. and share one password (default "synthetic-password").
+ *
+ * Used by the local profile on startup and runnable against any endpoint:
+ *   mvn -Plocal compile exec:exec -Dgenerator.args="-Dgenerator.endpoint=http://localhost:8000 -Dgenerator.inspections=20000"
+ * A 20000 inspection dataset is roughly 1M items.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final long FIRST_SO_NUMBER = 9_000_000L;
+
+    private static final int BATCH_SIZE = 25;
+    private static final int INSPECTIONS_PER_TASK = 100;
+    private static final int MAX_AGE_DAYS = 3 * 365;
+
+    private static final List<Area> AREAS = List.of(
+            new Area("9", 0.40, "Haddington", "Mantua", "Strawberry Mansion", "Fairhill", "Harrison Plaza",
+                    "Blumberg", "Wilson Park", "Spring Garden"),
+            new Area("8", 0.30, "Queen Lane", "Germantown", "Wissahickon", "Abbottsford", "Bartram Village",
+                    "Hill Creek"),
+            new Area("7", 0.20, "Martin Luther King", "Norris", "Richard Allen", "Emlen Arms"),
+            new Area("6", 0.10, "Cecil B. Moore", "Westpark", "Paschall"));
+
+    /**
+     * Volumes and shape of a dataset
+     *
+     * @param inspections  inspections to generate
+     * @param inspectors   inspector accounts the work is spread over
+     * @param responses    mean responses on a Closed inspection
+     * @param pmiShare     share of started inspections with a PMI checklist
+     * @param threads      parallel BatchWriteItem writers
+     * @param seed         random seed
+     * @param password     password of the generated inspectors
+     */
+    public record Settings(int inspections, int inspectors, int responses, double pmiShare,
+                           int threads, long seed, String password) {
+    }
+
+    private final DynamoDbClient client;
+    private final String tableName;
+    private final Settings settings;
+
+    private final List<String> itemIds = new ArrayList<>();
+    private final List<String> itemAreas = new ArrayList<>();
+    private final List<String[]> pmiItems = new ArrayList<>();   // {itemId, categoryId}
+    private final List<String[]> sites = new ArrayList<>();      // {siteCode, siteName}
+    private final double[] siteCumulative;
+    private final double[] siteDeficiencyFactor;
+    private final double[] inspectorCumulative;
+
+    private final TableSchema<Inspection> inspectionSchema = TableSchemas.INSPECTION;
+    private final TableSchema<InspectionResponse> responseSchema = TableSchemas.RESPONSE;
+    private final TableSchema<PMIResponse> pmiSchema = TableSchemas.PMI_RESPONSE;
+    private final TableSchema<InspectionImage> imageSchema = TableSchemas.IMAGE;
+    private final TableSchema<InspectionSignature> signatureSchema = TableSchemas.SIGNATURE;
+    private final TableSchema<Inspector> inspectorSchema = TableSchemas.INSPECTOR;
+
+    private final Map<String, LongAdder> counts = new TreeMap<>();
+    private final AtomicLong written = new AtomicLong();
+
+    public SyntheticDataGenerator(DynamoDbClient client, String tableName, AreaService areaService,
+                                  PMIService pmiService, Settings settings) {
+        this.client = client;
+        this.tableName = tableName;
+        this.settings = settings;
+
+        for (AreaDTO area : areaService.getAllAreas()) {
+            for (ItemDTO item : areaService.getItemsByArea(area.getAreaName())) {
+                itemIds.add(item.getItemId());
+                itemAreas.add(area.getAreaName());
+            }
+        }
+        for (PMICategoryDTO category : pmiService.getAllCategories()) {
+            for (PMIItemDTO item : pmiService.getItemsByCategory(category.getCategoryId())) {
+                pmiItems.add(new String[]{item.getItemId(), category.getCategoryId()});
+            }
+        }
+
+        List<Double> weights = new ArrayList<>();
+        for (Area area : AREAS) {
+            double[] zipf = zipf(area.sites().length, 1.0);
+            for (int i = 0; i < area.sites().length; i++) {
+                sites.add(new String[]{area.prefix() + String.format("%02d", i + 1), area.sites()[i]});
+                weights.add(area.share() * zipf[i]);
+            }
+        }
+        siteCumulative = cumulative(weights.stream().mapToDouble(Double::doubleValue).toArray());
+
+        Random siteRandom = new Random(settings.seed());
+        siteDeficiencyFactor = new double[sites.size()];
+        for (int i = 0; i < sites.size(); i++) {
+            siteDeficiencyFactor[i] = 0.5 + siteRandom.nextDouble() * 1.5;
+        }
+        inspectorCumulative = cumulative(zipf(Math.max(1, settings.inspectors()), 0.8));
+
+        for (String type : List.of("Inspector", "Inspection", "InspectionResponse", "PMIResponse",
+                "InspectionImage", "InspectionSignature")) {
+            counts.put(type, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) {
+        String endpoint = System.getProperty("generator.endpoint", "");
+        String region = System.getProperty("generator.region", "us-east-1");
+        String table = System.getProperty("generator.table", "pha-inspections");
+        Settings settings = new Settings(
+                Integer.getInteger("generator.inspections", 20_000),
+                Integer.getInteger("generator.inspectors", 100),
+                Integer.getInteger("generator.responses", 55),
+                Double.parseDouble(System.getProperty("generator.pmi-share", "0.3")),
+                Integer.getInteger("generator.threads", 16),
+                Long.getLong("generator.seed", 42),
+                System.getProperty("generator.password", "synthetic-password"));
+
+        DynamoDbClientBuilder builder = DynamoDbClient.builder().region(Region.of(region));
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")));
+        }
+
+        try (DynamoDbClient client = builder.build()) {
+            if (!endpoint.isEmpty()) {
+                LocalDynamoDbServer.createTableIfMissing(client, table);
+            }
+            new SyntheticDataGenerator(client, table, new AreaService(), new PMIService(), settings).generate();
+        }
+    }
+
+    /**
+     * Generate and write the dataset
+     *
+     * @return items written per entity type
+     */
+    public Map<String, Long> generate() {
+        logger.info("Generating {} inspections for {} inspectors into {} on {} threads (seed {})",
+                settings.inspections(), settings.inspectors(), tableName, settings.threads(), settings.seed());
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, settings.threads()));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            tasks.add(pool.submit(this::writeInspectors));
+            for (int from = 0; from < settings.inspections(); from += INSPECTIONS_PER_TASK) {
+                int first = from;
+                int last = Math.min(from + INSPECTIONS_PER_TASK, settings.inspections());
+                tasks.add(pool.submit(() -> writeInspections(first, last)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating data into " + tableName, e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((type, count) -> result.put(type, count.sum()));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("Wrote {} items in {}s ({} items/s): {}", written.get(), String.format("%.1f", seconds),
+                Math.round(written.get() / Math.max(seconds, 0.001)), result);
+        return result;
+    }
+
+    private void writeInspectors() {
+        // One hash for all generated inspectors; bcrypt per inspector would dominate small datasets
+        String passwordHash = new BCryptPasswordEncoder().encode(settings.password());
+        List<WriteRequest> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= settings.inspectors(); i++) {
+            Inspector inspector = new Inspector();
+            inspector.setInspectorId(inspectorId(i));
+            inspector.setName("Synthetic Inspector " + i);
+            inspector.setVehicleTagId(String.valueOf((char) ('A' + (i - 1) % 26)));
+            inspector.setPassword(passwordHash);
+            inspector.initializeGSI();
+            add(batch, "Inspector", inspectorSchema.itemToMap(inspector, true));
+        }
+        flush(batch);
+    }
+
+    private void writeInspections(int first, int last) {
+        List<WriteRequest> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDate today = LocalDate.now();
+
+        for (int index = first; index < last; index++) {
+            Random random = new Random(settings.seed() + index);
+            int site = pick(siteCumulative, random);
+            int inspector = 1 + pick(inspectorCumulative, random);
+            int ageDays = ageDays(random);
+            LocalDate startDate = weekday(today.minusDays(ageDays));
+            String status = status(ageDays, random);
+
+            Inspection inspection = inspection(index, site, inspector, startDate, status, random);
+            add(batch, "Inspection", inspectionSchema.itemToMap(inspection, true));
+
+            String soNumber = inspection.getSoNumber();
+            String timestamp = startDate + "T" + String.format("%02d:%02d:00Z", 13 + random.nextInt(8), random.nextInt(60));
+            int responses = switch (status) {
+                case "Closed" -> clamp((int) Math.round(settings.responses() + random.nextGaussian() * 8), 0, itemIds.size());
+                case "InProgress" -> random.nextInt(Math.min(settings.responses(), itemIds.size()) + 1);
+                default -> 0;
+            };
+
+            for (int r = 0; r < responses; r++) {
+                String itemId = itemIds.get(r);
+                InspectionResponse response = new InspectionResponse(soNumber, itemId,
+                        responseValue(site, itemAreas.get(r), random));
+                response.setCreatedAt(timestamp);
+                if ("Def".equals(response.getResponse())) {
+                    response.setScopeOfWork("Repair or replace " + itemAreas.get(r).toLowerCase() + " item " + itemId);
+                    response.setMaterialRequired(random.nextInt(3) == 0);
+                    response.setUrgent(random.nextInt(12) == 0);
+                    response.setTenantCharge(random.nextInt(20) == 0);
+                    for (int image = random.nextInt(5) == 0 ? 2 : 1; image > 0; image--) {
+                        add(batch, "InspectionImage", imageSchema.itemToMap(image(soNumber, itemId, timestamp, random), true));
+                    }
+                }
+                add(batch, "InspectionResponse", responseSchema.itemToMap(response, true));
+            }
+
+            if (!"New".equals(status) && random.nextInt(7) == 0) {
+                add(batch, "InspectionImage", imageSchema.itemToMap(image(soNumber, null, timestamp, random), true));
+            }
+
+            if (!"New".equals(status) && random.nextDouble() < settings.pmiShare()) {
+                for (String[] pmiItem : pmiItems) {
+                    PMIResponse pmi = new PMIResponse(soNumber, pmiItem[0], pmiItem[1]);
+                    pmi.setCompleted("Closed".equals(status) ? random.nextInt(10) > 0 : random.nextBoolean());
+                    pmi.setCreatedAt(timestamp);
+                    add(batch, "PMIResponse", pmiSchema.itemToMap(pmi, true));
+                }
+            }
+
+            if ("Closed".equals(status)) {
+                add(batch, "InspectionSignature", signatureSchema.itemToMap(
+                        signature(soNumber, "inspector", inspection.getInspectorName(), timestamp, random), true));
+                if (random.nextInt(5) > 0) {
+                    add(batch, "InspectionSignature", signatureSchema.itemToMap(
+                            signature(soNumber, "tenant", inspection.getTenantName(), timestamp, random), true));
+                }
+            }
+        }
+        flush(batch);
+    }
+
+    private Inspection inspection(int index, int site, int inspector, LocalDate startDate, String status, Random random) {
+        Inspection inspection = new Inspection();
+        inspection.setSoNumber(String.valueOf(FIRST_SO_NUMBER + index));
+        inspection.setUnitNumber(String.format("%06d", random.nextInt(Math.max(1, settings.inspections() * 2 / 5))));
+        inspection.setSiteCode(sites.get(site)[0]);
+        inspection.setSiteName(sites.get(site)[1]);
+        inspection.setAddress((100 + random.nextInt(2900)) + " " + sites.get(site)[1] + " Ave");
+        inspection.setDivisionCode("D" + (1 + site % 4));
+        inspection.setInspectorId(inspectorId(inspector));
+        inspection.setInspectorName("Synthetic Inspector " + inspector);
+        inspection.setVehicleTagId(String.valueOf((char) ('A' + (inspector - 1) % 26)));
+        inspection.setStatus(status);
+        inspection.setStartDate(startDate.toString());
+        inspection.setBrSize(1 + Math.min(4, (int) Math.abs(random.nextGaussian() * 1.5)));
+        inspection.setIsHardwired(random.nextInt(3) > 0);
+        inspection.setTenantName("Tenant " + (10_000 + random.nextInt(90_000)));
+        inspection.setTenantPhone(String.format("215-555-%04d", random.nextInt(10_000)));
+
+        if (!"New".equals(status)) {
+            inspection.setStartTime(String.format("%02d:%02d", 8 + random.nextInt(8), random.nextInt(60)));
+            inspection.setTenantAvailability(random.nextInt(10) > 0);
+        }
+        if ("Closed".equals(status)) {
+            LocalDate endDate = startDate.plusDays(random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(3));
+            inspection.setEndDate(endDate.toString());
+            inspection.setEndTime(String.format("%02d:%02d", 12 + random.nextInt(6), random.nextInt(60)));
+            inspection.setCompletionDate(endDate.toString());
+            inspection.setSubmitTime(endDate + "T" + String.format("%02d:%02d:00Z", 17 + random.nextInt(6), random.nextInt(60)));
+            inspection.setSmokeDetectorsCount(1 + random.nextInt(4));
+            inspection.setCoDetectorsCount(random.nextInt(3));
+        }
+        inspection.initializeGSI();
+        return inspection;
+    }
+
+    private String responseValue(int site, String area, Random random) {
+        double deficiency = 0.06 * siteDeficiencyFactor[site]
+                * ("Kitchen".equals(area) || "Bathroom".equals(area) ? 1.8 : 1.0);
+        double roll = random.nextDouble();
+        if (roll < deficiency) {
+            return "Def";
+        }
+        return roll < deficiency + 0.09 ? "NA" : "OK";
+    }
+
+    private static InspectionImage image(String soNumber, String itemId, String timestamp, Random random) {
+        String imageId = "IMG" + Long.toHexString(random.nextLong() & 0xFFFFFFFFL).toUpperCase();
+        InspectionImage image = new InspectionImage(soNumber, imageId);
+        image.setItemId(itemId);
+        image.setImageUrl("https://mock-storage.com/images/" + imageId + ".jpg");
+        image.setThumbnailUrl("https://mock-storage.com/thumbnails/" + imageId + "_thumb.jpg");
+        image.setUploadedAt(timestamp);
+        image.setFileSize((int) Math.min(8_000_000, Math.exp(13.2 + random.nextGaussian() * 0.6)));
+        image.setMimeType("image/jpeg");
+        return image;
+    }
+
+    private static InspectionSignature signature(String soNumber, String type, String signedBy, String timestamp,
+                                                 Random random) {
+        String signatureId = "SIG" + Long.toHexString(random.nextLong() & 0xFFFFFFFFL).toUpperCase();
+        InspectionSignature signature = new InspectionSignature(soNumber, signatureId);
+        signature.setSignatureUrl("https://mock-storage.com/signatures/" + signatureId + ".png");
+        signature.setSignatureType(type);
+        signature.setSignedBy(signedBy);
+        signature.setSignedAt(timestamp);
+        signature.setFileSize(4_000 + random.nextInt(12_000));
+        return signature;
+    }
+
+    /**
+     * Mostly recent work with a long tail: 70% exponential (mean 120 days), 30% uniform over 3 years
+     */
+    private static int ageDays(Random random) {
+        if (random.nextInt(10) < 7) {
+            return Math.min(MAX_AGE_DAYS, (int) (-Math.log(1.0 - random.nextDouble()) * 120));
+        }
+        return random.nextInt(MAX_AGE_DAYS + 1);
+    }
+
+    private static String status(int ageDays, Random random) {
+        int roll = random.nextInt(100);
+        if (ageDays > 30) {
+            return roll < 92 ? "Closed" : roll < 97 ? "InProgress" : "New";
+        }
+        if (ageDays > 7) {
+            return roll < 50 ? "Closed" : roll < 85 ? "InProgress" : "New";
+        }
+        return roll < 10 ? "Closed" : roll < 50 ? "InProgress" : "New";
+    }
+
+    private static LocalDate weekday(LocalDate date) {
+        if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            return date.minusDays(1);
+        }
+        return date.getDayOfWeek() == DayOfWeek.SUNDAY ? date.minusDays(2) : date;
+    }
+
+    private void add(List<WriteRequest> batch, String type, Map<String, AttributeValue> item) {
+        batch.add(WriteRequest.builder().putRequest(PutRequest.builder().item(item).build()).build());
+        counts.get(type).increment();
+        if (batch.size() == BATCH_SIZE) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<WriteRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<WriteRequest>> pending = Map.of(tableName, new ArrayList<>(batch));
+        int size = batch.size();
+        batch.clear();
+
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            if (attempt > 0) {
+                sleep(Math.min(1000L, 10L << Math.min(attempt, 6)));
+            }
+            pending = client.batchWriteItem(BatchWriteItemRequest.builder().requestItems(pending).build())
+                    .unprocessedItems();
+        }
+
+        long done = written.addAndGet(size);
+        if (done / 100_000 != (done - size) / 100_000) {
+            logger.info("Wrote {} items", done);
+        }
+    }
+
+    static String inspectorId(int number) {
+        return String.format("SYN%04d", number);
+    }
+
+    private static double[] zipf(int n, double exponent) {
+        double[] weights = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+            total += weights[i];
+        }
+        for (int i = 0; i < n; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, Random random) {
+        double roll = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, roll);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Area by site code prefix (9xx SS, 8xx CS, 7xx AMPB, 6xx PAPMC), its share of inspections and
+     * its sites, most active first; site codes are prefix + 01, 02, ...
+     */
+    private record Area(String prefix, double share, String... sites) {
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing generated data", e);
+        }
+    }
+}
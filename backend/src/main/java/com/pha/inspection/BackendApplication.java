@@ -1,25 +1,21 @@
 package com.pha.inspection;
 
-import com.pha.inspection.service.InspectionService;
-import org.springframework.boot.CommandLineRunner;
+import com.pha.inspection.config.NativeRuntimeHints;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BackendApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(BackendApplication.class, args);
-    }
+        // Build the DynamoDB table schemas while Spring starts up
+        Thread schemas = new Thread(TableSchemas::preload, "table-schemas-preload");
+        schemas.setDaemon(true);
+        schemas.start();
 
-    /**
-     * Initialize mock data on startup
-     */
-    @Bean
-    public CommandLineRunner initData(InspectionService inspectionService) {
-        return args -> {
-            inspectionService.initializeMockData();
-        };
+        SpringApplication.run(BackendApplication.class, args);
     }
 }
@@ -0,0 +1,84 @@
+package com.pha.inspection.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a columnar archive file written by ColumnarFileWriter
+ *
+ * Only the footer and the requested column blocks are read from disk (column pruning).
+ */
+public final class ColumnarFileReader {
+
+    private ColumnarFileReader() {
+    }
+
+    /**
+     * Read the requested columns of every row; columns missing from the file come back as absent keys
+     *
+     * @param columns columns to read, or null for every column in the file
+     */
+    public static List<Map<String, String>> read(Path file, Collection<String> columns) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            int tailLength = Long.BYTES + ColumnarFileWriter.MAGIC.length;
+            if (raf.length() < ColumnarFileWriter.MAGIC.length + tailLength) {
+                throw new IOException("Not a columnar archive file: " + file);
+            }
+
+            raf.seek(raf.length() - tailLength);
+            long footerOffset = raf.readLong();
+            byte[] magic = new byte[ColumnarFileWriter.MAGIC.length];
+            raf.readFully(magic);
+            if (!Arrays.equals(magic, ColumnarFileWriter.MAGIC)) {
+                throw new IOException("Not a columnar archive file: " + file);
+            }
+
+            raf.seek(footerOffset);
+            int columnCount = raf.readInt();
+            Map<String, long[]> blocks = new LinkedHashMap<>();
+            for (int c = 0; c < columnCount; c++) {
+                String name = raf.readUTF();
+                blocks.put(name, new long[]{raf.readLong(), raf.readLong()});
+            }
+            int rowCount = raf.readInt();
+
+            List<Map<String, String>> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                rows.add(new LinkedHashMap<>());
+            }
+
+            for (String column : columns != null ? columns : blocks.keySet()) {
+                long[] block = blocks.get(column);
+                if (block == null) {
+                    continue;
+                }
+                byte[] compressed = new byte[(int) block[1]];
+                raf.seek(block[0]);
+                raf.readFully(compressed);
+
+                try (DataInputStream data = new DataInputStream(
+                        new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+                    for (int r = 0; r < rowCount; r++) {
+                        if (data.readBoolean()) {
+                            byte[] utf8 = new byte[data.readInt()];
+                            data.readFully(utf8);
+                            rows.get(r).put(column, new String(utf8, StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.pha.inspection.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes rows of string attributes to a compressed, column-oriented archive file
+ *
+ * File layout:
+ * - magic "PHACOL01"
+ * - one deflate-compressed block per column (all values of that column, in row order)
+ * - footer: column count, then name / offset / length of each block, then row count
+ * - footer offset (long) and the magic again
+ *
+ * Readers seek straight to the blocks they need, so queries only decompress the columns
+ * they ask for. Files are written to a temporary name, forced to disk and then renamed,
+ * so a crash never leaves a half-written archive behind.
+ */
+public final class ColumnarFileWriter {
+
+    static final byte[] MAGIC = "PHACOL01".getBytes(StandardCharsets.US_ASCII);
+    public static final String FILE_SUFFIX = ".phacol";
+
+    private ColumnarFileWriter() {
+    }
+
+    /**
+     * Write rows to the given file; the column set is the union of all row keys
+     */
+    public static void write(Path file, List<Map<String, String>> rows) throws IOException {
+        Set<String> columnNames = new LinkedHashSet<>();
+        for (Map<String, String> row : rows) {
+            columnNames.addAll(row.keySet());
+        }
+
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CountingOutputStream out = new CountingOutputStream(Channels.newOutputStream(channel));
+            out.write(MAGIC);
+
+            List<String> names = new ArrayList<>(columnNames);
+            long[] offsets = new long[names.size()];
+            long[] lengths = new long[names.size()];
+
+            for (int c = 0; c < names.size(); c++) {
+                byte[] block = encodeColumn(names.get(c), rows);
+                offsets[c] = out.count;
+                lengths[c] = block.length;
+                out.write(block);
+            }
+
+            long footerOffset = out.count;
+            DataOutputStream footer = new DataOutputStream(out);
+            footer.writeInt(names.size());
+            for (int c = 0; c < names.size(); c++) {
+                footer.writeUTF(names.get(c));
+                footer.writeLong(offsets[c]);
+                footer.writeLong(lengths[c]);
+            }
+            footer.writeInt(rows.size());
+            footer.writeLong(footerOffset);
+            footer.write(MAGIC);
+            footer.flush();
+
+            channel.force(true);
+        }
+
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Column block: per row a presence flag followed by the UTF-8 length and bytes
+     */
+    private static byte[] encodeColumn(String name, List<Map<String, String>> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream data = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (Map<String, String> row : rows) {
+                String value = row.get(name);
+                if (value == null) {
+                    data.writeBoolean(false);
+                } else {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    data.writeBoolean(true);
+                    data.writeInt(utf8.length);
+                    data.write(utf8);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private long count;
+
+        CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
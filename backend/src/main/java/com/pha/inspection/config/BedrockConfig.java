@@ -3,12 +3,23 @@ package com.pha.inspection.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClient;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClient;
 
+import java.time.Duration;
+
+/**
+ * Bedrock configuration
+ * Lazy: the Bedrock client is only built on the first chatbot query, not at startup
+ */
 @Configuration
+@Lazy
 public class BedrockConfig {
 
     @Value("${bedrock.access-key-id}")
@@ -20,13 +31,42 @@ public class BedrockConfig {
     @Value("${bedrock.region}")
     private String region;
 
+    /**
+     * Client for blocking queries: every call, retries included, is bounded by chatbot.query.timeout-ms,
+     * so a hung call cannot hold the request thread (and callers coalesced onto it) indefinitely
+     */
     @Bean
-    public BedrockAgentRuntimeClient bedrockAgentRuntimeClient() {
+    public BedrockAgentRuntimeClient bedrockAgentRuntimeClient(
+            @Value("${chatbot.query.timeout-ms:60000}") long queryTimeoutMs,
+            @Value("${chatbot.query.attempt-timeout-ms:30000}") long attemptTimeoutMs) {
         return BedrockAgentRuntimeClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKeyId, secretAccessKey)
                 ))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallTimeout(Duration.ofMillis(queryTimeoutMs))
+                        .apiCallAttemptTimeout(Duration.ofMillis(attemptTimeoutMs))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Client for streamed answers: one connection per concurrent stream, and a read timeout
+     * that allows for the model's pauses between parts of the answer
+     */
+    @Bean
+    public BedrockAgentRuntimeAsyncClient bedrockAgentRuntimeAsyncClient(
+            @Value("${chatbot.stream.max-concurrent:20}") int maxConcurrentStreams,
+            @Value("${chatbot.stream.read-timeout-ms:60000}") long readTimeoutMs) {
+        return BedrockAgentRuntimeAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKeyId, secretAccessKey)
+                ))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConcurrentStreams)
+                        .readTimeout(Duration.ofMillis(readTimeoutMs)))
                 .build();
     }
 }
@@ -1,18 +1,52 @@
 package com.pha.inspection.config;
 
+import com.pha.inspection.metrics.DynamoDbMetricPublisher;
+import com.pha.inspection.metrics.DynamoDbMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * DynamoDB client configuration
+ *
+ * The synchronous client is built from a configurable profile (aws.dynamodb.*):
+ * - http-client: "apache" (default) or "crt" (AWS Common Runtime, lower latency and footprint)
+ * - pool: max-connections, connection timeout, acquisition timeout and connection TTL
+ *   (apache only), idle eviction and TCP keepalive
+ * - timeouts: api-call-timeout-ms bounds a call including retries,
+ *   api-call-attempt-timeout-ms bounds each attempt
+ * - retry: mode (adaptive adds client-side rate limiting on throttles) and max attempts; each
+ *   client's retry strategy keeps its own token bucket, which stops retry storms when DynamoDB
+ *   is degraded
+ *
+ * Both clients report per-call latency, consumed capacity, retries and throttles to
+ * Micrometer (see DynamoDbMetricsInterceptor and DynamoDbMetricPublisher).
+ */
 @Configuration
 public class DynamoDBConfig {
 
@@ -28,10 +62,90 @@ public class DynamoDBConfig {
     @Value("${aws.secret-access-key:}")
     private String secretAccessKey;
 
+    // 0 = size for the execution mode: SDK default (50) on platform threads, 1000 on virtual threads
+    @Value("${aws.dynamodb.max-connections:0}")
+    private int maxConnections;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${aws.dynamodb.http-client:apache}")
+    private String httpClient;
+
+    @Value("${aws.dynamodb.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${aws.dynamodb.connection-acquisition-timeout-ms:10000}")
+    private long connectionAcquisitionTimeoutMs;
+
+    @Value("${aws.dynamodb.socket-timeout-ms:30000}")
+    private long socketTimeoutMs;
+
+    // Recycle connections periodically so DNS changes on the DynamoDB endpoint are picked up (apache only)
+    @Value("${aws.dynamodb.connection-ttl-ms:60000}")
+    private long connectionTtlMs;
+
+    @Value("${aws.dynamodb.connection-max-idle-ms:60000}")
+    private long connectionMaxIdleMs;
+
+    @Value("${aws.dynamodb.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${aws.dynamodb.tcp-keep-alive-interval-ms:30000}")
+    private long tcpKeepAliveIntervalMs;
+
+    @Value("${aws.dynamodb.tcp-keep-alive-timeout-ms:5000}")
+    private long tcpKeepAliveTimeoutMs;
+
+    @Value("${aws.dynamodb.api-call-timeout-ms:10000}")
+    private long apiCallTimeoutMs;
+
+    @Value("${aws.dynamodb.api-call-attempt-timeout-ms:3000}")
+    private long apiCallAttemptTimeoutMs;
+
+    @Value("${aws.dynamodb.retry.mode:adaptive}")
+    private String retryMode;
+
+    @Value("${aws.dynamodb.retry.max-attempts:5}")
+    private int retryMaxAttempts;
+
+
+    // Async (Netty) client used by fan-out reads
+    @Value("${aws.dynamodb.async.max-concurrency:200}")
+    private int asyncMaxConcurrency;
+
+    @Value("${aws.dynamodb.async.max-pending-acquires:10000}")
+    private int asyncMaxPendingAcquires;
+
+    @Value("${aws.dynamodb.async.connection-timeout-ms:2000}")
+    private long asyncConnectionTimeoutMs;
+
+    @Value("${aws.dynamodb.async.acquisition-timeout-ms:10000}")
+    private long asyncAcquisitionTimeoutMs;
+
+    @Value("${aws.dynamodb.async.read-timeout-ms:30000}")
+    private long asyncReadTimeoutMs;
+
+    @Value("${aws.dynamodb.async.api-call-timeout-ms:30000}")
+    private long asyncApiCallTimeoutMs;
+
     @Bean
-    public DynamoDbClient dynamoDbClient() {
+    public DynamoDbClient dynamoDbClient(DynamoDbMetricsInterceptor metricsInterceptor,
+                                         DynamoDbMetricPublisher metricPublisher) {
+        // With virtual threads every request can be in a DynamoDB call at once, so the
+        // connection pool (not the thread pool) becomes the concurrency limit
+        int connections = maxConnections > 0 ? maxConnections : (virtualThreads ? 1000 : 50);
+
         DynamoDbClientBuilder builder = DynamoDbClient.builder()
-                .region(Region.of(region));
+                .region(Region.of(region))
+                .httpClientBuilder(httpClientBuilder(connections))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallTimeout(Duration.ofMillis(apiCallTimeoutMs))
+                        .apiCallAttemptTimeout(Duration.ofMillis(apiCallAttemptTimeoutMs))
+                        .retryStrategy(retryStrategy())
+                        .addExecutionInterceptor(metricsInterceptor)
+                        .addMetricPublisher(metricPublisher)
+                        .build());
 
         // Use custom endpoint if specified (for DynamoDB Local)
         if (endpoint != null && !endpoint.isEmpty()) {
@@ -56,4 +170,107 @@ public class DynamoDBConfig {
                 .dynamoDbClient(dynamoDbClient)
                 .build();
     }
+
+    /**
+     * Non-blocking client for fan-out reads (dashboard status partitions, inspection bundles,
+     * batched child-item reads). Completions run on the fan-out executor rather than the SDK's
+     * default completion pool, so they follow the configured execution mode.
+     */
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient(@Qualifier("fanOutExecutor") ExecutorService fanOutExecutor,
+                                                   DynamoDbMetricsInterceptor metricsInterceptor,
+                                                   DynamoDbMetricPublisher metricPublisher) {
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(asyncMaxConcurrency)
+                        .maxPendingConnectionAcquires(asyncMaxPendingAcquires)
+                        .connectionTimeout(Duration.ofMillis(asyncConnectionTimeoutMs))
+                        .connectionAcquisitionTimeout(Duration.ofMillis(asyncAcquisitionTimeoutMs))
+                        .readTimeout(Duration.ofMillis(asyncReadTimeoutMs))
+                        .writeTimeout(Duration.ofMillis(asyncReadTimeoutMs)))
+                .overrideConfiguration(o -> o
+                        .apiCallTimeout(Duration.ofMillis(asyncApiCallTimeoutMs))
+                        .retryStrategy(retryStrategy())
+                        .addExecutionInterceptor(metricsInterceptor)
+                        .addMetricPublisher(metricPublisher))
+                .asyncConfiguration(a -> a.advancedOption(
+                        SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, fanOutExecutor));
+
+        // Use custom endpoint if specified (for DynamoDB Local)
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        // Use credentials if provided
+        if (accessKeyId != null && !accessKeyId.isEmpty() &&
+            secretAccessKey != null && !secretAccessKey.isEmpty()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(accessKeyId, secretAccessKey)
+            ));
+        }
+
+        return builder.build();
+    }
+
+    private SdkHttpClient.Builder<?> httpClientBuilder(int connections) {
+        switch (httpClient.toLowerCase(Locale.ROOT)) {
+            case "apache":
+                return ApacheHttpClient.builder()
+                        .maxConnections(connections)
+                        .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                        .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquisitionTimeoutMs))
+                        .socketTimeout(Duration.ofMillis(socketTimeoutMs))
+                        .connectionTimeToLive(Duration.ofMillis(connectionTtlMs))
+                        .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+                        .useIdleConnectionReaper(true)
+                        .tcpKeepAlive(tcpKeepAlive);
+            case "crt":
+                AwsCrtHttpClient.Builder crt = AwsCrtHttpClient.builder()
+                        .maxConcurrency(connections)
+                        .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                        .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs));
+                if (tcpKeepAlive) {
+                    crt.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+                            .keepAliveInterval(Duration.ofMillis(tcpKeepAliveIntervalMs))
+                            .keepAliveTimeout(Duration.ofMillis(tcpKeepAliveTimeoutMs))
+                            .build());
+                }
+                return crt;
+            default:
+                throw new IllegalStateException("Unsupported aws.dynamodb.http-client: " + httpClient
+                        + " (expected apache or crt)");
+        }
+    }
+
+    /**
+     * A new strategy per client, so the sync and async clients each get their own token bucket
+     */
+    private RetryStrategy retryStrategy() {
+        RetryStrategy strategy;
+        switch (retryMode.toLowerCase(Locale.ROOT)) {
+            case "legacy":
+                strategy = AwsRetryStrategy.legacyRetryStrategy();
+                break;
+            case "standard":
+                strategy = AwsRetryStrategy.standardRetryStrategy();
+                break;
+            case "adaptive":
+                strategy = AwsRetryStrategy.adaptiveRetryStrategy();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported aws.dynamodb.retry.mode: " + retryMode
+                        + " (expected legacy, standard or adaptive)");
+        }
+        return strategy.toBuilder()
+                .maxAttempts(Math.max(1, retryMaxAttempts))
+                .build();
+    }
+
+    @Bean
+    public DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient(DynamoDbAsyncClient dynamoDbAsyncClient) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(dynamoDbAsyncClient)
+                .build();
+    }
 }
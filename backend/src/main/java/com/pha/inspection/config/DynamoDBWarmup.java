@@ -0,0 +1,99 @@
+package com.pha.inspection.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DynamoDB Warmup
+ * Opens DynamoDB connections before the application reports ready
+ *
+ * Issues aws.dynamodb.warmup.connections concurrent GetItem calls for a key that does not
+ * exist on both the sync and async clients, so TLS handshakes, credential resolution and
+ * endpoint resolution happen at startup instead of on the first user requests. Runners
+ * complete before ApplicationReadyEvent, so readiness probes wait for the warmup. Failures
+ * are logged and ignored; warmup never blocks startup for longer than timeout-ms.
+ */
+@Component
+public class DynamoDBWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDBWarmup.class);
+
+    private static final Map<String, AttributeValue> WARMUP_KEY = Map.of(
+            "PK", AttributeValue.builder().s("WARMUP").build(),
+            "SK", AttributeValue.builder().s("WARMUP").build());
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final String tableName;
+    private final boolean enabled;
+    private final int connections;
+    private final long timeoutMs;
+
+    @Autowired
+    public DynamoDBWarmup(DynamoDbClient dynamoDbClient,
+                          DynamoDbAsyncClient dynamoDbAsyncClient,
+                          @Value("${aws.dynamodb.table-name}") String tableName,
+                          @Value("${aws.dynamodb.warmup.enabled:true}") boolean enabled,
+                          @Value("${aws.dynamodb.warmup.connections:8}") int connections,
+                          @Value("${aws.dynamodb.warmup.timeout-ms:10000}") long timeoutMs) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.tableName = tableName;
+        this.enabled = enabled;
+        this.connections = connections;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || connections < 1) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(tableName)
+                .key(WARMUP_KEY)
+                .projectionExpression("PK")
+                .build();
+
+        // One thread per call, so the sync pool opens one connection per call instead of reusing one
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        try {
+            List<CompletableFuture<?>> calls = new ArrayList<>(connections * 2);
+            for (int i = 0; i < connections; i++) {
+                calls.add(CompletableFuture.runAsync(() -> dynamoDbClient.getItem(request), executor));
+                calls.add(dynamoDbAsyncClient.getItem(request));
+            }
+
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+
+            logger.info("DynamoDB warmup complete - {} connections per client in {} ms",
+                    connections, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("DynamoDB warmup did not complete: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
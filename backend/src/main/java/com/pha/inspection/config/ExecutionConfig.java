@@ -0,0 +1,46 @@
+package com.pha.inspection.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request execution mode
+ *
+ * spring.threads.virtual.enabled switches Tomcat request handling (and Spring's task
+ * executors) to Java 21 virtual threads. The "fanOutExecutor" used by services for
+ * parallel DynamoDB calls follows the same mode: one virtual thread per task, or a
+ * bounded platform pool (execution.fan-out.platform-threads) otherwise.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    @Bean(name = "fanOutExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualFanOutExecutor() {
+        logger.info("Execution mode: virtual threads");
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fan-out-", 0).factory());
+    }
+
+    @Bean(name = "fanOutExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformFanOutExecutor(@Value("${execution.fan-out.platform-threads:16}") int threads) {
+        logger.info("Execution mode: platform threads (fan-out pool: {})", threads);
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
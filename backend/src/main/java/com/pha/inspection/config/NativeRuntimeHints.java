@@ -0,0 +1,82 @@
+package com.pha.inspection.config;
+
+import com.pha.inspection.event.InspectionChangeEvent;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native image hints
+ * Reflection and resource hints Spring AOT cannot infer, for the "native" build profile
+ *
+ * - DynamoDB entities (@DynamoDbBean): TableSchemas maps them through java.beans introspection
+ *   and reflection in a native image, and some are returned as JSON
+ * - DTOs and change events: bound by Jackson, often behind ResponseEntity<?> or Map return
+ *   types AOT cannot see through. Both packages are scanned so new classes are covered.
+ * - jjwt: loads its implementation, serializer and compression codecs by class name and
+ *   through ServiceLoader
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String ENTITY_PACKAGE = "com.pha.inspection.model.entity";
+    private static final String DTO_PACKAGE = "com.pha.inspection.model.dto";
+
+    private static final List<String> JJWT_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : scan(ENTITY_PACKAGE, new AnnotationTypeFilter(DynamoDbBean.class), classLoader)) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            bindingHints.registerReflectionHints(hints.reflection(), entity);
+        }
+
+        for (Class<?> dto : scan(DTO_PACKAGE, (reader, factory) -> true, classLoader)) {
+            bindingHints.registerReflectionHints(hints.reflection(), dto);
+        }
+        bindingHints.registerReflectionHints(hints.reflection(), InspectionChangeEvent.class);
+
+        for (String className : JJWT_CLASSES) {
+            hints.reflection().registerTypeIfPresent(classLoader, className,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+
+    /**
+     * Classes in a package matching a filter (nested classes included), resolved at build time
+     */
+    private static List<Class<?>> scan(String basePackage, TypeFilter filter, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(filter);
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+            classes.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.pha.inspection.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (archival)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
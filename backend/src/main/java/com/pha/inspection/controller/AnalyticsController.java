@@ -0,0 +1,65 @@
+package com.pha.inspection.controller;
+
+import com.pha.inspection.model.dto.DeficiencyAnalyticsDTO;
+import com.pha.inspection.service.DeficiencyAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Analytics Controller
+ * Handles deficiency analytics endpoints for maintenance planning
+ */
+@RestController
+@RequestMapping("/analytics")
+@Tag(name = "Analytics", description = "Deficiency analytics for maintenance planning")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired
+    private DeficiencyAnalyticsService deficiencyAnalyticsService;
+
+    /**
+     * Get top deficiency categories
+     */
+    @GetMapping("/deficiencies")
+    @Operation(
+            summary = "Get top deficiency categories",
+            description = "Deficiency counts by serviceId and activityCode with urgent and material-required shares, " +
+                    "filtered by site, inspection area and month range (YYYY-MM). Defaults to the current month."
+    )
+    public ResponseEntity<?> getTopDeficiencies(
+            @RequestParam(required = false) String siteCode,
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        logger.info("GET /analytics/deficiencies - siteCode: {}, area: {}, from: {}, to: {}, limit: {}",
+                siteCode, area, from, to, limit);
+
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end;
+
+        try {
+            DeficiencyAnalyticsDTO analytics = deficiencyAnalyticsService.getTopDeficiencies(siteCode, area, start, end, limit);
+            return ResponseEntity.ok(analytics);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        }
+    }
+}
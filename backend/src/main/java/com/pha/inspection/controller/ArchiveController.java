@@ -0,0 +1,159 @@
+package com.pha.inspection.controller;
+
+import com.pha.inspection.model.dto.ArchiveRowsDTO;
+import com.pha.inspection.model.dto.ArchiveRunDTO;
+import com.pha.inspection.model.dto.DashboardSummaryDTO;
+import com.pha.inspection.service.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Archive Controller
+ * Handles archival runs and historical queries over archived Closed inspections
+ *
+ * Starting a run and reading its state are limited to the inspector IDs in archive.operator-ids.
+ */
+@RestController
+@RequestMapping("/archive")
+@Tag(name = "Archive", description = "Columnar archive of old Closed inspections")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ArchiveController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveController.class);
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Value("${archive.operator-ids:}")
+    private Set<String> operatorIds;
+
+    /**
+     * Start an archival run in the background
+     */
+    @PostMapping("/run")
+    @Operation(
+            summary = "Run archival",
+            description = "Start moving Closed inspections older than archive.min-age-days (with responses, PMI " +
+                    "responses, image metadata and signatures) from the table into the archive. Returns 202 with " +
+                    "the run ID at once; poll GET /archive/runs/{runId}. Operators only."
+    )
+    public ResponseEntity<?> runArchive(Authentication authentication) {
+        logger.info("POST /archive/run - by: {}", authentication.getName());
+
+        if (!operatorIds.contains(authentication.getName())) {
+            return forbidden();
+        }
+
+        try {
+            ArchiveRunDTO run = archiveService.startArchive();
+            return ResponseEntity.accepted().body(run);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(409).body(error);
+        }
+    }
+
+    /**
+     * State of an archival run
+     */
+    @GetMapping("/runs/{runId}")
+    @Operation(
+            summary = "Get archival run",
+            description = "State (RUNNING, COMPLETED or FAILED) and counts of one of the recent archival runs. Operators only."
+    )
+    public ResponseEntity<?> getRun(@PathVariable String runId, Authentication authentication) {
+        logger.info("GET /archive/runs/{}", runId);
+
+        if (!operatorIds.contains(authentication.getName())) {
+            return forbidden();
+        }
+
+        return archiveService.getRun(runId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "Archival run not found: " + runId);
+                    return ResponseEntity.status(404).body(error);
+                });
+    }
+
+    /**
+     * Read archived rows
+     */
+    @GetMapping("/{entity}")
+    @Operation(
+            summary = "Query archived rows",
+            description = "Read archived inspections, responses, pmi-responses, images or signatures for a month " +
+                    "range (YYYY-MM, by completion month). Only the requested columns are decompressed."
+    )
+    public ResponseEntity<?> queryArchive(
+            @PathVariable String entity,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) String siteCode,
+            @RequestParam(required = false) String area,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        logger.info("GET /archive/{} - from: {}, to: {}, columns: {}, siteCode: {}, area: {}, limit: {}",
+                entity, from, to, columns, siteCode, area, limit);
+
+        try {
+            ArchiveRowsDTO rows = archiveService.queryArchive(entity, from, to != null ? to : from,
+                    columns, siteCode, area, limit);
+            return ResponseEntity.ok(rows);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        }
+    }
+
+    /**
+     * Historical dashboard summary from the archive
+     */
+    @GetMapping("/summary")
+    @Operation(
+            summary = "Get archived dashboard summary",
+            description = "Closed inspection counts per site over archived completion months (YYYY-MM)"
+    )
+    public ResponseEntity<?> getArchivedSummary(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) String siteCode,
+            @RequestParam(required = false) String area) {
+
+        logger.info("GET /archive/summary - from: {}, to: {}, siteCode: {}, area: {}", from, to, siteCode, area);
+
+        try {
+            DashboardSummaryDTO summary = archiveService.getArchivedSummary(from, to != null ? to : from, siteCode, area);
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        }
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Archival runs are limited to archive.operator-ids");
+        return ResponseEntity.status(403).body(error);
+    }
+}
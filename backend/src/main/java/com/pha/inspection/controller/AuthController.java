@@ -3,7 +3,11 @@ package com.pha.inspection.controller;
 import com.pha.inspection.model.dto.CreateInspectorRequest;
 import com.pha.inspection.model.dto.LoginRequest;
 import com.pha.inspection.model.dto.LoginResponse;
+import com.pha.inspection.model.dto.RefreshTokenRequest;
+import com.pha.inspection.security.AuthenticationBusyException;
+import com.pha.inspection.security.InvalidRefreshTokenException;
 import com.pha.inspection.service.AuthService;
+import com.pha.inspection.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -31,6 +35,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     /**
      * Login endpoint
      */
@@ -40,6 +47,16 @@ public class AuthController {
         try {
             LoginResponse response = authService.login(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (AuthenticationBusyException e) {
+            logger.warn("Login rejected for inspector {}: {}", loginRequest.getInspectorId(), e.getMessage());
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Service busy");
+            error.put("message", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(error);
         } catch (Exception e) {
             logger.error("Login failed for inspector: {}", loginRequest.getInspectorId(), e);
 
@@ -51,6 +68,50 @@ public class AuthController {
         }
     }
 
+    /**
+     * Refresh endpoint
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new access token and a rotated refresh token")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            LoginResponse response = refreshTokenService.refresh(request.getRefreshToken());
+            return ResponseEntity.ok(response);
+        } catch (InvalidRefreshTokenException e) {
+            logger.warn("Token refresh failed: {}", e.getMessage());
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Authentication failed");
+            error.put("message", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        } catch (Exception e) {
+            // Throttling, timeouts: the token may still be valid, so don't log the client out
+            logger.error("Token refresh could not be completed", e);
+
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Service busy");
+            error.put("message", "Token refresh is temporarily unavailable, please retry");
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(error);
+        }
+    }
+
+    /**
+     * Logout endpoint
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the refresh token and every token rotated from the same login")
+    public ResponseEntity<Map<String, String>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Create inspector endpoint (supports both JSON body and query parameters)
      * Used by iPad app signup and Swagger UI testing
@@ -85,6 +146,14 @@ public class AuthController {
             response.put("inspectorId", finalInspectorId);
 
             return ResponseEntity.ok(response);
+        } catch (AuthenticationBusyException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Service busy");
+            error.put("message", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(error);
         } catch (Exception e) {
             logger.error("Failed to create inspector", e);
 
@@ -1,14 +1,23 @@
 package com.pha.inspection.controller;
 
+import com.pha.inspection.service.ChatbotBusyException;
 import com.pha.inspection.service.ChatbotService;
+import com.pha.inspection.service.ChatbotStream;
+import com.pha.inspection.service.ChatbotStreamListener;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,9 +30,12 @@ public class ChatbotController {
     private static final Logger logger = LoggerFactory.getLogger(ChatbotController.class);
 
     private final ChatbotService chatbotService;
+    private final long streamTimeoutMs;
 
-    public ChatbotController(ChatbotService chatbotService) {
+    public ChatbotController(@Lazy ChatbotService chatbotService,
+                             @Value("${chatbot.stream.timeout-ms:120000}") long streamTimeoutMs) {
         this.chatbotService = chatbotService;
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
     @PostMapping("/query")
@@ -52,4 +64,77 @@ public class ChatbotController {
             return ResponseEntity.status(500).body(error);
         }
     }
+
+    /**
+     * Streamed answer
+     * Server-sent events: "token" events ({"text": ...}) as the answer is generated, then
+     * "done", or "error" ({"error": ...}) if the query fails after the stream has started.
+     * Disconnecting or timing out cancels the Bedrock call.
+     */
+    @PostMapping(value = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Ask the chatbot a question (streamed)", description = "Streams the answer from the AWS Bedrock Knowledge Base as server-sent events while it is generated")
+    public ResponseEntity<SseEmitter> queryStream(@RequestBody Map<String, String> body) {
+        String question = body.get("question");
+
+        if (question == null || question.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        logger.info("POST /chatbot/query/stream - question: {}", question);
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        ChatbotStream stream;
+        try {
+            stream = chatbotService.streamQuery(question.trim(), new ChatbotStreamListener() {
+                @Override
+                public void onToken(String text) throws IOException {
+                    Map<String, String> token = new HashMap<>();
+                    token.put("text", text);
+                    emitter.send(SseEmitter.event().name("token").data(token, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void onComplete() {
+                    try {
+                        emitter.send(SseEmitter.event().name("done").data(""));
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    try {
+                        Map<String, String> message = new HashMap<>();
+                        message.put("error", "Failed to get response from chatbot: " + error.getMessage());
+                        emitter.send(SseEmitter.event().name("error").data(message, MediaType.APPLICATION_JSON));
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                }
+            });
+        } catch (ChatbotBusyException e) {
+            logger.warn("Chatbot stream rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .build();
+        } catch (Exception e) {
+            logger.error("Chatbot stream failed to start: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        emitter.onTimeout(() -> {
+            logger.info("Chatbot stream timed out after {}ms", streamTimeoutMs);
+            stream.cancel();
+            emitter.complete();
+        });
+        emitter.onError(error -> stream.cancel());
+        emitter.onCompletion(stream::cancel);
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
 }
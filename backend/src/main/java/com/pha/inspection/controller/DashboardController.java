@@ -2,16 +2,24 @@ package com.pha.inspection.controller;
 
 import com.pha.inspection.model.dto.DashboardFilterDTO;
 import com.pha.inspection.model.dto.DashboardSummaryDTO;
+import com.pha.inspection.model.dto.TrendSeriesDTO;
 import com.pha.inspection.service.DashboardService;
+import com.pha.inspection.service.TrendService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Dashboard Controller
  * Handles dashboard filtering and summary endpoints
@@ -27,6 +35,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private TrendService trendService;
+
     /**
      * Get dashboard summary with filters
      */
@@ -35,7 +46,7 @@ public class DashboardController {
             summary = "Get dashboard summary",
             description = "Get inspection statistics grouped by site with optional filters (area, year, month, site)"
     )
-    public ResponseEntity<DashboardSummaryDTO> getDashboardSummary(
+    public CompletableFuture<ResponseEntity<DashboardSummaryDTO>> getDashboardSummary(
             @RequestParam(required = false) String area,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month,
@@ -47,9 +58,41 @@ public class DashboardController {
         // Create filter DTO
         DashboardFilterDTO filters = new DashboardFilterDTO(area, year, month, siteCode);
 
-        // Get summary from service
-        DashboardSummaryDTO summary = dashboardService.getDashboardSummary(filters);
+        // Get summary from service (completes asynchronously)
+        return dashboardService.getDashboardSummary(filters)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Get inspection trends (time series) from pre-bucketed rollups
+     */
+    @GetMapping("/trends")
+    @Operation(
+            summary = "Get inspection trends",
+            description = "Count of inspections entering each status, bucketed by day, week or month per site. " +
+                    "Defaults to the last 365 days."
+    )
+    public ResponseEntity<?> getTrends(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String siteCode,
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) String status) {
+
+        logger.info("Dashboard trends requested - granularity: {}, from: {}, to: {}, siteCode: {}, area: {}, status: {}",
+                granularity, from, to, siteCode, area, status);
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(364);
 
-        return ResponseEntity.ok(summary);
+        try {
+            TrendSeriesDTO trends = trendService.getTrends(granularity, start, end, siteCode, area, status);
+            return ResponseEntity.ok(trends);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        }
     }
 }
@@ -0,0 +1,71 @@
+package com.pha.inspection.controller;
+
+import com.pha.inspection.service.InspectionExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Export Controller
+ * Streams bulk inspection exports (CSV / NDJSON)
+ */
+@RestController
+@RequestMapping("/inspections")
+@Tag(name = "Export", description = "Bulk inspection export endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private InspectionExportService exportService;
+
+    /**
+     * Export inspections
+     */
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export inspections",
+            description = "Stream all inspections (optionally filtered by status, optionally with responses) as csv or ndjson"
+    )
+    public ResponseEntity<StreamingResponseBody> exportInspections(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean includeResponses) {
+
+        logger.info("GET /inspections/export - format: {}, status: {}, includeResponses: {}",
+                format, status, includeResponses);
+
+        if (!"csv".equals(format) && !"ndjson".equals(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean csv = "csv".equals(format);
+        StreamingResponseBody body = out -> {
+            if (csv) {
+                exportService.exportCsv(status, includeResponses, out);
+            } else {
+                exportService.exportNdjson(status, includeResponses, out);
+            }
+        };
+
+        String filename = "inspections-" + LocalDate.now() + "." + format;
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
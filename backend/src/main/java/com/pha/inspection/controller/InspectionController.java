@@ -1,6 +1,7 @@
 package com.pha.inspection.controller;
 
 import com.pha.inspection.model.dto.*;
+import com.pha.inspection.service.InspectionBundleService;
 import com.pha.inspection.service.InspectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Inspection Controller
@@ -30,6 +32,9 @@ public class InspectionController {
     @Autowired
     private InspectionService inspectionService;
 
+    @Autowired
+    private InspectionBundleService inspectionBundleService;
+
     /**
      * Get all inspections with optional filters and pagination
      */
@@ -75,6 +80,36 @@ public class InspectionController {
         return ResponseEntity.ok(inspection.get());
     }
 
+    /**
+     * Get inspection with all child items
+     */
+    @GetMapping("/{soNumber}/bundle")
+    @Operation(
+            summary = "Get inspection bundle",
+            description = "Get an inspection together with its responses, PMI responses, images and signatures in one call"
+    )
+    public CompletableFuture<ResponseEntity<?>> getInspectionBundle(@PathVariable String soNumber) {
+        logger.info("GET /inspections/{}/bundle", soNumber);
+
+        return inspectionBundleService.getBundle(soNumber)
+                .thenApply(bundle -> {
+                    if (bundle.isEmpty()) {
+                        Map<String, String> error = new HashMap<>();
+                        error.put("error", "Inspection not found");
+                        error.put("soNumber", soNumber);
+                        return ResponseEntity.status(404).body(error);
+                    }
+                    return ResponseEntity.ok(bundle.get());
+                })
+                .exceptionally(e -> {
+                    logger.error("Failed to load inspection bundle for SO: {}", soNumber, e);
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "Failed to load inspection bundle");
+                    error.put("soNumber", soNumber);
+                    return ResponseEntity.status(500).body(error);
+                });
+    }
+
     /**
      * Create new inspection
      */
@@ -0,0 +1,157 @@
+package com.pha.inspection.controller;
+
+import com.pha.inspection.model.dto.BulkImportResultDTO;
+import com.pha.inspection.model.dto.CreateInspectorRequest;
+import com.pha.inspection.model.dto.InspectorDTO;
+import com.pha.inspection.model.dto.InspectorPageDTO;
+import com.pha.inspection.security.AuthenticationBusyException;
+import com.pha.inspection.service.InspectorAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Inspector Controller
+ * Handles inspector listing, bulk onboarding and deactivation endpoints for the web admin
+ *
+ * Bulk import and deactivation are limited to the inspector IDs in inspectors.admin.operator-ids.
+ */
+@RestController
+@RequestMapping("/inspectors")
+@Tag(name = "Inspectors", description = "Inspector listing and bulk onboarding")
+@SecurityRequirement(name = "Bearer Authentication")
+public class InspectorController {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectorController.class);
+
+    @Autowired
+    private InspectorAdminService inspectorAdminService;
+
+    @Value("${inspectors.admin.operator-ids:}")
+    private Set<String> operatorIds;
+
+    /**
+     * List inspectors (paginated)
+     */
+    @GetMapping
+    @Operation(
+            summary = "List inspectors",
+            description = "List inspectors ordered by ID. Pass nextCursor from the response as 'cursor' to get the next page."
+    )
+    public ResponseEntity<?> listInspectors(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        logger.info("GET /inspectors - limit: {}, cursor: {}", limit, cursor);
+
+        try {
+            InspectorPageDTO page = inspectorAdminService.listInspectors(limit, cursor);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        }
+    }
+
+    /**
+     * Get several inspectors by ID
+     */
+    @GetMapping("/batch")
+    @Operation(
+            summary = "Get inspectors by ID list",
+            description = "Fetch several inspectors in one call (comma-separated ids). Unknown IDs are omitted."
+    )
+    public ResponseEntity<?> getInspectors(@RequestParam List<String> ids) {
+        logger.info("GET /inspectors/batch - {} ids", ids.size());
+
+        try {
+            List<InspectorDTO> inspectors = inspectorAdminService.getInspectors(ids);
+            return ResponseEntity.ok(inspectors);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        }
+    }
+
+    /**
+     * Bulk import inspectors
+     */
+    @PostMapping("/bulk-import")
+    @Operation(
+            summary = "Bulk import inspectors",
+            description = "Create many inspectors in one call. Rows that are invalid, duplicated or already exist " +
+                    "are reported in 'rejected'; the rest are created. Operators only."
+    )
+    public ResponseEntity<?> bulkImport(@RequestBody List<CreateInspectorRequest> requests, Authentication authentication) {
+        logger.info("POST /inspectors/bulk-import - {} inspectors, by: {}", requests.size(), authentication.getName());
+
+        if (!operatorIds.contains(authentication.getName())) {
+            return forbidden();
+        }
+
+        try {
+            BulkImportResultDTO result = inspectorAdminService.bulkImport(requests);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(400).body(error);
+        } catch (AuthenticationBusyException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Service busy");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(error);
+        }
+    }
+
+    /**
+     * Deactivate an inspector
+     */
+    @PostMapping("/{inspectorId}/deactivate")
+    @Operation(
+            summary = "Deactivate inspector",
+            description = "Refuse further logins for the inspector and revoke all of its refresh tokens. Operators only."
+    )
+    public ResponseEntity<?> deactivate(@PathVariable String inspectorId, Authentication authentication) {
+        logger.info("POST /inspectors/{}/deactivate - by: {}", inspectorId, authentication.getName());
+
+        if (!operatorIds.contains(authentication.getName())) {
+            return forbidden();
+        }
+
+        Optional<InspectorDTO> inspector = inspectorAdminService.deactivate(inspectorId);
+
+        if (inspector.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Inspector not found");
+            error.put("inspectorId", inspectorId);
+            return ResponseEntity.status(404).body(error);
+        }
+
+        return ResponseEntity.ok(inspector.get());
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Limited to inspectors.admin.operator-ids");
+        return ResponseEntity.status(403).body(error);
+    }
+}
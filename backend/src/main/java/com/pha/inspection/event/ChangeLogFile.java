@@ -0,0 +1,261 @@
+package com.pha.inspection.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * File-backed, append-only change log
+ *
+ * Events are stored as one JSON document per line in segment files named after the
+ * first sequence they contain (changes-00000000000000000001.ndjson). A new segment is
+ * started once the current one exceeds the configured size.
+ *
+ * Only the dispatcher thread writes; replay may run concurrently because it only reads
+ * lines that were completely flushed.
+ *
+ * A failed append closes the current segment and the dispatcher appends the same batch again,
+ * into a new segment. Any events of the failed attempt that did reach the old segment are then
+ * logged twice; open() and replay() skip entries whose sequence is not above the last one read.
+ *
+ * Sequences only mean something within one log, so every log has an id (stored in the log-id
+ * file next to the segments). A directory without segments, e.g. the empty disk of a new
+ * instance or deployment, always starts a new log with a new id.
+ */
+class ChangeLogFile implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogFile.class);
+
+    private static final String SEGMENT_PREFIX = "changes-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+    private static final String LOG_ID_FILE = "log-id";
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+
+    private SyncableOutputStream out;
+    private long currentSegmentSize;
+    private String logId;
+
+    ChangeLogFile(Path directory, long segmentBytes, boolean fsync, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Open the log and return the last sequence already written (0 for an empty log)
+     */
+    long open() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Path> segments = listSegments();
+        Path logIdFile = directory.resolve(LOG_ID_FILE);
+        if (segments.isEmpty() || !Files.exists(logIdFile)) {
+            logId = createLogId(logIdFile);
+            logger.info("Change log {} created in {}", logId, directory);
+        } else {
+            logId = Files.readString(logIdFile, StandardCharsets.UTF_8).trim();
+        }
+
+        if (segments.isEmpty()) {
+            return 0;
+        }
+
+        // Only the newest segment has to be read to find the last sequence
+        long[] last = {firstSequenceOf(segments.get(segments.size() - 1)) - 1};
+        readSegment(segments.get(segments.size() - 1), event -> last[0] = Math.max(last[0], event.getSequence()));
+        return last[0];
+    }
+
+    /**
+     * Id of this log, available once it is open
+     */
+    String logId() {
+        return logId;
+    }
+
+    /**
+     * Append a batch of events (sequences already assigned) and flush it
+     *
+     * On failure the segment is closed, so appending the batch again starts a new one.
+     */
+    void append(List<InspectionChangeEvent> events) throws IOException {
+        if (out == null || currentSegmentSize >= segmentBytes) {
+            rollSegment(events.get(0).getSequence());
+        }
+
+        try {
+            for (InspectionChangeEvent event : events) {
+                byte[] line = objectMapper.writeValueAsBytes(event);
+                out.write(line);
+                out.write(NEWLINE);
+                currentSegmentSize += line.length + 1;
+            }
+            out.flush();
+
+            if (fsync) {
+                out.sync();
+            }
+        } catch (IOException e) {
+            discardSegment();
+            throw e;
+        }
+    }
+
+    /**
+     * Replay every logged event with a sequence greater than afterSequence, in order
+     *
+     * @return the last sequence replayed (afterSequence if nothing was newer)
+     */
+    long replay(long afterSequence, Consumer<InspectionChangeEvent> consumer) throws IOException {
+        List<Path> segments = listSegments();
+        long[] last = {afterSequence};
+
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip whole segments that end before the requested position
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            readSegment(segments.get(i), event -> {
+                if (event.getSequence() > last[0]) {
+                    consumer.accept(event);
+                    last[0] = event.getSequence();
+                }
+            });
+        }
+        return last[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void discardSegment() {
+        try {
+            close();
+        } catch (IOException e) {
+            logger.warn("Error closing failed change log segment: {}", e.getMessage());
+        }
+        out = null;
+    }
+
+    private static String createLogId(Path logIdFile) throws IOException {
+        String id = UUID.randomUUID().toString();
+        // Written next to the file and moved into place, so a crash never leaves an empty id
+        Path temp = logIdFile.resolveSibling(LOG_ID_FILE + ".tmp");
+        Files.writeString(temp, id, StandardCharsets.UTF_8);
+        Files.move(temp, logIdFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    private void rollSegment(long firstSequence) throws IOException {
+        close();
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        out = new SyncableOutputStream(segment);
+        currentSegmentSize = Files.size(segment);
+        if (currentSegmentSize > 0) {
+            // The segment may end in a torn line from a failed append; never continue that line
+            out.write(NEWLINE);
+            currentSegmentSize++;
+        }
+        logger.info("Change log segment opened: {}", segment);
+    }
+
+    private void readSegment(Path segment, Consumer<InspectionChangeEvent> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    consumer.accept(objectMapper.readValue(line, InspectionChangeEvent.class));
+                } catch (IOException e) {
+                    // A torn last line after a crash is expected; anything else is worth knowing about
+                    logger.warn("Skipping unreadable change log entry in {}: {}", segment.getFileName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Buffered append stream over a FileChannel so that batches can be forced to disk
+     */
+    private static class SyncableOutputStream extends OutputStream {
+
+        private final FileChannel channel;
+        private final OutputStream buffered;
+
+        SyncableOutputStream(Path path) throws IOException {
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffered.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            buffered.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            buffered.flush();
+        }
+
+        void sync() throws IOException {
+            channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffered.close();
+        }
+    }
+}
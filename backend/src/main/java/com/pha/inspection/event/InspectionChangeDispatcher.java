@@ -0,0 +1,363 @@
+package com.pha.inspection.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inspection Change Dispatcher
+ * Bounded, batched, asynchronous delivery of inspection change events
+ *
+ * Writers (InspectionRepositoryImpl and the child-item services) call publish() after a
+ * successful DynamoDB write. A single dispatcher thread drains the queue in batches,
+ * assigns sequence numbers, appends the batch to the file-backed change log and then
+ * hands it to every registered subscriber.
+ *
+ * Events describe writes that have already happened, so none are dropped: when the queue is
+ * full, publish() logs after changelog.publish-timeout-ms and keeps waiting (backpressure on
+ * the writing requests). A batch is only delivered once it is in the log; while appending
+ * fails the dispatcher retries every changelog.retry-interval-ms and the queue fills up.
+ *
+ * A subscriber with a checkpoint (InspectionChangeListener.checkpoint) is first sent the
+ * logged events after it, and again after one of its batches fails, so it catches up after
+ * restarts and errors. Replay and delivery both run on the dispatcher thread.
+ *
+ * Checkpoints are only meaningful for the log they were taken from (getLogId): the log lives on
+ * local disk, so after a redeploy, or on another instance, the log is a new one that starts again
+ * at sequence 1. Subscribers keep their checkpoints per log id.
+ */
+@Component
+public class InspectionChangeDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectionChangeDispatcher.class);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long publishTimeoutMs;
+    private final long retryIntervalMs;
+    private final BlockingQueue<InspectionChangeEvent> queue;
+    private final ChangeLogFile changeLog;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong blockedPublishes = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    @Autowired
+    public InspectionChangeDispatcher(ObjectMapper objectMapper,
+                                      @Value("${changelog.enabled:true}") boolean enabled,
+                                      @Value("${changelog.directory:./data/changelog}") String directory,
+                                      @Value("${changelog.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${changelog.batch-size:256}") int batchSize,
+                                      @Value("${changelog.poll-interval-ms:200}") long pollIntervalMs,
+                                      @Value("${changelog.publish-timeout-ms:50}") long publishTimeoutMs,
+                                      @Value("${changelog.retry-interval-ms:5000}") long retryIntervalMs,
+                                      @Value("${changelog.segment-bytes:67108864}") long segmentBytes,
+                                      @Value("${changelog.fsync:false}") boolean fsync) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.publishTimeoutMs = publishTimeoutMs;
+        this.retryIntervalMs = retryIntervalMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.changeLog = new ChangeLogFile(Paths.get(directory), segmentBytes, fsync, objectMapper);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            logger.info("Inspection change log disabled");
+            return;
+        }
+
+        lastSequence.set(changeLog.open());
+        running = true;
+        dispatcherThread = new Thread(this::dispatchLoop, "inspection-change-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+
+        logger.info("Inspection change log {} started at sequence {}", changeLog.logId(), lastSequence.get());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        // Let the dispatcher drain what is already queued, then close the log
+        running = false;
+        try {
+            dispatcherThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            changeLog.close();
+        } catch (IOException e) {
+            logger.warn("Error closing change log: {}", e.getMessage());
+        }
+        logger.info("Inspection change log stopped at sequence {} ({} publishes waited for queue space, {} events dropped)",
+                lastSequence.get(), blockedPublishes.get(), droppedEvents.get());
+    }
+
+    /**
+     * Register a subscriber. One with a checkpoint is replayed the logged events after it before
+     * it receives new batches; one without receives the events published from now on.
+     */
+    public void subscribe(InspectionChangeListener listener) {
+        subscriptions.add(new Subscription(listener));
+        logger.info("Change log subscriber registered: {}", listener.getClass().getSimpleName());
+    }
+
+    /**
+     * Replay logged events after the given sequence to a single subscriber (e.g. to rebuild
+     * a derived view after a restart). Runs on the calling thread.
+     *
+     * @return the last sequence delivered
+     */
+    public long replay(long afterSequence, InspectionChangeListener listener) {
+        if (!enabled) {
+            return afterSequence;
+        }
+
+        List<InspectionChangeEvent> batch = new ArrayList<>(batchSize);
+        try {
+            long last = changeLog.replay(afterSequence, event -> {
+                batch.add(event);
+                if (batch.size() >= batchSize) {
+                    listener.onChanges(new ArrayList<>(batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                listener.onChanges(batch);
+            }
+            return last;
+        } catch (IOException e) {
+            throw new RuntimeException("Error replaying change log after sequence " + afterSequence, e);
+        }
+    }
+
+    /**
+     * Queue an event for the log and subscribers, waiting for queue space if necessary
+     */
+    public void publish(InspectionChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!running) {
+            // Only possible during shutdown, once the dispatcher has stopped draining the queue
+            long dropped = droppedEvents.incrementAndGet();
+            logger.warn("Change log stopped, dropped {} event for SO: {} (total dropped: {})",
+                    event.getType(), event.getSoNumber(), dropped);
+            return;
+        }
+
+        // The write has already happened, so an interrupt must not lose the event
+        boolean interrupted = false;
+        boolean waited = false;
+        while (true) {
+            try {
+                if (waited) {
+                    queue.put(event);
+                    break;
+                }
+                if (queue.offer(event, publishTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+                waited = true;
+                long blocked = blockedPublishes.incrementAndGet();
+                logger.warn("Change log queue full, waiting to publish {} event for SO: {} (total waits: {})",
+                        event.getType(), event.getSoNumber(), blocked);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Id of the change log; sequences and checkpoints are only comparable within one log
+     * (null while the change log is disabled)
+     */
+    public String getLogId() {
+        return changeLog.logId();
+    }
+
+    public long getLastSequence() {
+        return lastSequence.get();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public long getBlockedPublishes() {
+        return blockedPublishes.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void dispatchLoop() {
+        List<InspectionChangeEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                catchUpSubscribers();
+
+                InspectionChangeEvent first = queue.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                // Sequences are assigned here so that log order and sequence order always agree
+                long previousSequence = lastSequence.get();
+                for (InspectionChangeEvent event : batch) {
+                    event.setSequence(lastSequence.incrementAndGet());
+                }
+
+                if (!appendWithRetry(batch)) {
+                    lastSequence.set(previousSequence);
+                    droppedEvents.addAndGet(batch.size() + queue.size());
+                    return;
+                }
+
+                List<InspectionChangeEvent> delivered = List.copyOf(batch);
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.caughtUp) {
+                        deliver(subscription, delivered);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Append a batch to the log, retrying until it succeeds
+     *
+     * @return false if the dispatcher was stopped before the batch could be logged
+     */
+    private boolean appendWithRetry(List<InspectionChangeEvent> batch) throws InterruptedException {
+        while (true) {
+            try {
+                changeLog.append(batch);
+                return true;
+            } catch (IOException e) {
+                logger.error("Error appending {} events (sequences {}-{}) to change log, retrying in {}ms",
+                        batch.size(), batch.get(0).getSequence(), batch.get(batch.size() - 1).getSequence(),
+                        retryIntervalMs, e);
+            }
+            if (!running) {
+                logger.error("Change log stopped, {} events (sequences {}-{}) and {} queued events were not logged",
+                        batch.size(), batch.get(0).getSequence(), batch.get(batch.size() - 1).getSequence(), queue.size());
+                return false;
+            }
+            Thread.sleep(retryIntervalMs);
+        }
+    }
+
+    private void deliver(Subscription subscription, List<InspectionChangeEvent> batch) {
+        try {
+            subscription.listener.onChanges(batch);
+        } catch (Exception e) {
+            logger.error("Change log subscriber {} failed on batch ending at sequence {}",
+                    subscription.name(), batch.get(batch.size() - 1).getSequence(), e);
+            subscription.retryLater();
+        }
+    }
+
+    /**
+     * Replay the log to subscribers that registered or failed since the last batch
+     */
+    private void catchUpSubscribers() {
+        long now = System.currentTimeMillis();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.caughtUp || now < subscription.retryAtMs) {
+                continue;
+            }
+            try {
+                long checkpoint = subscription.listener.checkpoint();
+                if (checkpoint > lastSequence.get()) {
+                    // Checkpoints are kept per log id, so this means segments of this log were removed
+                    logger.warn("Change log subscriber {} checkpoint {} is ahead of log {} (last sequence {})",
+                            subscription.name(), checkpoint, changeLog.logId(), lastSequence.get());
+                } else if (checkpoint != InspectionChangeListener.NO_CHECKPOINT && checkpoint < lastSequence.get()) {
+                    long last = replay(checkpoint, subscription.listener);
+                    logger.info("Change log subscriber {} replayed sequences {}-{}",
+                            subscription.name(), checkpoint + 1, last);
+                }
+                subscription.caughtUp = true;
+            } catch (Exception e) {
+                logger.error("Change log subscriber {} failed to catch up, retrying in {}ms",
+                        subscription.name(), retryIntervalMs, e);
+                subscription.retryLater();
+            }
+        }
+    }
+
+    /**
+     * A registered subscriber. caughtUp and retryAtMs are only touched by the dispatcher thread
+     * once the subscription has been added.
+     */
+    private class Subscription {
+
+        private final InspectionChangeListener listener;
+        private boolean caughtUp;
+        private long retryAtMs;
+
+        Subscription(InspectionChangeListener listener) {
+            this.listener = listener;
+            this.caughtUp = listener.checkpoint() == InspectionChangeListener.NO_CHECKPOINT;
+        }
+
+        String name() {
+            return listener.getClass().getSimpleName();
+        }
+
+        /**
+         * Without a checkpoint the failed batch cannot be replayed, so such subscribers just carry on
+         */
+        void retryLater() {
+            if (listener.checkpoint() != InspectionChangeListener.NO_CHECKPOINT) {
+                caughtUp = false;
+                retryAtMs = System.currentTimeMillis() + retryIntervalMs;
+            }
+        }
+    }
+}
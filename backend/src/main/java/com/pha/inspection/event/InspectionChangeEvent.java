@@ -0,0 +1,149 @@
+package com.pha.inspection.event;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Inspection Change Event
+ * One entry of the append-only change log, published after every inspection or child-item write
+ *
+ * before/after hold the DynamoDB attributes of the item (flattened to strings) so that
+ * subscribers can compute deltas without reading the table again:
+ * - created items have no "before"
+ * - deleted items have no "after"
+ */
+public class InspectionChangeEvent {
+
+    public enum Type {
+        INSPECTION_CREATED,
+        INSPECTION_UPDATED,
+        INSPECTION_SUBMITTED,
+        INSPECTION_DELETED,
+        RESPONSE_SAVED,
+        RESPONSE_DELETED,
+        PMI_RESPONSE_SAVED,
+        PMI_RESPONSE_DELETED,
+        IMAGE_UPLOADED,
+        IMAGE_DELETED,
+        SIGNATURE_UPLOADED,
+        SIGNATURE_DELETED,
+        INSPECTION_ARCHIVED
+    }
+
+    private long sequence;              // Assigned by the dispatcher when the event is appended to the log
+    private Type type;
+    private String soNumber;            // Parent inspection SO number
+    private String sortKey;             // SK of the changed item (METADATA, RESPONSE#{itemId}, ...)
+    private String occurredAt;          // ISO 8601 timestamp
+    private Map<String, String> before;
+    private Map<String, String> after;
+
+    public InspectionChangeEvent() {
+    }
+
+    public InspectionChangeEvent(Type type, String soNumber, String sortKey,
+                                 Map<String, String> before, Map<String, String> after) {
+        this.type = type;
+        this.soNumber = soNumber;
+        this.sortKey = sortKey;
+        this.occurredAt = Instant.now().toString();
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Flatten an item to its DynamoDB attribute names and string values (null attributes are skipped)
+     */
+    public static <T> Map<String, String> snapshot(TableSchema<T> schema, T item) {
+        if (item == null) {
+            return null;
+        }
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (Map.Entry<String, AttributeValue> entry : schema.itemToMap(item, true).entrySet()) {
+            AttributeValue value = entry.getValue();
+            if (value.s() != null) {
+                attributes.put(entry.getKey(), value.s());
+            } else if (value.n() != null) {
+                attributes.put(entry.getKey(), value.n());
+            } else if (value.bool() != null) {
+                attributes.put(entry.getKey(), value.bool().toString());
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Attribute value after the change, or null if the item was deleted
+     */
+    public String afterValue(String attribute) {
+        return after != null ? after.get(attribute) : null;
+    }
+
+    /**
+     * Attribute value before the change, or null if the item was created
+     */
+    public String beforeValue(String attribute) {
+        return before != null ? before.get(attribute) : null;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getSoNumber() {
+        return soNumber;
+    }
+
+    public void setSoNumber(String soNumber) {
+        this.soNumber = soNumber;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public void setSortKey(String sortKey) {
+        this.sortKey = sortKey;
+    }
+
+    public String getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(String occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Map<String, String> getBefore() {
+        return before;
+    }
+
+    public void setBefore(Map<String, String> before) {
+        this.before = before;
+    }
+
+    public Map<String, String> getAfter() {
+        return after;
+    }
+
+    public void setAfter(Map<String, String> after) {
+        this.after = after;
+    }
+}
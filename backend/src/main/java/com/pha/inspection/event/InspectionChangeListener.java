@@ -0,0 +1,37 @@
+package com.pha.inspection.event;
+
+import java.util.List;
+
+/**
+ * Subscriber of the inspection change log
+ *
+ * Batches are delivered in sequence order on the dispatcher thread, so implementations
+ * should stay short and must not block on other subscribers.
+ */
+public interface InspectionChangeListener {
+
+    /**
+     * checkpoint() of a subscriber that only wants events published after it subscribed
+     */
+    long NO_CHECKPOINT = -1;
+
+    /**
+     * Handle a batch of change events (never empty)
+     *
+     * Subscribers with a checkpoint should throw if the batch was not applied: the dispatcher
+     * then replays the log from their checkpoint before delivering anything else to them.
+     */
+    void onChanges(List<InspectionChangeEvent> events);
+
+    /**
+     * Last sequence of the dispatcher's current log (InspectionChangeDispatcher.getLogId) this
+     * subscriber has durably applied
+     *
+     * When the subscriber registers, and after a batch failed, the dispatcher replays the logged
+     * events after this sequence before it delivers new batches, so a subscriber that persists its
+     * checkpoint does not miss events across restarts or errors.
+     */
+    default long checkpoint() {
+        return NO_CHECKPOINT;
+    }
+}
@@ -0,0 +1,143 @@
+package com.pha.inspection.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DynamoDB Call Detector
+ * Flags expensive DynamoDB calls and attributes them to the endpoint and request that made them
+ *
+ * A call is flagged when it is:
+ * - scan: any Scan (findAll, count, findBySiteCode, ...)
+ * - large-query: a paginated Query whose pages together return more than dynamodb.detector.query-max-items
+ *   items (flagged once, on the page that crosses the limit)
+ * - high-capacity: any call consuming more than dynamodb.detector.max-capacity units
+ * - slow: any call slower than dynamodb.detector.latency-threshold-ms
+ *
+ * Failed calls are checked as well (outcome=error), so failed scans and calls that were slow
+ * before failing are not missed.
+ *
+ * Each flag is logged on the "dynamodb.detector" logger as one key=value line and counted in
+ * dynamodb.flagged.calls (tag reason). Logging is rate limited per reason, operation and
+ * endpoint: at most one line per log-interval-seconds, and the next line reports how many
+ * occurrences were suppressed in between.
+ */
+@Component
+public class DynamoDbCallDetector {
+
+    private static final Logger detectorLog = LoggerFactory.getLogger("dynamodb.detector");
+
+    // Bounds the rate-limit state if endpoints or operations ever become high-cardinality
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long latencyThresholdMs;
+    private final int queryMaxItems;
+    private final double maxCapacity;
+    private final long logIntervalMs;
+
+    private final Map<String, LogWindow> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DynamoDbCallDetector(MeterRegistry meterRegistry,
+                                @Value("${dynamodb.detector.enabled:true}") boolean enabled,
+                                @Value("${dynamodb.detector.latency-threshold-ms:250}") long latencyThresholdMs,
+                                @Value("${dynamodb.detector.query-max-items:500}") int queryMaxItems,
+                                @Value("${dynamodb.detector.max-capacity:50}") double maxCapacity,
+                                @Value("${dynamodb.detector.log-interval-seconds:60}") long logIntervalSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.latencyThresholdMs = latencyThresholdMs;
+        this.queryMaxItems = queryMaxItems;
+        this.maxCapacity = maxCapacity;
+        this.logIntervalMs = TimeUnit.SECONDS.toMillis(logIntervalSeconds);
+    }
+
+    /**
+     * Check one completed or failed call
+     *
+     * @param outcome    "success" or "error"
+     * @param items      items returned, or -1 for operations that do not return items (and failed calls)
+     * @param totalItems items returned so far by the paginated Query this page belongs to (items otherwise)
+     * @param capacity   capacity units consumed (0 when not reported)
+     */
+    public void inspect(String operation, String table, String index, String endpoint, String requestId,
+                        String outcome, long latencyMs, int items, long totalItems, double capacity) {
+        if (!enabled) {
+            return;
+        }
+
+        Call call = new Call(operation, table, index, endpoint, requestId, outcome, latencyMs, items, totalItems, capacity);
+        if ("Scan".equals(operation)) {
+            flag("scan", call);
+        } else if ("Query".equals(operation) && totalItems > queryMaxItems && totalItems - items <= queryMaxItems) {
+            flag("large-query", call);
+        }
+        if (capacity > maxCapacity) {
+            flag("high-capacity", call);
+        }
+        if (latencyMs > latencyThresholdMs) {
+            flag("slow", call);
+        }
+    }
+
+    private void flag(String reason, Call call) {
+        Counter.builder("dynamodb.flagged.calls")
+                .description("DynamoDB calls flagged as scans, large queries, high-capacity or slow")
+                .tag("reason", reason)
+                .tag("operation", call.operation())
+                .register(meterRegistry)
+                .increment();
+
+        String key = reason + '|' + call.operation() + '|' + call.endpoint();
+        if (windows.size() >= MAX_TRACKED_KEYS && !windows.containsKey(key)) {
+            windows.clear();
+        }
+        long suppressed = windows.computeIfAbsent(key, k -> new LogWindow()).tryAcquire(logIntervalMs);
+        if (suppressed < 0) {
+            return;
+        }
+
+        detectorLog.warn("dynamodb_flag reason={} operation={} outcome={} table={} index={} endpoint=\"{}\" requestId={} " +
+                        "latencyMs={} items={} totalItems={} capacity={} suppressed={}",
+                reason, call.operation(), call.outcome(), call.table(), call.index(), call.endpoint(),
+                call.requestId() != null ? call.requestId() : "none",
+                call.latencyMs(), call.items(), call.totalItems(), call.capacity(), suppressed);
+    }
+
+    private record Call(String operation, String table, String index, String endpoint, String requestId,
+                        String outcome, long latencyMs, int items, long totalItems, double capacity) {
+    }
+
+    /**
+     * One log line per interval; calls in between are only counted
+     */
+    private static final class LogWindow {
+        private final AtomicLong nextLogAtMs = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * @return the number of suppressed occurrences to report if this call may log, or -1 if not
+         */
+        long tryAcquire(long intervalMs) {
+            long now = System.currentTimeMillis();
+            long next = nextLogAtMs.get();
+            if (now >= next && nextLogAtMs.compareAndSet(next, now + intervalMs)) {
+                return suppressed.getAndSet(0);
+            }
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+}
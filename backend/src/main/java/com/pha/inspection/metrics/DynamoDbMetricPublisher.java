@@ -0,0 +1,68 @@
+package com.pha.inspection.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.util.List;
+
+/**
+ * DynamoDB Metric Publisher
+ * Turns the SDK's per-call metric collections into retry and throttling counters
+ *
+ * Retries happen inside the SDK and are invisible to the execution interceptor, so they
+ * are read from the ApiCall metric collection instead:
+ * - dynamodb.retries (counter, tag operation): retried attempts
+ * - dynamodb.throttles (counter, tag operation): attempts rejected with a throttling error
+ */
+@Component
+public class DynamoDbMetricPublisher implements MetricPublisher {
+
+    // Value of CoreMetric.ERROR_TYPE for throttled attempts
+    private static final String THROTTLING = "Throttling";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public DynamoDbMetricPublisher(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        String operation = first(metricCollection.metricValues(CoreMetric.OPERATION_NAME), "none");
+
+        int retries = first(metricCollection.metricValues(CoreMetric.RETRY_COUNT), 0);
+        if (retries > 0) {
+            Counter.builder("dynamodb.retries")
+                    .description("DynamoDB attempts retried by the SDK")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment(retries);
+        }
+
+        long throttles = metricCollection.childrenWithName("ApiCallAttempt")
+                .filter(attempt -> attempt.metricValues(CoreMetric.ERROR_TYPE).contains(THROTTLING))
+                .count();
+        if (throttles > 0) {
+            Counter.builder("dynamodb.throttles")
+                    .description("DynamoDB attempts rejected with a throttling error")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment(throttles);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Meters belong to the registry, nothing to release
+    }
+
+    private static <T> T first(List<T> values, T defaultValue) {
+        return values.isEmpty() ? defaultValue : values.get(0);
+    }
+}
@@ -0,0 +1,341 @@
+package com.pha.inspection.metrics;
+
+import com.pha.inspection.config.RequestIdFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DynamoDB Metrics Interceptor
+ * Records latency, consumed capacity and item counts for every call made through the
+ * shared DynamoDB clients (repositories and services alike)
+ *
+ * Every data-plane request is sent with ReturnConsumedCapacity=TOTAL unless the caller
+ * already asked for capacity. Each meter is tagged with operation, table, index ("none"
+ * for base table calls) and endpoint, the Spring MVC route that issued the call
+ * (e.g. "GET /inspections/{soNumber}"), or "none" for scheduled and background work.
+ *
+ * Meters:
+ * - dynamodb.operation (timer, + outcome=success|error): call latency including retries.
+ *   For Query and Scan one call is one page, so the count is the number of pages read.
+ * - dynamodb.consumed.capacity (summary, + kind=read|write): capacity units per call
+ * - dynamodb.items (summary): items returned per call (Query/Scan count, GetItem hit, BatchGet items)
+ *
+ * Completed and failed calls are also handed to DynamoDbCallDetector, together with the request ID
+ * of the originating request, to flag scans, large queries and slow calls. Query pages are chained
+ * through LastEvaluatedKey / ExclusiveStartKey, so a large query is flagged on the running item
+ * total of the whole paginated call, not on a single page.
+ */
+@Component
+public class DynamoDbMetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("PhaMetricsStartNanos");
+    private static final ExecutionAttribute<String> ENDPOINT = new ExecutionAttribute<>("PhaMetricsEndpoint");
+    private static final ExecutionAttribute<String> REQUEST_ID = new ExecutionAttribute<>("PhaMetricsRequestId");
+
+    private static final String NONE = "none";
+
+    // Paginated queries whose next page has not been requested yet (abandoned ones expire)
+    private static final int MAX_PENDING_QUERIES = 10_000;
+    private static final long PENDING_QUERY_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final Map<PageKey, PendingQuery> pendingQueries = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final DynamoDbCallDetector callDetector;
+
+    @Autowired
+    public DynamoDbMetricsInterceptor(MeterRegistry meterRegistry, DynamoDbCallDetector callDetector) {
+        this.meterRegistry = meterRegistry;
+        this.callDetector = callDetector;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        // Runs on the calling thread (also for the async client), where the MVC request is bound
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+        executionAttributes.putAttribute(ENDPOINT, currentEndpoint());
+        String requestId = MDC.get(RequestIdFilter.MDC_KEY);
+        if (requestId != null) {
+            executionAttributes.putAttribute(REQUEST_ID, requestId);
+        }
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        return withConsumedCapacity(context.request());
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        Call call = call(context.request(), executionAttributes);
+        Tags tags = call.tags();
+        long latencyNanos = recordLatency(tags.and("outcome", "success"), executionAttributes);
+
+        SdkResponse response = context.response();
+
+        double capacity = consumedCapacity(response);
+        if (capacity > 0) {
+            DistributionSummary.builder("dynamodb.consumed.capacity")
+                    .description("DynamoDB capacity units consumed per call")
+                    .baseUnit("capacity_units")
+                    .tags(tags.and("kind", isRead(call.operation()) ? "read" : "write"))
+                    .register(meterRegistry)
+                    .record(capacity);
+        }
+
+        int items = itemCount(response);
+        if (items >= 0) {
+            DistributionSummary.builder("dynamodb.items")
+                    .description("Items returned per DynamoDB call")
+                    .baseUnit("items")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(items);
+        }
+
+        long totalItems = items;
+        if (context.request() instanceof QueryRequest query && response instanceof QueryResponse page) {
+            totalItems = queryTotal(call, query, page, items);
+        }
+
+        if (latencyNanos >= 0) {
+            callDetector.inspect(call.operation(), call.table(), call.index(), call.endpoint(),
+                    executionAttributes.getAttribute(REQUEST_ID), "success",
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanos), items, totalItems, capacity);
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Call call = call(context.request(), executionAttributes);
+        long latencyNanos = recordLatency(call.tags().and("outcome", "error"), executionAttributes);
+
+        // Failed scans and calls that were slow before failing (e.g. timeouts) are worth flagging too
+        if (latencyNanos >= 0) {
+            callDetector.inspect(call.operation(), call.table(), call.index(), call.endpoint(),
+                    executionAttributes.getAttribute(REQUEST_ID), "error",
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanos), -1, -1, 0);
+        }
+    }
+
+    /**
+     * Items returned so far by the paginated Query this page belongs to
+     *
+     * A page that continues from an ExclusiveStartKey adds to the total of the page that returned
+     * it as LastEvaluatedKey; a page with a LastEvaluatedKey leaves its total for the next page.
+     */
+    private long queryTotal(Call call, QueryRequest query, QueryResponse page, int items) {
+        long total = items;
+        if (query.hasExclusiveStartKey()) {
+            PendingQuery previous = pendingQueries.remove(new PageKey(call.table(), call.index(), query.exclusiveStartKey()));
+            if (previous != null) {
+                total += previous.totalItems();
+            }
+        }
+
+        if (page.hasLastEvaluatedKey() && !page.lastEvaluatedKey().isEmpty()) {
+            long now = System.currentTimeMillis();
+            if (pendingQueries.size() >= MAX_PENDING_QUERIES) {
+                pendingQueries.values().removeIf(pending -> now - pending.atMs() > PENDING_QUERY_TTL_MS);
+                if (pendingQueries.size() >= MAX_PENDING_QUERIES) {
+                    pendingQueries.clear();
+                }
+            }
+            pendingQueries.put(new PageKey(call.table(), call.index(), page.lastEvaluatedKey()), new PendingQuery(total, now));
+        }
+        return total;
+    }
+
+    /**
+     * @return the recorded latency in nanoseconds, or -1 if the start time is unknown
+     */
+    private long recordLatency(Tags tags, ExecutionAttributes executionAttributes) {
+        Long start = executionAttributes.getAttribute(START_NANOS);
+        if (start == null) {
+            return -1;
+        }
+        long latencyNanos = System.nanoTime() - start;
+        Timer.builder("dynamodb.operation")
+                .description("DynamoDB call latency including retries")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        return latencyNanos;
+    }
+
+    private static Call call(SdkRequest request, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        String endpoint = executionAttributes.getAttribute(ENDPOINT);
+        return new Call(
+                operation != null ? operation : NONE,
+                tableName(request),
+                request.getValueForField("IndexName", String.class).orElse(NONE),
+                endpoint != null ? endpoint : NONE);
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : NONE;
+    }
+
+    private static String tableName(SdkRequest request) {
+        return request.getValueForField("TableName", String.class)
+                .orElseGet(() -> {
+                    if (request instanceof BatchGetItemRequest batchGet) {
+                        return firstKey(batchGet.requestItems());
+                    }
+                    if (request instanceof BatchWriteItemRequest batchWrite) {
+                        return firstKey(batchWrite.requestItems());
+                    }
+                    return NONE;
+                });
+    }
+
+    private static String firstKey(Map<String, ?> requestItems) {
+        return requestItems.isEmpty() ? NONE : requestItems.keySet().iterator().next();
+    }
+
+    private static boolean isRead(String operation) {
+        return "GetItem".equals(operation) || "Query".equals(operation) || "Scan".equals(operation)
+                || "BatchGetItem".equals(operation) || "TransactGetItems".equals(operation);
+    }
+
+    private static SdkRequest withConsumedCapacity(SdkRequest request) {
+        if (request instanceof GetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof QueryRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof ScanRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof PutItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof UpdateItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof DeleteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof BatchGetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof BatchWriteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof TransactGetItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof TransactWriteItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        return request;
+    }
+
+    private static double consumedCapacity(SdkResponse response) {
+        if (response instanceof GetItemResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof QueryResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof ScanResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof PutItemResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof UpdateItemResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof DeleteItemResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof BatchGetItemResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof BatchWriteItemResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof TransactGetItemsResponse r) {
+            return units(r.consumedCapacity());
+        }
+        if (response instanceof TransactWriteItemsResponse r) {
+            return units(r.consumedCapacity());
+        }
+        return 0;
+    }
+
+    private static double units(ConsumedCapacity capacity) {
+        return capacity != null && capacity.capacityUnits() != null ? capacity.capacityUnits() : 0;
+    }
+
+    private static double units(List<ConsumedCapacity> capacities) {
+        double total = 0;
+        for (ConsumedCapacity capacity : capacities) {
+            total += units(capacity);
+        }
+        return total;
+    }
+
+    /**
+     * Items returned by a read, or -1 for operations that do not return items
+     */
+    private static int itemCount(SdkResponse response) {
+        if (response instanceof QueryResponse r) {
+            return r.count() != null ? r.count() : 0;
+        }
+        if (response instanceof ScanResponse r) {
+            return r.count() != null ? r.count() : 0;
+        }
+        if (response instanceof GetItemResponse r) {
+            return r.hasItem() && !r.item().isEmpty() ? 1 : 0;
+        }
+        if (response instanceof BatchGetItemResponse r) {
+            return r.responses().values().stream().mapToInt(List::size).sum();
+        }
+        return -1;
+    }
+
+    private record PageKey(String table, String index, Map<String, AttributeValue> key) {
+    }
+
+    private record PendingQuery(long totalItems, long atMs) {
+    }
+
+    private record Call(String operation, String table, String index, String endpoint) {
+        Tags tags() {
+            return Tags.of("operation", operation, "table", table, "index", index, "endpoint", endpoint);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.pha.inspection.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for rows read back from the columnar archive
+ */
+public class ArchiveRowsDTO {
+
+    private String entity;              // inspections, responses, pmi-responses, images, signatures
+    private String from;                // YYYY-MM (inclusive)
+    private String to;                  // YYYY-MM (inclusive)
+    private List<String> columns;
+    private List<Map<String, String>> rows;
+    private boolean truncated;          // True when more rows matched than the requested limit
+
+    public ArchiveRowsDTO() {
+    }
+
+    public ArchiveRowsDTO(String entity, String from, String to, List<String> columns,
+                          List<Map<String, String>> rows, boolean truncated) {
+        this.entity = entity;
+        this.from = from;
+        this.to = to;
+        this.columns = columns;
+        this.rows = rows;
+        this.truncated = truncated;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<Map<String, String>> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<Map<String, String>> rows) {
+        this.rows = rows;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pha.inspection.model.dto;
+
+/**
+ * DTO for one archival run (in progress or finished)
+ */
+public class ArchiveRunDTO {
+
+    private String runId;
+    private String status;              // RUNNING, COMPLETED or FAILED
+    private String startedAt;           // ISO 8601 timestamp
+    private String finishedAt;          // ISO 8601 timestamp, null while running
+    private String error;               // Only when FAILED
+    private String cutoffDate;          // YYYY-MM-DD - Closed inspections started before this date were archived
+    private int archivedInspections;
+    private int archivedItems;          // Inspections plus their child items
+    private int filesWritten;
+
+    public ArchiveRunDTO() {
+    }
+
+    public ArchiveRunDTO(String runId, String status, String startedAt, String cutoffDate) {
+        this.runId = runId;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.cutoffDate = cutoffDate;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(String finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getCutoffDate() {
+        return cutoffDate;
+    }
+
+    public void setCutoffDate(String cutoffDate) {
+        this.cutoffDate = cutoffDate;
+    }
+
+    public int getArchivedInspections() {
+        return archivedInspections;
+    }
+
+    public void setArchivedInspections(int archivedInspections) {
+        this.archivedInspections = archivedInspections;
+    }
+
+    public int getArchivedItems() {
+        return archivedItems;
+    }
+
+    public void setArchivedItems(int archivedItems) {
+        this.archivedItems = archivedItems;
+    }
+
+    public int getFilesWritten() {
+        return filesWritten;
+    }
+
+    public void setFilesWritten(int filesWritten) {
+        this.filesWritten = filesWritten;
+    }
+}
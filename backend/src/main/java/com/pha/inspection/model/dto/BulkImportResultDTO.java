@@ -0,0 +1,57 @@
+package com.pha.inspection.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the result of a bulk inspector import
+ */
+public class BulkImportResultDTO {
+
+    private int requested;
+    private int imported;
+    private List<String> importedIds;
+    private Map<String, String> rejected;   // inspectorId -> reason
+
+    public BulkImportResultDTO() {
+    }
+
+    public BulkImportResultDTO(int requested, List<String> importedIds, Map<String, String> rejected) {
+        this.requested = requested;
+        this.imported = importedIds.size();
+        this.importedIds = importedIds;
+        this.rejected = rejected;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public List<String> getImportedIds() {
+        return importedIds;
+    }
+
+    public void setImportedIds(List<String> importedIds) {
+        this.importedIds = importedIds;
+    }
+
+    public Map<String, String> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Map<String, String> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,77 @@
+package com.pha.inspection.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO for deficiency analytics response
+ */
+public class DeficiencyAnalyticsDTO {
+
+    private String from;                // YYYY-MM (inclusive)
+    private String to;                  // YYYY-MM (inclusive)
+    private String siteCode;            // Optional filter
+    private String area;                // Optional filter (inspection area name, e.g. "Kitchen")
+    private long totalDeficiencies;
+    private List<DeficiencyCategoryDTO> categories;
+
+    public DeficiencyAnalyticsDTO() {
+    }
+
+    public DeficiencyAnalyticsDTO(String from, String to, String siteCode, String area,
+                                  List<DeficiencyCategoryDTO> categories, long totalDeficiencies) {
+        this.from = from;
+        this.to = to;
+        this.siteCode = siteCode;
+        this.area = area;
+        this.categories = categories;
+        this.totalDeficiencies = totalDeficiencies;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public String getSiteCode() {
+        return siteCode;
+    }
+
+    public void setSiteCode(String siteCode) {
+        this.siteCode = siteCode;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public long getTotalDeficiencies() {
+        return totalDeficiencies;
+    }
+
+    public void setTotalDeficiencies(long totalDeficiencies) {
+        this.totalDeficiencies = totalDeficiencies;
+    }
+
+    public List<DeficiencyCategoryDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<DeficiencyCategoryDTO> categories) {
+        this.categories = categories;
+    }
+}
@@ -0,0 +1,115 @@
+package com.pha.inspection.model.dto;
+
+/**
+ * DTO for one deficiency category (serviceId + activityCode) at a site
+ */
+public class DeficiencyCategoryDTO {
+
+    private String siteCode;
+    private String serviceId;               // e.g. "100-PLUMBING"
+    private String activityCode;            // e.g. "703"
+    private long count;
+    private long urgentCount;
+    private long materialRequiredCount;
+    private long tenantChargeCount;
+    private long rrpCount;
+
+    public DeficiencyCategoryDTO() {
+    }
+
+    public DeficiencyCategoryDTO(String siteCode, String serviceId, String activityCode) {
+        this.siteCode = siteCode;
+        this.serviceId = serviceId;
+        this.activityCode = activityCode;
+    }
+
+    /**
+     * Share of deficiencies flagged urgent (0.0 - 1.0)
+     */
+    public double getUrgentShare() {
+        return share(urgentCount);
+    }
+
+    /**
+     * Share of deficiencies that require material (0.0 - 1.0)
+     */
+    public double getMaterialRequiredShare() {
+        return share(materialRequiredCount);
+    }
+
+    public double getTenantChargeShare() {
+        return share(tenantChargeCount);
+    }
+
+    public double getRrpShare() {
+        return share(rrpCount);
+    }
+
+    private double share(long part) {
+        return count > 0 ? (double) part / count : 0.0;
+    }
+
+    public String getSiteCode() {
+        return siteCode;
+    }
+
+    public void setSiteCode(String siteCode) {
+        this.siteCode = siteCode;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public String getActivityCode() {
+        return activityCode;
+    }
+
+    public void setActivityCode(String activityCode) {
+        this.activityCode = activityCode;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getUrgentCount() {
+        return urgentCount;
+    }
+
+    public void setUrgentCount(long urgentCount) {
+        this.urgentCount = urgentCount;
+    }
+
+    public long getMaterialRequiredCount() {
+        return materialRequiredCount;
+    }
+
+    public void setMaterialRequiredCount(long materialRequiredCount) {
+        this.materialRequiredCount = materialRequiredCount;
+    }
+
+    public long getTenantChargeCount() {
+        return tenantChargeCount;
+    }
+
+    public void setTenantChargeCount(long tenantChargeCount) {
+        this.tenantChargeCount = tenantChargeCount;
+    }
+
+    public long getRrpCount() {
+        return rrpCount;
+    }
+
+    public void setRrpCount(long rrpCount) {
+        this.rrpCount = rrpCount;
+    }
+}
@@ -0,0 +1,70 @@
+package com.pha.inspection.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO for an inspection together with all of its child items, fetched in one call
+ */
+public class InspectionBundleDTO {
+
+    private InspectionDTO inspection;
+    private List<ResponseDTO> responses;
+    private List<PMIResponseDTO> pmiResponses;
+    private List<InspectionImageDTO> images;
+    private List<InspectionSignatureDTO> signatures;
+
+    public InspectionBundleDTO() {
+    }
+
+    public InspectionBundleDTO(InspectionDTO inspection,
+                               List<ResponseDTO> responses,
+                               List<PMIResponseDTO> pmiResponses,
+                               List<InspectionImageDTO> images,
+                               List<InspectionSignatureDTO> signatures) {
+        this.inspection = inspection;
+        this.responses = responses;
+        this.pmiResponses = pmiResponses;
+        this.images = images;
+        this.signatures = signatures;
+    }
+
+    public InspectionDTO getInspection() {
+        return inspection;
+    }
+
+    public void setInspection(InspectionDTO inspection) {
+        this.inspection = inspection;
+    }
+
+    public List<ResponseDTO> getResponses() {
+        return responses;
+    }
+
+    public void setResponses(List<ResponseDTO> responses) {
+        this.responses = responses;
+    }
+
+    public List<PMIResponseDTO> getPmiResponses() {
+        return pmiResponses;
+    }
+
+    public void setPmiResponses(List<PMIResponseDTO> pmiResponses) {
+        this.pmiResponses = pmiResponses;
+    }
+
+    public List<InspectionImageDTO> getImages() {
+        return images;
+    }
+
+    public void setImages(List<InspectionImageDTO> images) {
+        this.images = images;
+    }
+
+    public List<InspectionSignatureDTO> getSignatures() {
+        return signatures;
+    }
+
+    public void setSignatures(List<InspectionSignatureDTO> signatures) {
+        this.signatures = signatures;
+    }
+}
@@ -0,0 +1,36 @@
+package com.pha.inspection.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the inspector listing
+ */
+public class InspectorPageDTO {
+
+    private List<InspectorDTO> inspectors;
+    private String nextCursor;      // Pass back as 'cursor' for the next page; null on the last page
+
+    public InspectorPageDTO() {
+    }
+
+    public InspectorPageDTO(List<InspectorDTO> inspectors, String nextCursor) {
+        this.inspectors = inspectors;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InspectorDTO> getInspectors() {
+        return inspectors;
+    }
+
+    public void setInspectors(List<InspectorDTO> inspectors) {
+        this.inspectors = inspectors;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
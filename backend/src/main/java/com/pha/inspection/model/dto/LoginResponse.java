@@ -8,6 +8,8 @@ public class LoginResponse {
     private String token;
     private String tokenType = "Bearer";
     private long expiresIn;
+    private String refreshToken;
+    private long refreshExpiresIn;
     private InspectorDTO inspector;
 
     public LoginResponse() {
@@ -43,6 +45,22 @@ public class LoginResponse {
         this.expiresIn = expiresIn;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+
+    public void setRefreshExpiresIn(long refreshExpiresIn) {
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
+
     public InspectorDTO getInspector() {
         return inspector;
     }
@@ -0,0 +1,54 @@
+package com.pha.inspection.model.dto;
+
+/**
+ * DTO for one bucket of the inspection trend series
+ */
+public class TrendPointDTO {
+
+    private String bucket;      // First day of the bucket (YYYY-MM-DD)
+    private String siteCode;
+    private String status;      // New, InProgress, Closed
+    private long count;         // Inspections that entered the status during the bucket
+
+    public TrendPointDTO() {
+    }
+
+    public TrendPointDTO(String bucket, String siteCode, String status, long count) {
+        this.bucket = bucket;
+        this.siteCode = siteCode;
+        this.status = status;
+        this.count = count;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getSiteCode() {
+        return siteCode;
+    }
+
+    public void setSiteCode(String siteCode) {
+        this.siteCode = siteCode;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pha.inspection.model.dto;
+
+import java.util.List;
+
+/**
+ * DTO for inspection trend (time-series) response
+ */
+public class TrendSeriesDTO {
+
+    private String granularity;     // day, week, month
+    private String from;            // YYYY-MM-DD (inclusive)
+    private String to;              // YYYY-MM-DD (inclusive)
+    private List<TrendPointDTO> points;
+
+    public TrendSeriesDTO() {
+    }
+
+    public TrendSeriesDTO(String granularity, String from, String to, List<TrendPointDTO> points) {
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+        this.points = points;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public List<TrendPointDTO> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<TrendPointDTO> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,194 @@
+package com.pha.inspection.model.entity;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnore;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.time.Instant;
+
+/**
+ * Refresh token entity for DynamoDB
+ *
+ * Only an HMAC of the token is stored, never the token itself. Tokens issued from the
+ * same login share a familyId; reusing a rotated token revokes the whole family.
+ *
+ * DynamoDB Structure:
+ * PK: REFRESH#{tokenHash}
+ * SK: METADATA
+ * GSI1PK: REFRESH#INSPECTOR#{inspectorId}
+ * GSI1SK: FAMILY#{familyId}#{createdAt}
+ * ttl: expiry in epoch seconds (DynamoDB TTL attribute)
+ */
+@DynamoDbBean
+public class RefreshToken {
+
+    private String PK;              // REFRESH#{tokenHash}
+    private String SK;              // METADATA
+    private String entityType;      // "RefreshToken"
+    private String tokenHash;       // Base64url HMAC-SHA256 of the token
+    private String inspectorId;
+    private String familyId;        // Shared by all tokens rotated from one login
+    private String createdAt;       // ISO 8601 timestamp
+    private Long ttl;               // Expiry, epoch seconds
+    private Boolean revoked;
+    private String replacedBy;      // tokenHash of the token this one was rotated into
+
+    // GSI1 attributes for listing an inspector's tokens (revocation)
+    private String GSI1PK;          // REFRESH#INSPECTOR#{inspectorId}
+    private String GSI1SK;          // FAMILY#{familyId}#{createdAt}
+
+    public RefreshToken() {
+        this.entityType = "RefreshToken";
+        this.SK = "METADATA";
+        this.revoked = false;
+        this.createdAt = Instant.now().toString();
+    }
+
+    // Partition Key
+    @DynamoDbPartitionKey
+    @DynamoDbAttribute("PK")
+    public String getPK() {
+        return PK;
+    }
+
+    public void setPK(String PK) {
+        this.PK = PK;
+    }
+
+    // Sort Key
+    @DynamoDbSortKey
+    @DynamoDbAttribute("SK")
+    public String getSK() {
+        return SK;
+    }
+
+    public void setSK(String SK) {
+        this.SK = SK;
+    }
+
+    // Entity Type
+    @DynamoDbAttribute("EntityType")
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    // Token Hash
+    @DynamoDbAttribute("tokenHash")
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+        // Automatically set PK when tokenHash is set
+        if (tokenHash != null) {
+            this.PK = "REFRESH#" + tokenHash;
+        }
+    }
+
+    // Inspector ID
+    @DynamoDbAttribute("inspectorId")
+    public String getInspectorId() {
+        return inspectorId;
+    }
+
+    public void setInspectorId(String inspectorId) {
+        this.inspectorId = inspectorId;
+    }
+
+    // Family ID
+    @DynamoDbAttribute("familyId")
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
+    // Created At
+    @DynamoDbAttribute("createdAt")
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // TTL (epoch seconds)
+    @DynamoDbAttribute("ttl")
+    public Long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Long ttl) {
+        this.ttl = ttl;
+    }
+
+    // Revoked
+    @DynamoDbAttribute("revoked")
+    public Boolean getRevoked() {
+        return revoked;
+    }
+
+    public void setRevoked(Boolean revoked) {
+        this.revoked = revoked;
+    }
+
+    // Replaced By
+    @DynamoDbAttribute("replacedBy")
+    public String getReplacedBy() {
+        return replacedBy;
+    }
+
+    public void setReplacedBy(String replacedBy) {
+        this.replacedBy = replacedBy;
+    }
+
+    // GSI1 Partition Key
+    @DynamoDbSecondaryPartitionKey(indexNames = "GSI1")
+    @DynamoDbAttribute("GSI1PK")
+    public String getGSI1PK() {
+        return GSI1PK;
+    }
+
+    public void setGSI1PK(String GSI1PK) {
+        this.GSI1PK = GSI1PK;
+    }
+
+    // GSI1 Sort Key
+    @DynamoDbSecondarySortKey(indexNames = "GSI1")
+    @DynamoDbAttribute("GSI1SK")
+    public String getGSI1SK() {
+        return GSI1SK;
+    }
+
+    public void setGSI1SK(String GSI1SK) {
+        this.GSI1SK = GSI1SK;
+    }
+
+    // Helper method to initialize GSI attributes
+    public void initializeGSI() {
+        if (this.inspectorId != null) {
+            this.GSI1PK = "REFRESH#INSPECTOR#" + this.inspectorId;
+        }
+        if (this.familyId != null) {
+            this.GSI1SK = "FAMILY#" + this.familyId + "#" + this.createdAt;
+        }
+    }
+
+    // Helper method to check expiry
+    @DynamoDbIgnore
+    public boolean isExpired() {
+        return ttl == null || Instant.now().getEpochSecond() >= ttl;
+    }
+}
@@ -0,0 +1,139 @@
+package com.pha.inspection.model.entity;
+
+import org.springframework.core.NativeDetector;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTag;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnore;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bean table schemas of the DynamoDB entities, built once and shared
+ *
+ * TableSchema.fromBean introspects the bean and generates getter/setter lambdas, which is
+ * a noticeable part of startup. Repositories and services take their schema from here, and
+ * BackendApplication calls preload() on a background thread before the Spring context
+ * starts, so the schemas are usually ready by the time the first table is created.
+ * Class initialization is thread-safe: a bean that needs a schema earlier waits for it.
+ *
+ * In a native image BeanTableSchema cannot generate its accessors (it calls LambdaMetafactory
+ * at run time), so the same schemas are built as StaticTableSchemas over reflection instead;
+ * NativeRuntimeHints registers the entities for it.
+ */
+public final class TableSchemas {
+
+    public static final TableSchema<Inspection> INSPECTION = schema(Inspection.class);
+    public static final TableSchema<InspectionResponse> RESPONSE = schema(InspectionResponse.class);
+    public static final TableSchema<PMIResponse> PMI_RESPONSE = schema(PMIResponse.class);
+    public static final TableSchema<InspectionImage> IMAGE = schema(InspectionImage.class);
+    public static final TableSchema<InspectionSignature> SIGNATURE = schema(InspectionSignature.class);
+    public static final TableSchema<Inspector> INSPECTOR = schema(Inspector.class);
+    public static final TableSchema<RefreshToken> REFRESH_TOKEN = schema(RefreshToken.class);
+
+    private TableSchemas() {
+    }
+
+    /**
+     * Build all schemas (initializes this class)
+     */
+    public static void preload() {
+        // Static initializers above do the work
+    }
+
+    private static <T> TableSchema<T> schema(Class<T> beanClass) {
+        return NativeDetector.inNativeImage() ? reflectiveSchema(beanClass) : TableSchema.fromBean(beanClass);
+    }
+
+    /**
+     * StaticTableSchema equivalent to TableSchema.fromBean for the mapping annotations the entities use:
+     * same attributes (bean properties with a getter and a setter), names, keys and index keys
+     */
+    static <T> TableSchema<T> reflectiveSchema(Class<T> beanClass) {
+        try {
+            Constructor<T> constructor = beanClass.getConstructor();
+            StaticTableSchema.Builder<T> builder = StaticTableSchema.builder(beanClass)
+                    .newItemSupplier(() -> invoke(constructor));
+
+            for (PropertyDescriptor property : Introspector.getBeanInfo(beanClass).getPropertyDescriptors()) {
+                if (property.getReadMethod() == null || property.getWriteMethod() == null
+                        || annotation(property, DynamoDbIgnore.class) != null) {
+                    continue;
+                }
+                addAttribute(builder, property);
+            }
+            return builder.build();
+        } catch (NoSuchMethodException | IntrospectionException e) {
+            throw new RuntimeException("Error creating table schema for " + beanClass.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void addAttribute(StaticTableSchema.Builder<T> builder, PropertyDescriptor property) {
+        Method getter = property.getReadMethod();
+        Method setter = property.getWriteMethod();
+        DynamoDbAttribute attribute = annotation(property, DynamoDbAttribute.class);
+        String name = attribute != null ? attribute.value() : property.getName();
+
+        List<StaticAttributeTag> tags = new ArrayList<>();
+        if (annotation(property, DynamoDbPartitionKey.class) != null) {
+            tags.add(StaticAttributeTags.primaryPartitionKey());
+        }
+        if (annotation(property, DynamoDbSortKey.class) != null) {
+            tags.add(StaticAttributeTags.primarySortKey());
+        }
+        DynamoDbSecondaryPartitionKey indexPartitionKey = annotation(property, DynamoDbSecondaryPartitionKey.class);
+        if (indexPartitionKey != null) {
+            tags.add(StaticAttributeTags.secondaryPartitionKey(Arrays.asList(indexPartitionKey.indexNames())));
+        }
+        DynamoDbSecondarySortKey indexSortKey = annotation(property, DynamoDbSecondarySortKey.class);
+        if (indexSortKey != null) {
+            tags.add(StaticAttributeTags.secondarySortKey(Arrays.asList(indexSortKey.indexNames())));
+        }
+
+        EnhancedType<Object> type = (EnhancedType<Object>) EnhancedType.of(getter.getGenericReturnType());
+        builder.addAttribute(type, a -> a.name(name)
+                .getter(item -> invoke(getter, item))
+                .setter((item, value) -> invoke(setter, item, value))
+                .tags(tags));
+    }
+
+    private static <A extends Annotation> A annotation(PropertyDescriptor property, Class<A> annotationType) {
+        A annotation = property.getReadMethod().getAnnotation(annotationType);
+        return annotation != null ? annotation : property.getWriteMethod().getAnnotation(annotationType);
+    }
+
+    private static <T> T invoke(Constructor<T> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Error creating " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Error invoking " + method, e);
+        }
+    }
+}
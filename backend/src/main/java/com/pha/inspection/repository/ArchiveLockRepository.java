@@ -0,0 +1,104 @@
+package com.pha.inspection.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Repository for the archival run lock, shared by every instance
+ *
+ * Stored in the "pha-inspections" table as a single item:
+ * - Partition Key (PK): "LOCK#ARCHIVE"
+ * - Sort Key (SK): "RUN"
+ * - lockOwner: instance and run holding the lock
+ * - leaseUntil: epoch millis after which the lock is free even if it was never released (crashed instance)
+ * - lastNightlyRun: yyyy-MM-dd of the last nightly run that took the lock
+ *
+ * The nightly cron fires on every instance; the first one to take the lock for a date runs,
+ * the others find lastNightlyRun already at that date and skip it. Manual runs only need the lease.
+ */
+@Repository
+public class ArchiveLockRepository {
+
+    private static final Map<String, AttributeValue> KEY = Map.of(
+            "PK", AttributeValue.builder().s("LOCK#ARCHIVE").build(),
+            "SK", AttributeValue.builder().s("RUN").build());
+
+    private static final String LEASE_FREE = "(attribute_not_exists(leaseUntil) OR leaseUntil < :now)";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+
+    @Autowired
+    public ArchiveLockRepository(DynamoDbClient dynamoDbClient,
+                                 @Value("${aws.dynamodb.table-name}") String tableName) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Take the lock for a run
+     *
+     * @param nightly date of the nightly run, or null for a manual run
+     * @return false if another run holds the lock, or the nightly run of that date already took it
+     */
+    public boolean acquire(String owner, Duration lease, LocalDate nightly) {
+        long now = Instant.now().toEpochMilli();
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":owner", AttributeValue.builder().s(owner).build());
+        values.put(":leaseUntil", AttributeValue.builder().n(Long.toString(now + lease.toMillis())).build());
+        values.put(":now", AttributeValue.builder().n(Long.toString(now)).build());
+        values.put(":entityType", AttributeValue.builder().s("ArchiveLock").build());
+
+        String update = "SET lockOwner = :owner, leaseUntil = :leaseUntil, EntityType = :entityType";
+        String condition = LEASE_FREE;
+        if (nightly != null) {
+            values.put(":night", AttributeValue.builder().s(nightly.toString()).build());
+            update += ", lastNightlyRun = :night";
+            condition += " AND (attribute_not_exists(lastNightlyRun) OR lastNightlyRun < :night)";
+        }
+
+        try {
+            String updateExpression = update;
+            String conditionExpression = condition;
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(KEY)
+                    .updateExpression(updateExpression)
+                    .conditionExpression(conditionExpression)
+                    .expressionAttributeValues(values));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        } catch (Exception e) {
+            throw new RuntimeException("Error acquiring archive lock", e);
+        }
+    }
+
+    /**
+     * Release the lock if this owner still holds it; lastNightlyRun is kept
+     */
+    public void release(String owner) {
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(KEY)
+                    .updateExpression("REMOVE lockOwner, leaseUntil")
+                    .conditionExpression("lockOwner = :owner")
+                    .expressionAttributeValues(Map.of(":owner", AttributeValue.builder().s(owner).build())));
+        } catch (ConditionalCheckFailedException e) {
+            // Lease expired and another run took the lock
+        } catch (Exception e) {
+            throw new RuntimeException("Error releasing archive lock", e);
+        }
+    }
+}
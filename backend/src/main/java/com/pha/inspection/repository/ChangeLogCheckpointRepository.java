@@ -0,0 +1,91 @@
+package com.pha.inspection.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Repository for change log subscriber checkpoints
+ *
+ * Stored in the "pha-inspections" table with:
+ * - Partition Key (PK): "CHECKPOINT#CHANGELOG"
+ * - Sort Key (SK): "SUBSCRIBER#{subscriber}#LOG#{logId}"
+ * - logId: change log the checkpoint belongs to (InspectionChangeDispatcher.getLogId)
+ * - lastSeq: last sequence of that log the subscriber has applied
+ * - ttl: DynamoDB TTL attribute, refreshed on every save
+ *
+ * Sequences restart with every new log (new instance or deployment), so there is one checkpoint
+ * per log: a new log starts without one instead of behind the high-water mark of an older log.
+ * Checkpoints of logs that are gone expire through the TTL.
+ */
+@Repository
+public class ChangeLogCheckpointRepository {
+
+    private static final String PK = "CHECKPOINT#CHANGELOG";
+    private static final Duration TTL = Duration.ofDays(90);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+
+    @Autowired
+    public ChangeLogCheckpointRepository(DynamoDbClient dynamoDbClient,
+                                         @Value("${aws.dynamodb.table-name}") String tableName) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Find the checkpoint of a subscriber in a change log (empty if it never saved one there)
+     */
+    public OptionalLong find(String subscriber, String logId) {
+        try {
+            GetItemResponse response = dynamoDbClient.getItem(r -> r
+                    .tableName(tableName)
+                    .key(key(subscriber, logId))
+                    .consistentRead(true));
+            AttributeValue lastSeq = response.hasItem() ? response.item().get("lastSeq") : null;
+            return lastSeq != null ? OptionalLong.of(Long.parseLong(lastSeq.n())) : OptionalLong.empty();
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding change log checkpoint", e);
+        }
+    }
+
+    /**
+     * Save a checkpoint in a change log; it only ever moves forward
+     */
+    public void save(String subscriber, String logId, long lastSequence) {
+        long ttl = Instant.now().plus(TTL).getEpochSecond();
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(key(subscriber, logId))
+                    .updateExpression("SET lastSeq = :seq, logId = :logId, #ttl = :ttl, EntityType = :entityType")
+                    .conditionExpression("attribute_not_exists(lastSeq) OR lastSeq < :seq")
+                    .expressionAttributeNames(Map.of("#ttl", "ttl"))
+                    .expressionAttributeValues(Map.of(
+                            ":seq", AttributeValue.builder().n(Long.toString(lastSequence)).build(),
+                            ":logId", AttributeValue.builder().s(logId).build(),
+                            ":ttl", AttributeValue.builder().n(Long.toString(ttl)).build(),
+                            ":entityType", AttributeValue.builder().s("ChangeLogCheckpoint").build())));
+        } catch (ConditionalCheckFailedException e) {
+            // Already at or past this sequence (e.g. saved again during a replay)
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving change log checkpoint", e);
+        }
+    }
+
+    private static Map<String, AttributeValue> key(String subscriber, String logId) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(PK).build(),
+                "SK", AttributeValue.builder().s("SUBSCRIBER#" + subscriber + "#LOG#" + logId).build());
+    }
+}
@@ -0,0 +1,302 @@
+package com.pha.inspection.repository;
+
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.model.entity.TableSchemas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory implementation of InspectionRepository (profile "inmemory")
+ *
+ * Keeps inspections in a concurrent map keyed by SO number, with secondary indexes that
+ * mirror the DynamoDB layout so lookups stay O(matches) instead of scanning:
+ * - GSI1: UNIT#{unitNumber}, ordered by INSPECTION#{soNumber}
+ * - GSI2: STATUS#{status}, ordered by DATE#{startDate}
+ * - GSI3: INSPECTOR#{inspectorId}, ordered by DATE#{startDate}
+ * - SITE#{siteCode} (no GSI in DynamoDB, where findBySiteCode is a scan)
+ * Like GSIs the indexes are sparse: items without the key attribute are not indexed.
+ *
+ * Items are copied on the way in and out (through the bean table schema), so callers get
+ * the same isolation as with DynamoDB and change events carry distinct before/after states.
+ * Writes are serialized so the map and indexes change together; reads are lock-free and
+ * re-check the index key, so a concurrent update never returns an item under a stale key.
+ *
+ * Only inspections live here - responses, PMI responses, images, signatures, inspectors,
+ * refresh tokens, change log checkpoints and the archive still use DynamoDB (pair with the
+ * "local" profile to keep them off AWS). Used for local runs, benchmarks and load tests that
+ * should measure service and serialization cost without the network.
+ */
+@Component
+@Profile("inmemory")
+public class InMemoryInspectionRepository implements InspectionRepository {
+
+    private static final TableSchema<Inspection> SCHEMA = TableSchemas.INSPECTION;
+
+    private final Map<String, Inspection> inspections = new ConcurrentHashMap<>();
+    private final SecondaryIndex byUnit = new SecondaryIndex(Inspection::getGSI1PK, Inspection::getGSI1SK);
+    private final SecondaryIndex byStatus = new SecondaryIndex(Inspection::getGSI2PK, Inspection::getGSI2SK);
+    private final SecondaryIndex byInspector = new SecondaryIndex(Inspection::getGSI3PK, Inspection::getGSI3SK);
+    private final SecondaryIndex bySiteCode = new SecondaryIndex(
+            i -> i.getSiteCode() != null ? "SITE#" + i.getSiteCode() : null, Inspection::getSoNumber);
+    private final List<SecondaryIndex> indexes = List.of(byUnit, byStatus, byInspector, bySiteCode);
+
+    private final Object writeLock = new Object();
+    private final InspectionChangeDispatcher changeDispatcher;
+
+    @Autowired
+    public InMemoryInspectionRepository(InspectionChangeDispatcher changeDispatcher) {
+        this.changeDispatcher = changeDispatcher;
+    }
+
+    @Override
+    public Inspection save(Inspection inspection) {
+        if (inspection.getSoNumber() == null) {
+            throw new RuntimeException("Error saving inspection: missing SO number");
+        }
+
+        inspection.initializeGSI();
+        inspection.setUpdatedAt(Instant.now().toString());
+        Inspection stored = copy(inspection);
+
+        Inspection previous;
+        synchronized (writeLock) {
+            previous = inspections.put(stored.getSoNumber(), stored);
+            for (SecondaryIndex index : indexes) {
+                index.remove(previous);
+                index.add(stored);
+            }
+        }
+
+        publishChange(changeType(previous, stored), stored.getSoNumber(), previous, stored);
+        return inspection;
+    }
+
+    @Override
+    public List<Inspection> saveAllIfAbsent(List<Inspection> toCreate) {
+        List<Inspection> created = new ArrayList<>();
+        for (Inspection inspection : toCreate) {
+            if (inspection.getSoNumber() == null) {
+                throw new RuntimeException("Error saving inspection: missing SO number");
+            }
+
+            inspection.initializeGSI();
+            inspection.setUpdatedAt(Instant.now().toString());
+            Inspection stored = copy(inspection);
+
+            synchronized (writeLock) {
+                if (inspections.containsKey(stored.getSoNumber())) {
+                    continue;
+                }
+                inspections.put(stored.getSoNumber(), stored);
+                for (SecondaryIndex index : indexes) {
+                    index.add(stored);
+                }
+            }
+
+            publishChange(InspectionChangeEvent.Type.INSPECTION_CREATED, stored.getSoNumber(), null, stored);
+            created.add(inspection);
+        }
+        return created;
+    }
+
+    @Override
+    public Optional<Inspection> findBySoNumber(String soNumber) {
+        return Optional.ofNullable(copy(inspections.get(soNumber)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Inspection>> findBySoNumberAsync(String soNumber) {
+        return CompletableFuture.completedFuture(findBySoNumber(soNumber));
+    }
+
+    @Override
+    public List<Inspection> findAll() {
+        List<Inspection> all = new ArrayList<>(inspections.size());
+        for (Inspection inspection : inspections.values()) {
+            all.add(copy(inspection));
+        }
+        return all;
+    }
+
+    @Override
+    public List<Inspection> findByStatus(String status) {
+        return byStatus.query("STATUS#" + status);
+    }
+
+    @Override
+    public CompletableFuture<List<Inspection>> findByStatusAsync(String status) {
+        return CompletableFuture.completedFuture(findByStatus(status));
+    }
+
+    @Override
+    public List<Inspection> findBySiteCode(String siteCode) {
+        return bySiteCode.query("SITE#" + siteCode);
+    }
+
+    @Override
+    public List<Inspection> findByInspectorId(String inspectorId) {
+        return byInspector.query("INSPECTOR#" + inspectorId);
+    }
+
+    @Override
+    public List<Inspection> findByUnitNumber(String unitNumber) {
+        return byUnit.query("UNIT#" + unitNumber);
+    }
+
+    @Override
+    public void forEachPage(String status, int pageSize, Consumer<List<Inspection>> pageConsumer) {
+        // Only SO numbers are snapshotted up front; items are copied one page at a time
+        List<String> soNumbers = status != null && !status.isEmpty()
+                ? byStatus.soNumbers("STATUS#" + status)
+                : new ArrayList<>(inspections.keySet());
+
+        List<Inspection> page = new ArrayList<>(pageSize);
+        for (String soNumber : soNumbers) {
+            Inspection inspection = inspections.get(soNumber);
+            if (inspection == null) {
+                continue;
+            }
+            page.add(copy(inspection));
+            if (page.size() == pageSize) {
+                pageConsumer.accept(page);
+                page = new ArrayList<>(pageSize);
+            }
+        }
+        if (!page.isEmpty()) {
+            pageConsumer.accept(page);
+        }
+    }
+
+    @Override
+    public void deleteBySoNumber(String soNumber) {
+        Inspection deleted;
+        synchronized (writeLock) {
+            deleted = inspections.remove(soNumber);
+            for (SecondaryIndex index : indexes) {
+                index.remove(deleted);
+            }
+        }
+        if (deleted != null) {
+            publishChange(InspectionChangeEvent.Type.INSPECTION_DELETED, soNumber, deleted, null);
+        }
+    }
+
+    @Override
+    public long count() {
+        return inspections.size();
+    }
+
+    /**
+     * Classify a save as create, update or submit from the previous item state
+     */
+    private InspectionChangeEvent.Type changeType(Inspection previous, Inspection current) {
+        if (previous == null) {
+            return InspectionChangeEvent.Type.INSPECTION_CREATED;
+        }
+        if ("Closed".equals(current.getStatus()) && !"Closed".equals(previous.getStatus())) {
+            return InspectionChangeEvent.Type.INSPECTION_SUBMITTED;
+        }
+        return InspectionChangeEvent.Type.INSPECTION_UPDATED;
+    }
+
+    private void publishChange(InspectionChangeEvent.Type type, String soNumber, Inspection before, Inspection after) {
+        changeDispatcher.publish(new InspectionChangeEvent(type, soNumber, "METADATA",
+                InspectionChangeEvent.snapshot(SCHEMA, before),
+                InspectionChangeEvent.snapshot(SCHEMA, after)));
+    }
+
+    private static Inspection copy(Inspection inspection) {
+        return inspection == null ? null : SCHEMA.mapToItem(SCHEMA.itemToMap(inspection, true));
+    }
+
+    /**
+     * Partition key -> SO numbers ordered by sort key, like a GSI projection of the keys only
+     */
+    private final class SecondaryIndex {
+
+        private final Function<Inspection, String> partitionKey;
+        private final Function<Inspection, String> sortKey;
+        private final Map<String, NavigableSet<Entry>> partitions = new ConcurrentHashMap<>();
+
+        SecondaryIndex(Function<Inspection, String> partitionKey, Function<Inspection, String> sortKey) {
+            this.partitionKey = partitionKey;
+            this.sortKey = sortKey;
+        }
+
+        // Called under writeLock
+        void add(Inspection inspection) {
+            if (inspection == null || partitionKey.apply(inspection) == null) {
+                return;
+            }
+            partitions.computeIfAbsent(partitionKey.apply(inspection), k -> new ConcurrentSkipListSet<>())
+                    .add(new Entry(sortKey.apply(inspection), inspection.getSoNumber()));
+        }
+
+        // Called under writeLock
+        void remove(Inspection inspection) {
+            if (inspection == null || partitionKey.apply(inspection) == null) {
+                return;
+            }
+            String key = partitionKey.apply(inspection);
+            NavigableSet<Entry> partition = partitions.get(key);
+            if (partition != null) {
+                partition.remove(new Entry(sortKey.apply(inspection), inspection.getSoNumber()));
+                if (partition.isEmpty()) {
+                    partitions.remove(key);
+                }
+            }
+        }
+
+        List<String> soNumbers(String key) {
+            NavigableSet<Entry> partition = partitions.get(key);
+            if (partition == null) {
+                return List.of();
+            }
+            List<String> soNumbers = new ArrayList<>(partition.size());
+            for (Entry entry : partition) {
+                soNumbers.add(entry.soNumber());
+            }
+            return soNumbers;
+        }
+
+        List<Inspection> query(String key) {
+            List<Inspection> matches = new ArrayList<>();
+            for (String soNumber : soNumbers(key)) {
+                Inspection inspection = inspections.get(soNumber);
+                if (inspection != null && key.equals(partitionKey.apply(inspection))) {
+                    matches.add(copy(inspection));
+                }
+            }
+            return matches;
+        }
+    }
+
+    private record Entry(String sortKey, String soNumber) implements Comparable<Entry> {
+
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparing(Entry::sortKey, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Entry::soNumber);
+
+        @Override
+        public int compareTo(Entry other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
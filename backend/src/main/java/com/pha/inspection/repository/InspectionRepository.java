@@ -5,11 +5,13 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Inspection entity
- * For Phase 4, uses in-memory storage
- * Will be replaced with DynamoDB implementation in later phases
+ * InspectionRepositoryImpl stores inspections in DynamoDB (default);
+ * InMemoryInspectionRepository keeps them in memory when the "inmemory" profile is active
  */
 @Repository
 public interface InspectionRepository {
@@ -19,11 +21,22 @@ public interface InspectionRepository {
      */
     Inspection save(Inspection inspection);
 
+    /**
+     * Create the inspections whose SO numbers do not exist yet; existing inspections are left unchanged.
+     * Returns the inspections that were created.
+     */
+    List<Inspection> saveAllIfAbsent(List<Inspection> inspections);
+
     /**
      * Find inspection by SO number
      */
     Optional<Inspection> findBySoNumber(String soNumber);
 
+    /**
+     * Find inspection by SO number without blocking the calling thread
+     */
+    CompletableFuture<Optional<Inspection>> findBySoNumberAsync(String soNumber);
+
     /**
      * Find all inspections
      */
@@ -34,6 +47,11 @@ public interface InspectionRepository {
      */
     List<Inspection> findByStatus(String status);
 
+    /**
+     * Find inspections by status without blocking the calling thread
+     */
+    CompletableFuture<List<Inspection>> findByStatusAsync(String status);
+
     /**
      * Find inspections by site code
      */
@@ -44,6 +62,17 @@ public interface InspectionRepository {
      */
     List<Inspection> findByInspectorId(String inspectorId);
 
+    /**
+     * Find inspections by unit number
+     */
+    List<Inspection> findByUnitNumber(String unitNumber);
+
+    /**
+     * Stream inspections page by page (optionally by status) without holding more than one page in memory.
+     * Empty pages are skipped.
+     */
+    void forEachPage(String status, int pageSize, Consumer<List<Inspection>> pageConsumer);
+
     /**
      * Delete inspection by SO number
      */
@@ -1,19 +1,37 @@
 package com.pha.inspection.repository;
 
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
 import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -26,16 +44,37 @@ import java.util.stream.Collectors;
  *
  * Note: All scan operations filter by SK="METADATA" to only return Inspection entities,
  * not related items like images, responses, or signatures that share the same PK prefix.
+ *
+ * Every save and delete publishes an InspectionChangeEvent. Saves use ReturnValues=ALL_OLD
+ * so the event carries the previous state without an extra read.
+ *
+ * saveAllIfAbsent writes with attribute_not_exists(PK) conditions. BatchWriteItem cannot carry
+ * conditions, so the puts are issued concurrently on the async client, CONDITIONAL_BATCH at a time.
+ *
+ * Active unless the "inmemory" profile selects InMemoryInspectionRepository.
  */
 @Component
+@Profile("!inmemory")
 public class InspectionRepositoryImpl implements InspectionRepository {
 
+    private static final int CONDITIONAL_BATCH = 25;
+
+    private static final Expression NOT_EXISTS = Expression.builder()
+            .expression("attribute_not_exists(PK)")
+            .build();
+
     private final DynamoDbTable<Inspection> inspectionTable;
+    private final DynamoDbAsyncTable<Inspection> asyncInspectionTable;
+    private final InspectionChangeDispatcher changeDispatcher;
 
     @Autowired
     public InspectionRepositoryImpl(DynamoDbEnhancedClient enhancedClient,
+                                    DynamoDbEnhancedAsyncClient enhancedAsyncClient,
+                                    InspectionChangeDispatcher changeDispatcher,
                                     @Value("${aws.dynamodb.table-name}") String tableName) {
-        this.inspectionTable = enhancedClient.table(tableName, TableSchema.fromBean(Inspection.class));
+        this.inspectionTable = enhancedClient.table(tableName, TableSchemas.INSPECTION);
+        this.asyncInspectionTable = enhancedAsyncClient.table(tableName, TableSchemas.INSPECTION);
+        this.changeDispatcher = changeDispatcher;
     }
 
     @Override
@@ -44,13 +83,55 @@ public class InspectionRepositoryImpl implements InspectionRepository {
             // Initialize GSI attributes (GSI1PK, GSI2PK, GSI3PK) before saving
             inspection.initializeGSI();
             inspection.setUpdatedAt(Instant.now().toString());
-            inspectionTable.putItem(inspection);
+            Inspection previous = inspectionTable.putItemWithResponse(PutItemEnhancedRequest.builder(Inspection.class)
+                    .item(inspection)
+                    .returnValues(ReturnValue.ALL_OLD)
+                    .build())
+                    .attributes();
+
+            publishChange(changeType(previous, inspection), inspection.getSoNumber(), previous, inspection);
             return inspection;
         } catch (Exception e) {
             throw new RuntimeException("Error saving inspection: " + inspection.getSoNumber(), e);
         }
     }
 
+    @Override
+    public List<Inspection> saveAllIfAbsent(List<Inspection> inspections) {
+        List<Inspection> created = new ArrayList<>();
+        for (int from = 0; from < inspections.size(); from += CONDITIONAL_BATCH) {
+            List<Inspection> batch = inspections.subList(from, Math.min(from + CONDITIONAL_BATCH, inspections.size()));
+            List<CompletableFuture<Boolean>> puts = new ArrayList<>(batch.size());
+            for (Inspection inspection : batch) {
+                inspection.initializeGSI();
+                inspection.setUpdatedAt(Instant.now().toString());
+                puts.add(asyncInspectionTable.putItem(PutItemEnhancedRequest.builder(Inspection.class)
+                                .item(inspection)
+                                .conditionExpression(NOT_EXISTS)
+                                .build())
+                        .handle((ignored, e) -> {
+                            if (e == null) {
+                                return true;
+                            }
+                            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                            if (cause instanceof ConditionalCheckFailedException) {
+                                return false;
+                            }
+                            throw new RuntimeException("Error saving inspection: " + inspection.getSoNumber(), cause);
+                        }));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (puts.get(i).join()) {
+                    Inspection inspection = batch.get(i);
+                    publishChange(InspectionChangeEvent.Type.INSPECTION_CREATED, inspection.getSoNumber(), null, inspection);
+                    created.add(inspection);
+                }
+            }
+        }
+        return created;
+    }
+
     @Override
     public Optional<Inspection> findBySoNumber(String soNumber) {
         try {
@@ -65,6 +146,19 @@ public class InspectionRepositoryImpl implements InspectionRepository {
         }
     }
 
+    @Override
+    public CompletableFuture<Optional<Inspection>> findBySoNumberAsync(String soNumber) {
+        Key key = Key.builder()
+                .partitionValue("INSPECTION#" + soNumber)
+                .sortValue("METADATA")
+                .build();
+        return asyncInspectionTable.getItem(key)
+                .thenApply(Optional::ofNullable)
+                .exceptionally(e -> {
+                    throw new RuntimeException("Error finding inspection: " + soNumber, e);
+                });
+    }
+
     @Override
     public List<Inspection> findAll() {
         try {
@@ -98,6 +192,24 @@ public class InspectionRepositoryImpl implements InspectionRepository {
         }
     }
 
+    @Override
+    public CompletableFuture<List<Inspection>> findByStatusAsync(String status) {
+        // Same GSI2 query as findByStatus, pages collected as they arrive
+        QueryEnhancedRequest query = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(
+                        Key.builder().partitionValue("STATUS#" + status).build()))
+                .build();
+
+        List<Inspection> inspections = Collections.synchronizedList(new ArrayList<>());
+        return asyncInspectionTable.index("GSI2")
+                .query(query)
+                .subscribe(page -> inspections.addAll(page.items()))
+                .thenApply(done -> inspections)
+                .exceptionally(e -> {
+                    throw new RuntimeException("Error finding inspections by status: " + status, e);
+                });
+    }
+
     @Override
     public List<Inspection> findBySiteCode(String siteCode) {
         try {
@@ -133,6 +245,58 @@ public class InspectionRepositoryImpl implements InspectionRepository {
         }
     }
 
+    @Override
+    public List<Inspection> findByUnitNumber(String unitNumber) {
+        try {
+            // Use GSI1: GSI1PK = UNIT#{unitNumber}
+            QueryEnhancedRequest query = QueryEnhancedRequest.builder()
+                    .queryConditional(QueryConditional.keyEqualTo(
+                            Key.builder().partitionValue("UNIT#" + unitNumber).build()))
+                    .build();
+
+            return inspectionTable.index("GSI1")
+                    .query(query)
+                    .stream()
+                    .flatMap(page -> page.items().stream())
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding inspections by unit: " + unitNumber, e);
+        }
+    }
+
+    @Override
+    public void forEachPage(String status, int pageSize, Consumer<List<Inspection>> pageConsumer) {
+        try {
+            // Pages are fetched lazily by the SDK iterable, so only the current page is held in memory
+            Iterable<Page<Inspection>> pages;
+            if (status != null && !status.isEmpty()) {
+                // Use GSI2: GSI2PK = STATUS#{status}
+                pages = inspectionTable.index("GSI2").query(QueryEnhancedRequest.builder()
+                        .queryConditional(QueryConditional.keyEqualTo(
+                                Key.builder().partitionValue("STATUS#" + status).build()))
+                        .limit(pageSize)
+                        .build());
+            } else {
+                // Paged scan with a server-side filter on SK = "METADATA"
+                pages = inspectionTable.scan(ScanEnhancedRequest.builder()
+                        .limit(pageSize)
+                        .filterExpression(Expression.builder()
+                                .expression("SK = :metadata")
+                                .putExpressionValue(":metadata", AttributeValue.builder().s("METADATA").build())
+                                .build())
+                        .build());
+            }
+
+            for (Page<Inspection> page : pages) {
+                if (!page.items().isEmpty()) {
+                    pageConsumer.accept(page.items());
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error paging inspections (status: " + status + ")", e);
+        }
+    }
+
     @Override
     public void deleteBySoNumber(String soNumber) {
         try {
@@ -140,7 +304,10 @@ public class InspectionRepositoryImpl implements InspectionRepository {
                     .partitionValue("INSPECTION#" + soNumber)
                     .sortValue("METADATA")
                     .build();
-            inspectionTable.deleteItem(key);
+            Inspection deleted = inspectionTable.deleteItem(key);
+            if (deleted != null) {
+                publishChange(InspectionChangeEvent.Type.INSPECTION_DELETED, soNumber, deleted, null);
+            }
         } catch (Exception e) {
             throw new RuntimeException("Error deleting inspection: " + soNumber, e);
         }
@@ -159,4 +326,24 @@ public class InspectionRepositoryImpl implements InspectionRepository {
             throw new RuntimeException("Error counting inspections", e);
         }
     }
+
+    /**
+     * Classify a save as create, update or submit from the previous item state
+     */
+    private InspectionChangeEvent.Type changeType(Inspection previous, Inspection current) {
+        if (previous == null) {
+            return InspectionChangeEvent.Type.INSPECTION_CREATED;
+        }
+        if ("Closed".equals(current.getStatus()) && !"Closed".equals(previous.getStatus())) {
+            return InspectionChangeEvent.Type.INSPECTION_SUBMITTED;
+        }
+        return InspectionChangeEvent.Type.INSPECTION_UPDATED;
+    }
+
+    private void publishChange(InspectionChangeEvent.Type type, String soNumber, Inspection before, Inspection after) {
+        TableSchema<Inspection> schema = inspectionTable.tableSchema();
+        changeDispatcher.publish(new InspectionChangeEvent(type, soNumber, "METADATA",
+                InspectionChangeEvent.snapshot(schema, before),
+                InspectionChangeEvent.snapshot(schema, after)));
+    }
 }
@@ -1,15 +1,35 @@
 package com.pha.inspection.repository;
 
 import com.pha.inspection.model.entity.Inspector;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 /**
  * Repository for Inspector operations
@@ -20,17 +40,34 @@ import java.util.Optional;
  * All inspector data is stored in the "pha-inspections" table with:
  * - Partition Key (PK): "INSPECTOR#{inspectorId}"
  * - Sort Key (SK): "METADATA"
- * - GSI1: For querying all inspectors by status/role (future enhancement)
+ * - GSI1: GSI1PK = "INSPECTORS" for listing all inspectors
  */
 @Repository
 public class InspectorRepository {
 
+    private static final int MAX_BATCH_GET = 100;
+    private static final int CONDITIONAL_BATCH = 25;
+
+    private static final Expression NOT_EXISTS = Expression.builder()
+            .expression("attribute_not_exists(PK)")
+            .build();
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbClient dynamoDbClient;
     private final DynamoDbTable<Inspector> inspectorTable;
+    private final DynamoDbAsyncTable<Inspector> asyncInspectorTable;
+    private final String tableName;
 
     @Autowired
     public InspectorRepository(DynamoDbEnhancedClient enhancedClient,
+                               DynamoDbEnhancedAsyncClient enhancedAsyncClient,
+                               DynamoDbClient dynamoDbClient,
                                @Value("${aws.dynamodb.table-name}") String tableName) {
-        this.inspectorTable = enhancedClient.table(tableName, TableSchema.fromBean(Inspector.class));
+        this.enhancedClient = enhancedClient;
+        this.dynamoDbClient = dynamoDbClient;
+        this.inspectorTable = enhancedClient.table(tableName, TableSchemas.INSPECTOR);
+        this.asyncInspectorTable = enhancedAsyncClient.table(tableName, TableSchemas.INSPECTOR);
+        this.tableName = tableName;
     }
 
     /**
@@ -54,6 +91,130 @@ public class InspectorRepository {
         }
     }
 
+    /**
+     * Find all inspectors
+     *
+     * Uses GSI1: GSI1PK = "INSPECTORS" (one partition holds every inspector)
+     */
+    public List<Inspector> findAll() {
+        try {
+            QueryEnhancedRequest query = QueryEnhancedRequest.builder()
+                    .queryConditional(QueryConditional.keyEqualTo(
+                            Key.builder().partitionValue("INSPECTORS").build()))
+                    .build();
+
+            return inspectorTable.index("GSI1")
+                    .query(query)
+                    .stream()
+                    .flatMap(page -> page.items().stream())
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding inspectors", e);
+        }
+    }
+
+    /**
+     * Find one page of inspectors, ordered by inspector ID
+     *
+     * Uses GSI1: GSI1PK = "INSPECTORS", starting after the given inspector (null for the first page).
+     * Page.lastEvaluatedKey() is null on the last page.
+     */
+    public Page<Inspector> findPage(int limit, String afterInspectorId) {
+        try {
+            QueryEnhancedRequest.Builder query = QueryEnhancedRequest.builder()
+                    .queryConditional(QueryConditional.keyEqualTo(
+                            Key.builder().partitionValue("INSPECTORS").build()))
+                    .limit(limit);
+
+            if (afterInspectorId != null) {
+                // GSI exclusive start key: base table key plus index key, all derivable from the ID
+                query.exclusiveStartKey(Map.of(
+                        "PK", AttributeValue.builder().s("INSPECTOR#" + afterInspectorId).build(),
+                        "SK", AttributeValue.builder().s("METADATA").build(),
+                        "GSI1PK", AttributeValue.builder().s("INSPECTORS").build(),
+                        "GSI1SK", AttributeValue.builder().s("INSPECTOR#" + afterInspectorId).build()));
+            }
+
+            return inspectorTable.index("GSI1")
+                    .query(query.build())
+                    .iterator()
+                    .next();
+        } catch (Exception e) {
+            throw new RuntimeException("Error listing inspectors", e);
+        }
+    }
+
+    /**
+     * Find inspectors by ID list
+     *
+     * Uses BatchGetItem in chunks of 100 keys; unprocessed keys are retried by the
+     * enhanced client's result paging. Missing IDs are simply absent from the result.
+     */
+    public List<Inspector> findByInspectorIds(Collection<String> inspectorIds) {
+        try {
+            List<String> ids = new ArrayList<>(inspectorIds);
+            List<Inspector> inspectors = new ArrayList<>(ids.size());
+
+            for (int i = 0; i < ids.size(); i += MAX_BATCH_GET) {
+                ReadBatch.Builder<Inspector> batch = ReadBatch.builder(Inspector.class)
+                        .mappedTableResource(inspectorTable);
+                for (String inspectorId : ids.subList(i, Math.min(i + MAX_BATCH_GET, ids.size()))) {
+                    batch.addGetItem(Key.builder()
+                            .partitionValue("INSPECTOR#" + inspectorId)
+                            .sortValue("METADATA")
+                            .build());
+                }
+
+                enhancedClient.batchGetItem(r -> r.readBatches(batch.build()))
+                        .resultsForTable(inspectorTable)
+                        .forEach(inspectors::add);
+            }
+            return inspectors;
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding inspectors by ID", e);
+        }
+    }
+
+    /**
+     * Create the inspectors whose IDs do not exist yet; existing inspectors are left unchanged
+     *
+     * BatchWriteItem cannot carry conditions, so each inspector is a PutItem conditional on
+     * attribute_not_exists(PK), issued concurrently on the async client, CONDITIONAL_BATCH at a time.
+     *
+     * @return the inspectors that were created
+     */
+    public List<Inspector> saveAllIfAbsent(List<Inspector> inspectors) {
+        List<Inspector> created = new ArrayList<>();
+        for (int from = 0; from < inspectors.size(); from += CONDITIONAL_BATCH) {
+            List<Inspector> batch = inspectors.subList(from, Math.min(from + CONDITIONAL_BATCH, inspectors.size()));
+            List<CompletableFuture<Boolean>> puts = new ArrayList<>(batch.size());
+            for (Inspector inspector : batch) {
+                inspector.initializeGSI();
+                puts.add(asyncInspectorTable.putItem(PutItemEnhancedRequest.builder(Inspector.class)
+                                .item(inspector)
+                                .conditionExpression(NOT_EXISTS)
+                                .build())
+                        .handle((ignored, e) -> {
+                            if (e == null) {
+                                return true;
+                            }
+                            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                            if (cause instanceof ConditionalCheckFailedException) {
+                                return false;
+                            }
+                            throw new RuntimeException("Error saving inspector: " + inspector.getInspectorId(), cause);
+                        }));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (puts.get(i).join()) {
+                    created.add(batch.get(i));
+                }
+            }
+        }
+        return created;
+    }
+
     /**
      * Save inspector
      *
@@ -75,6 +236,62 @@ public class InspectorRepository {
         }
     }
 
+    /**
+     * Replace an inspector's password hash, only if it is still the expected one
+     *
+     * Uses UpdateItem on the password attribute alone, so concurrent changes to the rest of
+     * the record (e.g. a deactivation) are never overwritten.
+     *
+     * @return false if the inspector no longer exists or its hash was changed in the meantime
+     */
+    public boolean updatePassword(String inspectorId, String expectedHash, String newHash) {
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(Map.of(
+                            "PK", AttributeValue.builder().s("INSPECTOR#" + inspectorId).build(),
+                            "SK", AttributeValue.builder().s("METADATA").build()))
+                    .updateExpression("SET #password = :newHash")
+                    .conditionExpression("#password = :oldHash")
+                    .expressionAttributeNames(Map.of("#password", "password"))
+                    .expressionAttributeValues(Map.of(
+                            ":newHash", AttributeValue.builder().s(newHash).build(),
+                            ":oldHash", AttributeValue.builder().s(expectedHash).build())));
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        } catch (Exception e) {
+            throw new RuntimeException("Error updating password for inspector: " + inspectorId, e);
+        }
+    }
+
+    /**
+     * Activate or deactivate an inspector
+     *
+     * Uses UpdateItem on the active attribute alone (conditional on the inspector existing).
+     *
+     * @return the updated inspector, or empty if it does not exist
+     */
+    public Optional<Inspector> updateActive(String inspectorId, boolean active) {
+        try {
+            UpdateItemResponse response = dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(Map.of(
+                            "PK", AttributeValue.builder().s("INSPECTOR#" + inspectorId).build(),
+                            "SK", AttributeValue.builder().s("METADATA").build()))
+                    .updateExpression("SET active = :active")
+                    .conditionExpression("attribute_exists(PK)")
+                    .expressionAttributeValues(Map.of(
+                            ":active", AttributeValue.builder().bool(active).build()))
+                    .returnValues(ReturnValue.ALL_NEW));
+            return Optional.of(inspectorTable.tableSchema().mapToItem(response.attributes()));
+        } catch (ConditionalCheckFailedException e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            throw new RuntimeException("Error updating inspector: " + inspectorId, e);
+        }
+    }
+
     /**
      * Delete inspector
      *
@@ -0,0 +1,147 @@
+package com.pha.inspection.repository;
+
+import com.pha.inspection.model.entity.RefreshToken;
+import com.pha.inspection.model.entity.TableSchemas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Repository for refresh token operations
+ *
+ * Stored in the "pha-inspections" table with:
+ * - Partition Key (PK): "REFRESH#{tokenHash}"
+ * - Sort Key (SK): "METADATA"
+ * - GSI1: "REFRESH#INSPECTOR#{inspectorId}" / "FAMILY#{familyId}#{createdAt}" for revocation
+ * - ttl: DynamoDB TTL attribute, expired tokens are removed by DynamoDB
+ */
+@Repository
+public class RefreshTokenRepository {
+
+    private final DynamoDbTable<RefreshToken> refreshTokenTable;
+
+    @Autowired
+    public RefreshTokenRepository(DynamoDbEnhancedClient enhancedClient,
+                                  @Value("${aws.dynamodb.table-name}") String tableName) {
+        this.refreshTokenTable = enhancedClient.table(tableName, TableSchemas.REFRESH_TOKEN);
+    }
+
+    /**
+     * Find refresh token by hash (single GetItem)
+     */
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        try {
+            Key key = Key.builder()
+                    .partitionValue("REFRESH#" + tokenHash)
+                    .sortValue("METADATA")
+                    .build();
+
+            return Optional.ofNullable(refreshTokenTable.getItem(r -> r.key(key).consistentRead(true)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding refresh token", e);
+        }
+    }
+
+    /**
+     * Save refresh token
+     */
+    public RefreshToken save(RefreshToken token) {
+        try {
+            token.initializeGSI();
+            refreshTokenTable.putItem(token);
+            return token;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving refresh token", e);
+        }
+    }
+
+    /**
+     * Mark a token as rotated, only if it is still active
+     *
+     * @return false if another request already rotated or revoked the token
+     */
+    public boolean markReplaced(RefreshToken token, String replacedByHash) {
+        token.setReplacedBy(replacedByHash);
+        try {
+            refreshTokenTable.putItem(PutItemEnhancedRequest.builder(RefreshToken.class)
+                    .item(token)
+                    .conditionExpression(Expression.builder()
+                            .expression("attribute_not_exists(replacedBy) AND revoked = :false")
+                            .expressionValues(Map.of(":false", AttributeValue.builder().bool(false).build()))
+                            .build())
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        } catch (Exception e) {
+            throw new RuntimeException("Error rotating refresh token", e);
+        }
+    }
+
+    /**
+     * Revoke a token by hash (UpdateItem of the revoked flag only)
+     */
+    public void revoke(String tokenHash) {
+        try {
+            RefreshToken update = new RefreshToken();
+            update.setTokenHash(tokenHash);
+            update.setCreatedAt(null);
+            update.setRevoked(true);
+
+            refreshTokenTable.updateItem(UpdateItemEnhancedRequest.builder(RefreshToken.class)
+                    .item(update)
+                    .ignoreNulls(true)
+                    .conditionExpression(Expression.builder()
+                            .expression("attribute_exists(PK)")
+                            .build())
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            // Already expired and removed by TTL
+        } catch (Exception e) {
+            throw new RuntimeException("Error revoking refresh token", e);
+        }
+    }
+
+    /**
+     * Find refresh tokens of an inspector, optionally restricted to one family
+     *
+     * Uses GSI1: GSI1PK = "REFRESH#INSPECTOR#{inspectorId}", GSI1SK begins with "FAMILY#{familyId}#"
+     */
+    public List<RefreshToken> findByInspectorId(String inspectorId, String familyId) {
+        try {
+            Key key = familyId != null
+                    ? Key.builder().partitionValue("REFRESH#INSPECTOR#" + inspectorId)
+                            .sortValue("FAMILY#" + familyId + "#").build()
+                    : Key.builder().partitionValue("REFRESH#INSPECTOR#" + inspectorId).build();
+
+            QueryEnhancedRequest query = QueryEnhancedRequest.builder()
+                    .queryConditional(familyId != null
+                            ? QueryConditional.sortBeginsWith(key)
+                            : QueryConditional.keyEqualTo(key))
+                    .build();
+
+            return refreshTokenTable.index("GSI1")
+                    .query(query)
+                    .stream()
+                    .flatMap(page -> page.items().stream())
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding refresh tokens for inspector: " + inspectorId, e);
+        }
+    }
+}
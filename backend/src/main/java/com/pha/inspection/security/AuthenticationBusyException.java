@@ -0,0 +1,16 @@
+package com.pha.inspection.security;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login cannot be admitted.
+ * Mapped to 503 Service Unavailable so clients back off and retry.
+ */
+public class AuthenticationBusyException extends RuntimeException {
+
+    public AuthenticationBusyException(String message) {
+        super(message);
+    }
+
+    public AuthenticationBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
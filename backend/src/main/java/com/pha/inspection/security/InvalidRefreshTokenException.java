@@ -0,0 +1,13 @@
+package com.pha.inspection.security;
+
+/**
+ * Thrown when a refresh token cannot be exchanged: unknown, expired, already used or revoked,
+ * or the inspector is gone or inactive.
+ * Mapped to 401 Unauthorized; any other refresh failure (e.g. DynamoDB throttling) is a 503.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -36,9 +36,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String inspectorId = tokenProvider.getInspectorIdFromToken(jwt);
+            String inspectorId = StringUtils.hasText(jwt) ? tokenProvider.getValidatedInspectorId(jwt) : null;
 
+            if (inspectorId != null) {
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(inspectorId, null, new ArrayList<>());
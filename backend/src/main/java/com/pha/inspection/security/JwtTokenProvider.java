@@ -4,26 +4,51 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT Token Provider for generating and validating JWT tokens
+ *
+ * The signing key and parser are derived once at startup. Verified tokens are cached
+ * (keyed by the SHA-256 of the token, never the token itself) until they expire, so
+ * repeated requests with the same token skip signature verification.
  */
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpirationMs;
+    private final long jwtExpirationMs;
+    private final int cacheMaxEntries;
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    // SHA-256(token) -> verified subject and expiry
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpirationMs,
+                            @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
 
     /**
      * Generate JWT token for inspector
@@ -32,8 +57,6 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .setSubject(inspectorId)
                 .setIssuedAt(now)
@@ -43,33 +66,31 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Get inspector ID from JWT token
+     * Validate the token and return its inspector ID, or null if the token is invalid or expired
+     *
+     * Used by the authentication filter so each request needs at most one parse.
      */
-    public String getInspectorIdFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String getValidatedInspectorId(String token) {
+        if (token == null || token.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
 
-        return claims.getSubject();
-    }
+        String cacheKey = cacheKey(token);
+        VerifiedToken cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            if (System.currentTimeMillis() < cached.expiresAtMs) {
+                return cached.inspectorId;
+            }
+            verifiedTokens.remove(cacheKey);
+            logger.error("Expired JWT token");
+            return null;
+        }
 
-    /**
-     * Validate JWT token
-     */
-    public boolean validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            cache(cacheKey, claims);
+            return claims.getSubject();
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -81,7 +102,25 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Get inspector ID from JWT token
+     */
+    public String getInspectorIdFromToken(String token) {
+        String inspectorId = getValidatedInspectorId(token);
+        if (inspectorId == null) {
+            throw new JwtException("Invalid or expired JWT token");
+        }
+        return inspectorId;
+    }
+
+    /**
+     * Validate JWT token
+     */
+    public boolean validateToken(String token) {
+        return getValidatedInspectorId(token) != null;
     }
 
     /**
@@ -90,4 +129,41 @@ public class JwtTokenProvider {
     public long getExpirationMs() {
         return jwtExpirationMs;
     }
+
+    private void cache(String cacheKey, Claims claims) {
+        if (cacheMaxEntries <= 0 || claims.getExpiration() == null || claims.getSubject() == null) {
+            return;
+        }
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            evict();
+        }
+        verifiedTokens.put(cacheKey, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, drop arbitrary entries down to 90% of capacity
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(token -> token.expiresAtMs <= now);
+
+        int target = cacheMaxEntries - Math.max(1, cacheMaxEntries / 10);
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(String inspectorId, long expiresAtMs) {
+    }
 }
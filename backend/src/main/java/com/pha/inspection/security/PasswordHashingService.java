@@ -0,0 +1,193 @@
+package com.pha.inspection.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Password Hashing Service
+ * Runs BCrypt on a dedicated, core-sized pool so login storms cannot starve the request threads
+ *
+ * The pool has a bounded queue; when it is full new work is rejected immediately with
+ * AuthenticationBusyException (503) instead of queueing behind minutes of hashing.
+ *
+ * Metrics:
+ * - auth.password.hash (timer, tag operation=matches|encode): time spent hashing
+ * - auth.password.queue.depth (gauge): tasks waiting for a hashing thread
+ * - auth.password.rejected (counter): requests rejected because the pool was full
+ */
+@Component
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${auth.bcrypt.strength:10}") int strength,
+                                  @Value("${auth.bcrypt.pool-size:0}") int poolSize,
+                                  @Value("${auth.bcrypt.queue-capacity:64}") int queueCapacity,
+                                  @Value("${auth.bcrypt.timeout-ms:10000}") long timeoutMs) {
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .description("Time spent verifying BCrypt password hashes")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .description("Time spent computing BCrypt password hashes")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Password hashing requests rejected because the pool was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+
+        logger.info("Password hashing pool started - threads: {}, queue capacity: {}, bcrypt strength: {}",
+                threads, queueCapacity, strength);
+    }
+
+    /**
+     * Verify a raw password against a stored BCrypt hash
+     *
+     * @throws AuthenticationBusyException if the pool is saturated or the check times out
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword))));
+    }
+
+    /**
+     * Hash a raw password with the configured strength
+     *
+     * @throws AuthenticationBusyException if the pool is saturated or hashing times out
+     */
+    public String encode(String rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    /**
+     * Hash many passwords in parallel on the pool, in result order
+     *
+     * At most one task per pool thread is queued at a time, so a bulk import never fills the
+     * queue and logins keep being admitted while it runs.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        int window = executor.getCorePoolSize();
+
+        for (int i = 0; i < rawPasswords.size(); i += window) {
+            List<Future<String>> futures = new ArrayList<>(window);
+            for (String rawPassword : rawPasswords.subList(i, Math.min(i + window, rawPasswords.size()))) {
+                futures.add(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+            }
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * True when the stored hash was computed with a different cost than auth.bcrypt.strength
+     */
+    public boolean needsRehash(String encodedPassword) {
+        // $2a$10$... - cost is the two digits after the version prefix
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Re-hash a verified password in the background with the current strength
+     *
+     * Best effort: skipped (not rejected) when the pool is busy, the next login will try again.
+     */
+    public void rehashAsync(String rawPassword, Consumer<String> onRehashed) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+                } catch (RuntimeException e) {
+                    logger.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Password hashing pool busy, skipping rehash");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new AuthenticationBusyException("Authentication service is busy, please retry", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new AuthenticationBusyException("Authentication timed out, please retry", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationBusyException("Authentication interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.pha.inspection.seed;
+
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.repository.InspectionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mock Data Seeder
+ * Loads the mock inspections on startup for development and demo environments
+ *
+ * Only active with the "seed" profile, or "inmemory" (which starts empty); without them
+ * startup does no seeding at all, and seed.mock-data.enabled=false skips it under them.
+ *
+ * The mock inspections have fixed SO numbers (FIRST_SO_NUMBER to LAST_SO_NUMBER) and are
+ * created with saveAllIfAbsent, so restarts and instances starting together leave existing
+ * items alone instead of duplicating or overwriting them. Nothing is read, counted or scanned.
+ * inspection.so-number-start defaults to LAST_SO_NUMBER, so inspections created through the
+ * API never reuse a mock SO number.
+ */
+@Component
+@Profile({"seed", "inmemory"})
+public class MockDataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockDataSeeder.class);
+
+    public static final long FIRST_SO_NUMBER = 3184948;
+    public static final long LAST_SO_NUMBER = 3184962;
+
+    private final InspectionRepository inspectionRepository;
+    private final boolean enabled;
+
+    @Autowired
+    public MockDataSeeder(InspectionRepository inspectionRepository,
+                          @Value("${seed.mock-data.enabled:true}") boolean enabled) {
+        this.inspectionRepository = inspectionRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("Mock data seeding disabled");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Inspection> inspections = mockInspections();
+        int created = inspectionRepository.saveAllIfAbsent(inspections).size();
+        logger.info("Mock data seeded in {}ms - {} inspections created, {} already present",
+                System.currentTimeMillis() - start, created, inspections.size() - created);
+    }
+
+    /**
+     * 15 mock inspections across different sites and statuses
+     */
+    static List<Inspection> mockInspections() {
+        List<Inspection> inspections = new ArrayList<>();
+        inspections.add(mockInspection(inspections.size(), "041529", "901", "Haddington", "123 Main St, Unit 041529", "D1", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-02"));
+        inspections.add(mockInspection(inspections.size(), "041530", "901", "Haddington", "125 Main St, Unit 041530", "D1", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-02"));
+        inspections.add(mockInspection(inspections.size(), "041531", "901", "Haddington", "127 Main St, Unit 041531", "D1", "INS002", "CASTOR_USER6", "R", "InProgress", "2025-05-01"));
+
+        inspections.add(mockInspection(inspections.size(), "042001", "902", "Mantua", "200 Oak St, Unit 042001", "D1", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-03"));
+        inspections.add(mockInspection(inspections.size(), "042002", "902", "Mantua", "202 Oak St, Unit 042002", "D1", "INS002", "CASTOR_USER6", "R", "Closed", "2025-04-28"));
+
+        inspections.add(mockInspection(inspections.size(), "050001", "903", "Strawberry Mansion", "300 Pine St, Unit 050001", "D2", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-04"));
+        inspections.add(mockInspection(inspections.size(), "050002", "903", "Strawberry Mansion", "302 Pine St, Unit 050002", "D2", "INS003", "CASTOR_USER7", "S", "InProgress", "2025-05-02"));
+        inspections.add(mockInspection(inspections.size(), "050003", "903", "Strawberry Mansion", "304 Pine St, Unit 050003", "D2", "INS003", "CASTOR_USER7", "S", "Closed", "2025-04-25"));
+
+        inspections.add(mockInspection(inspections.size(), "060001", "801", "Queen Lane", "400 Elm St, Unit 060001", "D3", "INS002", "CASTOR_USER6", "R", "New", "2025-05-05"));
+        inspections.add(mockInspection(inspections.size(), "060002", "801", "Queen Lane", "402 Elm St, Unit 060002", "D3", "INS002", "CASTOR_USER6", "R", "InProgress", "2025-05-03"));
+        inspections.add(mockInspection(inspections.size(), "060003", "801", "Queen Lane", "404 Elm St, Unit 060003", "D3", "INS001", "CASTOR_USER5", "Q", "Closed", "2025-04-20"));
+
+        inspections.add(mockInspection(inspections.size(), "070001", "701", "Martin Luther King", "500 Maple St, Unit 070001", "D4", "INS003", "CASTOR_USER7", "S", "New", "2025-05-06"));
+        inspections.add(mockInspection(inspections.size(), "070002", "701", "Martin Luther King", "502 Maple St, Unit 070002", "D4", "INS003", "CASTOR_USER7", "S", "InProgress", "2025-05-04"));
+        inspections.add(mockInspection(inspections.size(), "070003", "701", "Martin Luther King", "504 Maple St, Unit 070003", "D4", "INS002", "CASTOR_USER6", "R", "Closed", "2025-04-18"));
+        inspections.add(mockInspection(inspections.size(), "070004", "701", "Martin Luther King", "506 Maple St, Unit 070004", "D4", "INS001", "CASTOR_USER5", "Q", "Closed", "2025-04-15"));
+        return inspections;
+    }
+
+    private static Inspection mockInspection(int index, String unitNumber, String siteCode, String siteName,
+                                             String address, String divisionCode, String inspectorId,
+                                             String inspectorName, String vehicleTagId, String status,
+                                             String startDate) {
+        Inspection inspection = new Inspection();
+        inspection.setSoNumber(String.valueOf(FIRST_SO_NUMBER + index));
+        inspection.setUnitNumber(unitNumber);
+        inspection.setSiteCode(siteCode);
+        inspection.setSiteName(siteName);
+        inspection.setAddress(address);
+        inspection.setDivisionCode(divisionCode);
+        inspection.setTenantName("Tenant " + unitNumber);
+        inspection.setTenantPhone("+1215555" + unitNumber.substring(unitNumber.length() - 4));
+        inspection.setTenantAvailability(true);
+        inspection.setBrSize(2);
+        inspection.setIsHardwired(false);
+        inspection.setInspectorId(inspectorId);
+        inspection.setInspectorName(inspectorName);
+        inspection.setVehicleTagId(vehicleTagId);
+        inspection.setStatus(status);
+        inspection.setStartDate(startDate);
+        inspection.setStartTime("08:30:00");
+
+        if ("Closed".equals(status)) {
+            inspection.setEndDate(startDate);
+            inspection.setEndTime("09:30:00");
+            inspection.setCompletionDate(startDate);
+            inspection.setSubmitTime(startDate + "T09:30:00Z");
+            inspection.setSmokeDetectorsCount(5);
+            inspection.setCoDetectorsCount(3);
+        } else if ("InProgress".equals(status)) {
+            inspection.setSmokeDetectorsCount(5);
+            inspection.setCoDetectorsCount(3);
+        }
+
+        inspection.initializeGSI();
+        return inspection;
+    }
+}
@@ -0,0 +1,64 @@
+package com.pha.inspection.service;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes an answer that is already known (cached or stubbed) as a fixed list of parts,
+ * honouring the subscriber's demand, and completes done when the last part is delivered
+ */
+class AnswerPartsPublisher implements Publisher<String> {
+
+    private final List<String> parts;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    AnswerPartsPublisher(List<String> parts) {
+        this.parts = parts;
+    }
+
+    CompletableFuture<Void> done() {
+        return done;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super String> subscriber) {
+        subscriber.onSubscribe(new Subscription() {
+            private long demand;
+            private int next;
+            private boolean stopped;
+
+            @Override
+            public synchronized void request(long n) {
+                if (stopped) {
+                    return;
+                }
+                if (n <= 0) {
+                    stopped = true;
+                    subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                    done.completeExceptionally(new IllegalArgumentException("Non-positive request: " + n));
+                    return;
+                }
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                while (demand > 0 && next < parts.size() && !stopped) {
+                    demand--;
+                    subscriber.onNext(parts.get(next++));
+                }
+                if (next == parts.size() && !stopped) {
+                    stopped = true;
+                    subscriber.onComplete();
+                    done.complete(null);
+                }
+            }
+
+            @Override
+            public synchronized void cancel() {
+                stopped = true;
+                done.cancel(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,647 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.archive.ColumnarFileReader;
+import com.pha.inspection.archive.ColumnarFileWriter;
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
+import com.pha.inspection.model.dto.ArchiveRowsDTO;
+import com.pha.inspection.model.dto.ArchiveRunDTO;
+import com.pha.inspection.model.dto.DashboardFilterDTO;
+import com.pha.inspection.model.dto.DashboardSummaryDTO;
+import com.pha.inspection.model.dto.SiteSummaryDTO;
+import com.pha.inspection.repository.ArchiveLockRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Archive Service
+ * Moves old Closed inspections out of the hot table into compressed columnar files
+ *
+ * An archival run queries GSI2 (STATUS#Closed) for inspections started before the cutoff,
+ * reads each inspection partition (metadata, responses, PMI responses, image metadata and
+ * signatures), writes the rows to one columnar file per entity type and completion month,
+ * forces the files to disk and only then removes the items with batched deletes.
+ *
+ * Directory layout:
+ * - {archive.directory}/{entity}/dt={yyyy-MM}/part-{runStartMillis}-{batch}.phacol
+ *
+ * Runs are nightly (archive.cron) or started through POST /archive/run, which returns at once
+ * and archives on a background thread; only when archive.enabled is true. Only one run at a time
+ * across all instances (ArchiveLockRepository), and the nightly cron, which fires on every
+ * instance, runs once per night. The state of the last few runs is kept for GET /archive/runs/{runId}.
+ *
+ * Archived items are deleted from the table, so the archive directory must be a persistent
+ * volume: with archive.enabled the service refuses to start unless archive.durable-directory
+ * confirms it is.
+ *
+ * Rows keep every stored attribute as a string. Archived items are removed with
+ * BatchWriteItem directly (not through the services), so the change log records one
+ * INSPECTION_ARCHIVED event per inspection and the incremental rollups keep their history.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final int MAX_BATCH_WRITE = 25;
+    private static final int MAX_DELETE_ATTEMPTS = 8;
+    private static final int RECENT_RUNS = 20;
+
+    // Sort key prefix -> entity (archive subdirectory)
+    private static final Map<String, String> ENTITY_BY_SK_PREFIX = new LinkedHashMap<>();
+
+    static {
+        ENTITY_BY_SK_PREFIX.put("METADATA", "inspections");
+        ENTITY_BY_SK_PREFIX.put("RESPONSE#", "responses");
+        ENTITY_BY_SK_PREFIX.put("PMI#", "pmi-responses");
+        ENTITY_BY_SK_PREFIX.put("IMAGE#", "images");
+        ENTITY_BY_SK_PREFIX.put("SIGNATURE#", "signatures");
+    }
+
+    private final DynamoDbClient dynamoDbClient;
+    private final InspectionChangeDispatcher changeDispatcher;
+    private final ArchiveLockRepository lockRepository;
+    private final String tableName;
+    private final Path directory;
+    private final int minAgeDays;
+    private final int batchSize;
+    private final ZoneId zoneId;
+    private final Duration lockLease;
+    private final boolean enabled;
+
+    // Identifies this instance's runs in the shared lock
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive-run");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Run ID -> latest state of the most recent runs
+    private final Map<String, ArchiveRunDTO> recentRuns = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArchiveRunDTO> eldest) {
+            return size() > RECENT_RUNS;
+        }
+    });
+
+    @Autowired
+    public ArchiveService(DynamoDbClient dynamoDbClient,
+                          InspectionChangeDispatcher changeDispatcher,
+                          ArchiveLockRepository lockRepository,
+                          @Value("${aws.dynamodb.table-name}") String tableName,
+                          @Value("${archive.directory:./data/archive}") String directory,
+                          @Value("${archive.durable-directory:false}") boolean durableDirectory,
+                          @Value("${archive.min-age-days:365}") int minAgeDays,
+                          @Value("${archive.batch-size:100}") int batchSize,
+                          @Value("${archive.zone-id:America/New_York}") String zoneId,
+                          @Value("${archive.lock-lease-minutes:360}") long lockLeaseMinutes,
+                          @Value("${archive.enabled:false}") boolean enabled) {
+        if (enabled && !durableDirectory) {
+            throw new IllegalStateException("archive.enabled requires archive.durable-directory=true: archived items "
+                    + "are deleted from DynamoDB, so " + directory + " must be a persistent volume");
+        }
+        this.dynamoDbClient = dynamoDbClient;
+        this.changeDispatcher = changeDispatcher;
+        this.lockRepository = lockRepository;
+        this.tableName = tableName;
+        this.directory = Paths.get(directory);
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+        this.zoneId = ZoneId.of(zoneId);
+        this.lockLease = Duration.ofMinutes(lockLeaseMinutes);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Nightly archival run (only when archive.enabled is true, and on one instance per night)
+     */
+    @Scheduled(cron = "${archive.cron:0 30 2 * * *}", zone = "${archive.zone-id:America/New_York}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ArchiveRunDTO run;
+            try {
+                run = beginRun(LocalDate.now(zoneId));
+            } catch (IllegalStateException e) {
+                logger.info("Scheduled archival run skipped: {}", e.getMessage());
+                return;
+            }
+            archive(run);
+        } catch (RuntimeException e) {
+            logger.error("Scheduled archival run failed", e);
+        }
+    }
+
+    /**
+     * Start archiving in the background
+     *
+     * @return the run (RUNNING); its result is available from getRun
+     * @throws IllegalStateException if archiving is disabled or a run is already in progress
+     */
+    public ArchiveRunDTO startArchive() {
+        if (!enabled) {
+            throw new IllegalStateException("Archiving is disabled (archive.enabled is false)");
+        }
+
+        ArchiveRunDTO run = beginRun(null);
+        try {
+            runExecutor.execute(() -> {
+                try {
+                    archive(run);
+                } catch (RuntimeException e) {
+                    logger.error("Archival run {} failed", run.getRunId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            endRun(Long.parseLong(run.getRunId()));
+            throw new IllegalStateException("Archival runs are shutting down");
+        }
+        return run;
+    }
+
+    /**
+     * Archive every Closed inspection started more than archive.min-age-days ago, on the calling thread
+     */
+    public ArchiveRunDTO archiveClosedInspections() {
+        return archive(beginRun(null));
+    }
+
+    /**
+     * Latest state of a recent run
+     */
+    public Optional<ArchiveRunDTO> getRun(String runId) {
+        return Optional.ofNullable(recentRuns.get(runId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // A run in progress finishes its current batch only if the JVM is still up; it is not interrupted
+        runExecutor.shutdown();
+    }
+
+    /**
+     * Claim the run on this instance, then across instances
+     *
+     * @param nightly date of the nightly run, or null for a manual run
+     * @throws IllegalStateException if a run is in progress, or the nightly run of that date already ran
+     */
+    private ArchiveRunDTO beginRun(LocalDate nightly) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An archival run is already in progress");
+        }
+
+        long runId = System.currentTimeMillis();
+        boolean locked;
+        try {
+            locked = lockRepository.acquire(lockOwner(runId), lockLease, nightly);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        if (!locked) {
+            running.set(false);
+            throw new IllegalStateException(nightly != null
+                    ? "The archival run of " + nightly + " already ran or another run is in progress"
+                    : "An archival run is already in progress on another instance");
+        }
+
+        LocalDate cutoff = LocalDate.now(zoneId).minusDays(minAgeDays);
+        ArchiveRunDTO run = new ArchiveRunDTO(Long.toString(runId), "RUNNING",
+                Instant.ofEpochMilli(runId).toString(), cutoff.toString());
+        recentRuns.put(run.getRunId(), run);
+        return run;
+    }
+
+    /**
+     * Archive the Closed inspections started before the run's cutoff, then release the run
+     */
+    private ArchiveRunDTO archive(ArchiveRunDTO run) {
+        ArchiveRunDTO result = new ArchiveRunDTO(run.getRunId(), "FAILED", run.getStartedAt(), run.getCutoffDate());
+
+        try {
+            LocalDate cutoff = LocalDate.parse(run.getCutoffDate());
+            long runId = Long.parseLong(run.getRunId());
+            logger.info("Archival run {} - archiving Closed inspections started before {}", runId, cutoff);
+
+            int inspections = 0;
+            int items = 0;
+            int files = 0;
+            int batch = 0;
+            Map<String, AttributeValue> startKey = null;
+
+            do {
+                QueryRequest.Builder request = QueryRequest.builder()
+                        .tableName(tableName)
+                        .indexName("GSI2")
+                        .keyConditionExpression("GSI2PK = :status AND GSI2SK < :cutoff")
+                        .expressionAttributeValues(Map.of(
+                                ":status", AttributeValue.builder().s("STATUS#Closed").build(),
+                                ":cutoff", AttributeValue.builder().s("DATE#" + cutoff).build()))
+                        .limit(batchSize);
+                if (startKey != null) {
+                    request.exclusiveStartKey(startKey);
+                }
+
+                QueryResponse page = dynamoDbClient.query(request.build());
+                List<String> soNumbers = new ArrayList<>(page.count());
+                for (Map<String, AttributeValue> key : page.items()) {
+                    soNumbers.add(key.get("PK").s().substring("INSPECTION#".length()));
+                }
+
+                if (!soNumbers.isEmpty()) {
+                    int[] counts = archiveBatch(soNumbers, cutoff, runId, batch++);
+                    inspections += counts[0];
+                    items += counts[1];
+                    files += counts[2];
+                }
+
+                startKey = page.hasLastEvaluatedKey() && !page.lastEvaluatedKey().isEmpty()
+                        ? page.lastEvaluatedKey() : null;
+            } while (startKey != null);
+
+            logger.info("Archival run {} complete - {} inspections, {} items, {} files", runId, inspections, items, files);
+            result.setStatus("COMPLETED");
+            result.setArchivedInspections(inspections);
+            result.setArchivedItems(items);
+            result.setFilesWritten(files);
+            return result;
+        } catch (RuntimeException e) {
+            result.setError(e.getMessage());
+            throw e;
+        } finally {
+            result.setFinishedAt(Instant.now().toString());
+            recentRuns.put(result.getRunId(), result);
+            endRun(Long.parseLong(run.getRunId()));
+        }
+    }
+
+    /**
+     * Release the shared lock (it expires after archive.lock-lease-minutes if this fails) and the local flag
+     */
+    private void endRun(long runId) {
+        try {
+            lockRepository.release(lockOwner(runId));
+        } catch (RuntimeException e) {
+            logger.warn("Could not release the archive lock of run {}: {}", runId, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private String lockOwner(long runId) {
+        return instanceId + "#" + runId;
+    }
+
+    /**
+     * Read rows back from the archive, decompressing only the requested columns
+     *
+     * @param entity   inspections, responses, pmi-responses, images or signatures
+     * @param columns  columns to return, or empty for every column
+     * @param siteCode optional - inspections only
+     * @param area     optional - inspections only (SS = 9xx, CS = 8xx, AMPB = 7xx, PAPMC = 6xx)
+     */
+    public ArchiveRowsDTO queryArchive(String entity, YearMonth from, YearMonth to, List<String> columns,
+                                       String siteCode, String area, int limit) {
+        logger.info("Querying archive - entity: {}, from: {}, to: {}, columns: {}, siteCode: {}, area: {}, limit: {}",
+                entity, from, to, columns, siteCode, area, limit);
+
+        if (!ENTITY_BY_SK_PREFIX.containsValue(entity)) {
+            throw new IllegalArgumentException("Invalid entity. Must be one of " + ENTITY_BY_SK_PREFIX.values());
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("'limit' must be positive");
+        }
+        boolean filtered = (siteCode != null && !siteCode.isEmpty()) || (area != null && !area.isEmpty());
+        if (filtered && !"inspections".equals(entity)) {
+            throw new IllegalArgumentException("siteCode and area filters only apply to inspections");
+        }
+
+        List<String> requested = columns == null || columns.isEmpty() ? null : columns;
+        Set<String> readColumns = null;
+        if (requested != null) {
+            readColumns = new LinkedHashSet<>(requested);
+            if (filtered) {
+                readColumns.add("siteCode");
+            }
+        }
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        boolean truncated = false;
+
+        for (Path file : archiveFiles(entity, from, to)) {
+            for (Map<String, String> row : readFile(file, readColumns)) {
+                if (filtered && !matchesSite(row.get("siteCode"), siteCode, area)) {
+                    continue;
+                }
+                if (rows.size() == limit) {
+                    truncated = true;
+                    break;
+                }
+                if (requested != null && !requested.contains("siteCode")) {
+                    row.remove("siteCode");
+                }
+                rows.add(row);
+            }
+            if (truncated) {
+                break;
+            }
+        }
+
+        logger.info("Archive query returned {} rows", rows.size());
+        return new ArchiveRowsDTO(entity, from.toString(), to.toString(), requested, rows, truncated);
+    }
+
+    /**
+     * Historical dashboard summary (Closed counts per site) over archived months
+     */
+    public DashboardSummaryDTO getArchivedSummary(YearMonth from, YearMonth to, String siteCode, String area) {
+        logger.info("Getting archived summary - from: {}, to: {}, siteCode: {}, area: {}", from, to, siteCode, area);
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        Map<String, String> siteNames = new TreeMap<>();
+        Map<String, Integer> closedBySite = new HashMap<>();
+        List<String> columns = List.of("siteCode", "siteName");
+
+        for (Path file : archiveFiles("inspections", from, to)) {
+            for (Map<String, String> row : readFile(file, columns)) {
+                String rowSite = row.get("siteCode");
+                if (rowSite == null || !matchesSite(rowSite, siteCode, area)) {
+                    continue;
+                }
+                siteNames.putIfAbsent(rowSite, row.getOrDefault("siteName", ""));
+                closedBySite.merge(rowSite, 1, Integer::sum);
+            }
+        }
+
+        List<SiteSummaryDTO> sites = new ArrayList<>(siteNames.size());
+        siteNames.forEach((code, name) -> sites.add(new SiteSummaryDTO(code, name, 0, 0, closedBySite.get(code))));
+
+        return new DashboardSummaryDTO(new DashboardFilterDTO(area, null, null, siteCode), sites);
+    }
+
+    /**
+     * Archive one page of candidates; returns {inspections, items, files}
+     */
+    private int[] archiveBatch(List<String> soNumbers, LocalDate cutoff, long runId, int batch) {
+        // dt=yyyy-MM -> entity -> rows
+        Map<String, Map<String, List<Map<String, String>>>> partitions = new TreeMap<>();
+        List<Map<String, AttributeValue>> keys = new ArrayList<>();
+        List<Map<String, String>> archived = new ArrayList<>();
+
+        for (String soNumber : soNumbers) {
+            List<Map<String, AttributeValue>> items = queryPartition(soNumber);
+
+            Map<String, AttributeValue> metadata = items.stream()
+                    .filter(item -> "METADATA".equals(item.get("SK").s()))
+                    .findFirst()
+                    .orElse(null);
+            if (metadata == null || !metadata.containsKey("status") || !"Closed".equals(metadata.get("status").s())) {
+                continue;
+            }
+
+            String completionDate = stringValue(metadata.get("completionDate"));
+            String partitionDate = completionDate != null ? completionDate : stringValue(metadata.get("startDate"));
+            if (partitionDate == null
+                    || (completionDate != null && !LocalDate.parse(completionDate).isBefore(cutoff))) {
+                continue;
+            }
+            String partition = "dt=" + partitionDate.substring(0, 7);
+
+            for (Map<String, AttributeValue> item : items) {
+                String entity = entityFor(item.get("SK").s());
+                if (entity == null) {
+                    continue;
+                }
+                Map<String, String> row = toRow(item);
+                partitions.computeIfAbsent(partition, p -> new TreeMap<>())
+                        .computeIfAbsent(entity, e -> new ArrayList<>())
+                        .add(row);
+                keys.add(Map.of("PK", item.get("PK"), "SK", item.get("SK")));
+                if ("inspections".equals(entity)) {
+                    archived.add(row);
+                }
+            }
+        }
+
+        if (archived.isEmpty()) {
+            return new int[]{0, 0, 0};
+        }
+
+        int files = 0;
+        try {
+            for (Map.Entry<String, Map<String, List<Map<String, String>>>> partition : partitions.entrySet()) {
+                for (Map.Entry<String, List<Map<String, String>>> entity : partition.getValue().entrySet()) {
+                    Path file = directory.resolve(entity.getKey()).resolve(partition.getKey())
+                            .resolve("part-" + runId + "-" + batch + ColumnarFileWriter.FILE_SUFFIX);
+                    ColumnarFileWriter.write(file, entity.getValue());
+                    files++;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error writing archive files for batch {}", batch, e);
+            throw new RuntimeException("Failed to write archive files", e);
+        }
+
+        // Files are durable - safe to remove the items from the table
+        deleteItems(keys);
+
+        for (Map<String, String> inspection : archived) {
+            changeDispatcher.publish(new InspectionChangeEvent(InspectionChangeEvent.Type.INSPECTION_ARCHIVED,
+                    inspection.get("soNumber"), "METADATA", inspection, null));
+        }
+
+        logger.info("Archived batch {} - {} inspections, {} items", batch, archived.size(), keys.size());
+        return new int[]{archived.size(), keys.size(), files};
+    }
+
+    /**
+     * Read every item of one inspection partition
+     */
+    private List<Map<String, AttributeValue>> queryPartition(String soNumber) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        Map<String, AttributeValue> startKey = null;
+
+        do {
+            QueryRequest.Builder request = QueryRequest.builder()
+                    .tableName(tableName)
+                    .keyConditionExpression("PK = :pk")
+                    .expressionAttributeValues(Map.of(
+                            ":pk", AttributeValue.builder().s("INSPECTION#" + soNumber).build()))
+                    .consistentRead(true);
+            if (startKey != null) {
+                request.exclusiveStartKey(startKey);
+            }
+
+            QueryResponse response = dynamoDbClient.query(request.build());
+            items.addAll(response.items());
+            startKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                    ? response.lastEvaluatedKey() : null;
+        } while (startKey != null);
+
+        return items;
+    }
+
+    /**
+     * Delete items in BatchWriteItem chunks of 25, retrying unprocessed items with backoff
+     */
+    private void deleteItems(List<Map<String, AttributeValue>> keys) {
+        for (int i = 0; i < keys.size(); i += MAX_BATCH_WRITE) {
+            List<WriteRequest> pending = new ArrayList<>();
+            for (Map<String, AttributeValue> key : keys.subList(i, Math.min(i + MAX_BATCH_WRITE, keys.size()))) {
+                pending.add(WriteRequest.builder()
+                        .deleteRequest(DeleteRequest.builder().key(key).build())
+                        .build());
+            }
+
+            for (int attempt = 0; !pending.isEmpty(); attempt++) {
+                if (attempt == MAX_DELETE_ATTEMPTS) {
+                    throw new RuntimeException("Failed to delete " + pending.size() + " archived items after "
+                            + MAX_DELETE_ATTEMPTS + " attempts");
+                }
+                if (attempt > 0) {
+                    sleep(50L << Math.min(attempt, 6));
+                }
+
+                BatchWriteItemResponse response = dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
+                        .requestItems(Map.of(tableName, pending))
+                        .build());
+                pending = response.unprocessedItems().getOrDefault(tableName, List.of());
+            }
+        }
+    }
+
+    /**
+     * Archive files for an entity between two months (inclusive), in month then file name order
+     */
+    private List<Path> archiveFiles(String entity, YearMonth from, YearMonth to) {
+        List<Path> files = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            Path partition = directory.resolve(entity).resolve("dt=" + month);
+            if (!Files.isDirectory(partition)) {
+                continue;
+            }
+            try (Stream<Path> listing = Files.list(partition)) {
+                listing.filter(path -> path.getFileName().toString().endsWith(ColumnarFileWriter.FILE_SUFFIX))
+                        .sorted()
+                        .forEach(files::add);
+            } catch (IOException e) {
+                logger.error("Error listing archive partition {}", partition, e);
+                throw new RuntimeException("Failed to read archive", e);
+            }
+        }
+        return files;
+    }
+
+    private List<Map<String, String>> readFile(Path file, Collection<String> columns) {
+        try {
+            return ColumnarFileReader.read(file, columns);
+        } catch (IOException e) {
+            logger.error("Error reading archive file {}", file, e);
+            throw new RuntimeException("Failed to read archive", e);
+        }
+    }
+
+    private static String entityFor(String sortKey) {
+        for (Map.Entry<String, String> entry : ENTITY_BY_SK_PREFIX.entrySet()) {
+            if (sortKey.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> toRow(Map<String, AttributeValue> item) {
+        Map<String, String> row = new LinkedHashMap<>();
+        item.forEach((name, value) -> {
+            String text = stringValue(value);
+            if (text != null) {
+                row.put(name, text);
+            }
+        });
+        return row;
+    }
+
+    private static String stringValue(AttributeValue value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.s() != null) {
+            return value.s();
+        }
+        if (value.n() != null) {
+            return value.n();
+        }
+        if (value.bool() != null) {
+            return value.bool().toString();
+        }
+        return null;
+    }
+
+    private static boolean matchesSite(String rowSite, String siteCode, String area) {
+        if (siteCode != null && !siteCode.isEmpty() && !siteCode.equals(rowSite)) {
+            return false;
+        }
+        if (area == null || area.isEmpty()) {
+            return true;
+        }
+        if (rowSite == null || rowSite.isEmpty()) {
+            return false;
+        }
+        char firstChar = rowSite.charAt(0);
+        return switch (area) {
+            case "SS" -> firstChar == '9';
+            case "CS" -> firstChar == '8';
+            case "AMPB" -> firstChar == '7';
+            case "PAPMC" -> firstChar == '6';
+            default -> true;
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while deleting archived items", e);
+        }
+    }
+}
@@ -23,6 +23,7 @@ public class AreaService {
     // In-memory storage for Phase 5
     private final Map<String, InspectionArea> areas = new LinkedHashMap<>();
     private final Map<String, List<InspectionItem>> itemsByArea = new LinkedHashMap<>();
+    private final Map<String, String> areaNameByItemId = new HashMap<>();
 
     public AreaService() {
         initializeMockData();
@@ -56,6 +57,13 @@ public class AreaService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the area an inspection item belongs to (e.g. "K001" -> "Kitchen")
+     */
+    public Optional<String> findAreaNameByItemId(String itemId) {
+        return Optional.ofNullable(areaNameByItemId.get(itemId));
+    }
+
     private AreaDTO convertToAreaDTO(InspectionArea area) {
         return new AreaDTO(area.getAreaName(), area.getSortOrder(), area.getIsActive());
     }
@@ -161,5 +169,6 @@ public class AreaService {
     private void createItem(String areaName, String itemId, String description, int sortOrder) {
         InspectionItem item = new InspectionItem(areaName, itemId, description, sortOrder);
         itemsByArea.get(areaName).add(item);
+        areaNameByItemId.put(itemId, areaName);
     }
 }
@@ -6,14 +6,12 @@ import com.pha.inspection.model.dto.LoginResponse;
 import com.pha.inspection.model.entity.Inspector;
 import com.pha.inspection.repository.InspectorRepository;
 import com.pha.inspection.security.JwtTokenProvider;
+import com.pha.inspection.security.PasswordHashingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 /**
  * Authentication Service
  * Handles login and authentication logic
@@ -29,25 +27,21 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
-    // In-memory storage for Phase 2 testing (will be replaced with DynamoDB in Phase 3)
-    private final java.util.Map<String, Inspector> inMemoryInspectors = new java.util.HashMap<>();
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private InspectorDirectory inspectorDirectory;
 
     /**
      * Authenticate inspector and generate JWT token
      */
     public LoginResponse login(LoginRequest loginRequest) {
-        Inspector inspector = null;
-
-        // Try in-memory first (for Phase 2 testing)
-        inspector = inMemoryInspectors.get(loginRequest.getInspectorId());
-
-        // If not found in memory and DynamoDB is available, try DynamoDB
-        if (inspector == null && inspectorRepository != null) {
-            Optional<Inspector> inspectorOpt = inspectorRepository.findByInspectorId(loginRequest.getInspectorId());
-            inspector = inspectorOpt.orElse(null);
-        }
+        // Cached directory, falls back to DynamoDB on miss
+        Inspector inspector = inspectorDirectory.findByInspectorId(loginRequest.getInspectorId()).orElse(null);
 
         if (inspector == null) {
             throw new RuntimeException("Inspector not found: " + loginRequest.getInspectorId());
@@ -58,11 +52,19 @@ public class AuthService {
             throw new RuntimeException("Inspector account is inactive");
         }
 
-        // Verify password
-        if (!passwordEncoder.matches(loginRequest.getPassword(), inspector.getPassword())) {
+        // Verify password (on the bounded hashing pool, not the request thread)
+        if (!passwordHashingService.matches(loginRequest.getPassword(), inspector.getPassword())) {
             throw new RuntimeException("Invalid credentials");
         }
 
+        // Transparently upgrade hashes computed with a different BCrypt cost
+        if (passwordHashingService.needsRehash(inspector.getPassword())) {
+            // Runs on the hashing pool: never touch the cached (shared) Inspector from there
+            String inspectorId = inspector.getInspectorId();
+            String oldHash = inspector.getPassword();
+            passwordHashingService.rehashAsync(loginRequest.getPassword(), newHash -> rehash(inspectorId, oldHash, newHash));
+        }
+
         // Generate JWT token
         String token = tokenProvider.generateToken(inspector.getInspectorId());
 
@@ -80,12 +82,53 @@ public class AuthService {
                 tokenProvider.getExpirationMs(),
                 inspectorDTO
         );
+        response.setRefreshToken(refreshTokenService.issue(inspector.getInspectorId()));
+        response.setRefreshExpiresIn(refreshTokenService.getRefreshExpirationMs());
 
         logger.info("Inspector logged in successfully: {}", inspector.getInspectorId());
 
         return response;
     }
 
+    /**
+     * Store an upgraded password hash
+     *
+     * Only the password attribute is written, and only while it still holds the hash that was
+     * verified, so a stale cached record can never undo other changes to the inspector.
+     * The directory then gets a fresh copy of the stored record.
+     */
+    private void rehash(String inspectorId, String oldHash, String newHash) {
+        if (inspectorRepository == null) {
+            inspectorDirectory.findByInspectorId(inspectorId)
+                    .filter(cached -> oldHash.equals(cached.getPassword()))
+                    .ifPresent(cached -> inspectorDirectory.put(copyWithPassword(cached, newHash)));
+            return;
+        }
+
+        if (!inspectorRepository.updatePassword(inspectorId, oldHash, newHash)) {
+            // Changed or removed in the meantime; let the next login reload it
+            inspectorDirectory.evict(inspectorId);
+            logger.info("Password of inspector {} changed concurrently, rehash skipped", inspectorId);
+            return;
+        }
+
+        inspectorRepository.findByInspectorId(inspectorId).ifPresentOrElse(
+                inspectorDirectory::put,
+                () -> inspectorDirectory.evict(inspectorId));
+        logger.info("Rehashed password for inspector: {}", inspectorId);
+    }
+
+    private static Inspector copyWithPassword(Inspector inspector, String password) {
+        Inspector copy = new Inspector();
+        copy.setInspectorId(inspector.getInspectorId());
+        copy.setName(inspector.getName());
+        copy.setVehicleTagId(inspector.getVehicleTagId());
+        copy.setActive(inspector.getActive());
+        copy.setCreatedAt(inspector.getCreatedAt());
+        copy.setPassword(password);
+        return copy;
+    }
+
     /**
      * Create a new inspector (for testing purposes)
      * This would normally be done through an admin interface
@@ -94,12 +137,12 @@ public class AuthService {
         Inspector inspector = new Inspector();
         inspector.setInspectorId(inspectorId);
         inspector.setName(name);
-        inspector.setPassword(passwordEncoder.encode(password));
+        inspector.setPassword(passwordHashingService.encode(password));
         inspector.setVehicleTagId(vehicleTagId);
         inspector.setActive(true);
 
-        // Store in memory for Phase 2
-        inMemoryInspectors.put(inspectorId, inspector);
+        // Visible to logins immediately, even if the DynamoDB write below fails
+        inspectorDirectory.put(inspector);
 
         // Also save to DynamoDB if available
         if (inspectorRepository != null) {
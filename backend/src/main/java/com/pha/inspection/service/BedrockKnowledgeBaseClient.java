@@ -0,0 +1,86 @@
+package com.pha.inspection.service;
+
+import org.reactivestreams.Subscriber;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClient;
+import software.amazon.awssdk.services.bedrockagentruntime.model.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bedrock knowledge base (retrieve and generate)
+ * Lazy, like BedrockConfig: the Bedrock clients are created on the first chatbot query
+ */
+@Component
+@Lazy
+@Profile("!chatbot-stub")
+public class BedrockKnowledgeBaseClient implements KnowledgeBaseClient {
+
+    private final BedrockAgentRuntimeClient bedrockClient;
+    private final BedrockAgentRuntimeAsyncClient bedrockAsyncClient;
+
+    @Value("${bedrock.knowledge-base-id}")
+    private String knowledgeBaseId;
+
+    @Value("${bedrock.model-arn}")
+    private String modelArn;
+
+    @Autowired
+    public BedrockKnowledgeBaseClient(BedrockAgentRuntimeClient bedrockClient,
+                                      BedrockAgentRuntimeAsyncClient bedrockAsyncClient) {
+        this.bedrockClient = bedrockClient;
+        this.bedrockAsyncClient = bedrockAsyncClient;
+    }
+
+    @Override
+    public String retrieveAndGenerate(String question) {
+        RetrieveAndGenerateRequest request = RetrieveAndGenerateRequest.builder()
+                .input(input(question))
+                .retrieveAndGenerateConfiguration(configuration())
+                .build();
+
+        return bedrockClient.retrieveAndGenerate(request).output().text();
+    }
+
+    /**
+     * Only the generated text is passed on; citation and guardrail events are dropped
+     * (filtering requests the next event, so demand is preserved)
+     */
+    @Override
+    public CompletableFuture<Void> retrieveAndGenerateStream(String question, Subscriber<String> answerParts) {
+        RetrieveAndGenerateStreamRequest request = RetrieveAndGenerateStreamRequest.builder()
+                .input(input(question))
+                .retrieveAndGenerateConfiguration(configuration())
+                .build();
+
+        return bedrockAsyncClient.retrieveAndGenerateStream(request,
+                RetrieveAndGenerateStreamResponseHandler.builder()
+                        .onEventStream(events -> events
+                                .filter(event -> event instanceof RetrieveAndGenerateOutputEvent output
+                                        && output.text() != null)
+                                .map(event -> ((RetrieveAndGenerateOutputEvent) event).text())
+                                .subscribe(answerParts))
+                        .build());
+    }
+
+    private RetrieveAndGenerateInput input(String question) {
+        return RetrieveAndGenerateInput.builder()
+                .text(question)
+                .build();
+    }
+
+    private RetrieveAndGenerateConfiguration configuration() {
+        return RetrieveAndGenerateConfiguration.builder()
+                .type(RetrieveAndGenerateType.KNOWLEDGE_BASE)
+                .knowledgeBaseConfiguration(KnowledgeBaseRetrieveAndGenerateConfiguration.builder()
+                        .knowledgeBaseId(knowledgeBaseId)
+                        .modelArn(modelArn)
+                        .build())
+                .build();
+    }
+}
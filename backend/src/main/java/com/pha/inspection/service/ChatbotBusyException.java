@@ -0,0 +1,12 @@
+package com.pha.inspection.service;
+
+/**
+ * Thrown when the maximum number of concurrent chatbot streams is reached.
+ * Mapped to 503 Service Unavailable so clients back off and retry.
+ */
+public class ChatbotBusyException extends RuntimeException {
+
+    public ChatbotBusyException(String message) {
+        super(message);
+    }
+}
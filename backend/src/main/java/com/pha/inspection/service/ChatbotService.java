@@ -1,49 +1,260 @@
 package com.pha.inspection.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClient;
-import software.amazon.awssdk.services.bedrockagentruntime.model.*;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Chatbot Service
+ * Answers questions from the knowledge base (Bedrock retrieve and generate, see KnowledgeBaseClient)
+ *
+ * Lazy, like BedrockConfig, and injected lazily into ChatbotController: it is rarely used,
+ * so it and the Bedrock client are created on the first query instead of at startup.
+ *
+ * Answers are cached by normalized question (case, punctuation and spacing ignored) for
+ * chatbot.cache.ttl-seconds, up to chatbot.cache.max-entries. Identical questions asked while
+ * one is being answered wait for that answer instead of calling Bedrock again, for at most
+ * chatbot.query.timeout-ms (the same bound BedrockConfig puts on the call itself). Streamed answers
+ * are served from and added to the same cache, but each uncached stream makes its own call.
+ *
+ * streamQuery answers through the async client (retrieveAndGenerateStream) and passes the
+ * answer on as it is generated, without holding a request thread while the model runs. At most
+ * chatbot.stream.max-concurrent streams run at once; further ones are rejected with
+ * ChatbotBusyException. Listener calls run on virtual threads, so a slow client only blocks
+ * its own stream.
+ */
 @Service
+@Lazy
 public class ChatbotService {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatbotService.class);
 
-    private final BedrockAgentRuntimeClient bedrockClient;
+    private final KnowledgeBaseClient knowledgeBase;
+    private final Semaphore streamPermits;
+    private final ExecutorService streamDeliveryExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chatbot-stream-", 0).factory());
+
+    private final long cacheTtlMs;
+    private final int cacheMaxEntries;
+    private final long queryTimeoutMs;
 
-    @Value("${bedrock.knowledge-base-id}")
-    private String knowledgeBaseId;
+    // Normalized question -> answer
+    private final Map<String, CachedAnswer> answers = new ConcurrentHashMap<>();
+    // Normalized question -> answer of the knowledge base call in progress
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
 
-    @Value("${bedrock.model-arn}")
-    private String modelArn;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter coalesced;
+    private final Timer savedLatency;
+    private final Timer queryLatency;
+    private final Timer streamLatency;
 
-    public ChatbotService(BedrockAgentRuntimeClient bedrockClient) {
-        this.bedrockClient = bedrockClient;
+    public ChatbotService(KnowledgeBaseClient knowledgeBase,
+                          MeterRegistry meterRegistry,
+                          @Value("${chatbot.stream.max-concurrent:20}") int maxConcurrentStreams,
+                          @Value("${chatbot.cache.ttl-seconds:3600}") long cacheTtlSeconds,
+                          @Value("${chatbot.cache.max-entries:1000}") int cacheMaxEntries,
+                          @Value("${chatbot.query.timeout-ms:60000}") long queryTimeoutMs) {
+        this.knowledgeBase = knowledgeBase;
+        this.streamPermits = new Semaphore(maxConcurrentStreams);
+        this.cacheTtlMs = TimeUnit.SECONDS.toMillis(cacheTtlSeconds);
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.queryTimeoutMs = queryTimeoutMs;
+
+        this.cacheHits = cacheRequests(meterRegistry, "hit");
+        this.cacheMisses = cacheRequests(meterRegistry, "miss");
+        this.coalesced = cacheRequests(meterRegistry, "coalesced");
+        this.savedLatency = Timer.builder("chatbot.cache.saved")
+                .description("Knowledge base latency avoided by cache hits (the original call's duration)")
+                .register(meterRegistry);
+        this.queryLatency = upstreamLatency(meterRegistry, "query");
+        this.streamLatency = upstreamLatency(meterRegistry, "stream");
+        Gauge.builder("chatbot.cache.size", answers, Map::size)
+                .description("Cached chatbot answers")
+                .register(meterRegistry);
     }
 
     public String query(String question) {
         logger.info("Chatbot query: {}", question);
+        String key = normalize(question);
+
+        CachedAnswer cached = cachedAnswer(key);
+        if (cached != null) {
+            return hit(cached);
+        }
+
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            logger.info("Chatbot query joined an identical query in progress");
+            try {
+                // Time out a copy: the shared future is completed by the call in progress only
+                return existing.copy().orTimeout(queryTimeoutMs, TimeUnit.MILLISECONDS).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    throw new RuntimeException("Timed out waiting for an identical chatbot query in progress", e.getCause());
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            // The previous call for this question may have finished since the lookup above
+            cached = cachedAnswer(key);
+            if (cached != null) {
+                call.complete(cached.answer());
+                return hit(cached);
+            }
+
+            cacheMisses.increment();
+            long start = System.nanoTime();
+            String answer = knowledgeBase.retrieveAndGenerate(question);
+            long upstreamMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            queryLatency.record(upstreamMs, TimeUnit.MILLISECONDS);
+            cache(key, answer, upstreamMs);
+            call.complete(answer);
+
+            logger.info("Chatbot response received in {}ms, length: {}", upstreamMs, answer.length());
+            return answer;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Stream the answer to a question to the listener as it is generated (a cached answer in one part).
+     * The returned stream can be cancelled, e.g. when the client disconnects.
+     *
+     * @throws ChatbotBusyException if chatbot.stream.max-concurrent streams are already running
+     */
+    public ChatbotStream streamQuery(String question, ChatbotStreamListener listener) {
+        String key = normalize(question);
+        CachedAnswer cached = cachedAnswer(key);
+        if (cached != null) {
+            logger.info("Chatbot stream query answered from cache: {}", question);
+            hit(cached);
+            AnswerPartsPublisher publisher = new AnswerPartsPublisher(List.of(cached.answer()));
+            ChatbotStream stream = new ChatbotStream(listener, streamDeliveryExecutor, () -> { }, answer -> { });
+            publisher.subscribe(stream);
+            stream.attach(publisher.done());
+            return stream;
+        }
+
+        if (!streamPermits.tryAcquire()) {
+            throw new ChatbotBusyException("Too many chatbot answers in progress, please retry");
+        }
+        logger.info("Chatbot stream query: {}", question);
+        cacheMisses.increment();
+
+        long start = System.nanoTime();
+        ChatbotStream stream = new ChatbotStream(listener, streamDeliveryExecutor, streamPermits::release, answer -> {
+            long upstreamMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            streamLatency.record(upstreamMs, TimeUnit.MILLISECONDS);
+            cache(key, answer, upstreamMs);
+        });
+        try {
+            stream.attach(knowledgeBase.retrieveAndGenerateStream(question, stream));
+            return stream;
+        } catch (RuntimeException e) {
+            stream.cancel();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamDeliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Cache key of a question: lower case, punctuation and repeated whitespace removed
+     */
+    static String normalize(String question) {
+        return question.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private String hit(CachedAnswer cached) {
+        cacheHits.increment();
+        savedLatency.record(cached.upstreamMs(), TimeUnit.MILLISECONDS);
+        return cached.answer();
+    }
+
+    private CachedAnswer cachedAnswer(String key) {
+        CachedAnswer cached = answers.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() < cached.expiresAtMs()) {
+            return cached;
+        }
+        answers.remove(key, cached);
+        return null;
+    }
+
+    private void cache(String key, String answer, long upstreamMs) {
+        if (cacheMaxEntries <= 0 || answer == null || answer.isEmpty()) {
+            return;
+        }
+        if (answers.size() >= cacheMaxEntries) {
+            evict();
+        }
+        answers.put(key, new CachedAnswer(answer, upstreamMs, System.currentTimeMillis() + cacheTtlMs));
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, drop arbitrary entries down to 90% of capacity
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        answers.values().removeIf(cached -> cached.expiresAtMs() <= now);
+
+        int target = cacheMaxEntries - Math.max(1, cacheMaxEntries / 10);
+        Iterator<String> keys = answers.keySet().iterator();
+        while (answers.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static Counter cacheRequests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chatbot.cache.requests")
+                .description("Chatbot questions by cache result (hit, miss, coalesced with a call in progress)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer upstreamLatency(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("chatbot.upstream")
+                .description("Knowledge base calls made for cache misses")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
 
-        RetrieveAndGenerateRequest request = RetrieveAndGenerateRequest.builder()
-                .input(RetrieveAndGenerateInput.builder()
-                        .text(question)
-                        .build())
-                .retrieveAndGenerateConfiguration(RetrieveAndGenerateConfiguration.builder()
-                        .type(RetrieveAndGenerateType.KNOWLEDGE_BASE)
-                        .knowledgeBaseConfiguration(KnowledgeBaseRetrieveAndGenerateConfiguration.builder()
-                                .knowledgeBaseId(knowledgeBaseId)
-                                .modelArn(modelArn)
-                                .build())
-                        .build())
-                .build();
-
-        RetrieveAndGenerateResponse response = bedrockClient.retrieveAndGenerate(request);
-        String answer = response.output().text();
-
-        logger.info("Chatbot response received, length: {}", answer.length());
-        return answer;
+    private record CachedAnswer(String answer, long upstreamMs, long expiresAtMs) {
     }
 }
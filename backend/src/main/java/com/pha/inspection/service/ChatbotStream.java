@@ -0,0 +1,154 @@
+package com.pha.inspection.service;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One streamed chatbot answer
+ *
+ * Subscribes to the answer parts from the KnowledgeBaseClient and hands each one to the listener
+ * on the delivery executor, one at a time and in order. Demand is one part: the next part is only
+ * requested once the listener has handled the previous one, so the SDK never buffers more
+ * than Bedrock has in flight for a slow client.
+ *
+ * cancel() (client disconnected or timed out) cancels the subscription and the Bedrock call.
+ * The stream finishes exactly once - completed, failed or cancelled - and then runs onFinish,
+ * which releases its concurrency permit. A completed answer is also passed to onAnswer (whole).
+ */
+public class ChatbotStream implements Subscriber<String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatbotStream.class);
+
+    private final ChatbotStreamListener listener;
+    private final Executor deliveryExecutor;
+    private final Runnable onFinish;
+    private final Consumer<String> onAnswer;
+    private final StringBuilder answer = new StringBuilder();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private volatile boolean cancelled;
+    private volatile Subscription subscription;
+    private volatile CompletableFuture<Void> call;
+
+    // Tail of the delivery chain: listener calls run strictly one after another
+    private CompletableFuture<Void> delivery = CompletableFuture.completedFuture(null);
+    private int tokens;
+
+    ChatbotStream(ChatbotStreamListener listener, Executor deliveryExecutor,
+                  Runnable onFinish, Consumer<String> onAnswer) {
+        this.listener = listener;
+        this.deliveryExecutor = deliveryExecutor;
+        this.onFinish = onFinish;
+        this.onAnswer = onAnswer;
+    }
+
+    /**
+     * Track the upstream call: errors it completes with (before or instead of the event stream) fail the stream
+     */
+    void attach(CompletableFuture<Void> call) {
+        this.call = call;
+        call.whenComplete((result, error) -> {
+            if (error != null) {
+                enqueue(() -> finish(error));
+            }
+        });
+        if (cancelled) {
+            call.cancel(true);
+        }
+    }
+
+    /**
+     * Stop the stream without notifying the listener (the client is gone)
+     */
+    public void cancel() {
+        cancelled = true;
+        Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        CompletableFuture<Void> currentCall = call;
+        if (currentCall != null) {
+            currentCall.cancel(true);
+        }
+        if (finished.compareAndSet(false, true)) {
+            onFinish.run();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled) {
+            subscription.cancel();
+        } else {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onNext(String part) {
+        enqueue(() -> deliver(part));
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        enqueue(() -> finish(error));
+    }
+
+    @Override
+    public void onComplete() {
+        enqueue(() -> finish(null));
+    }
+
+    private void deliver(String part) {
+        if (cancelled || finished.get()) {
+            return;
+        }
+        try {
+            listener.onToken(part);
+            answer.append(part);
+            tokens++;
+        } catch (Exception e) {
+            logger.info("Chatbot stream cancelled after {} parts: {}", tokens, e.getMessage());
+            cancel();
+            return;
+        }
+        subscription.request(1);
+    }
+
+    private void finish(Throwable error) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (error == null) {
+                logger.info("Chatbot stream completed, {} parts", tokens);
+                onAnswer.accept(answer.toString());
+                listener.onComplete();
+            } else {
+                logger.error("Chatbot stream failed after {} parts: {}", tokens, error.getMessage());
+                listener.onError(error);
+            }
+        } finally {
+            onFinish.run();
+        }
+    }
+
+    private synchronized void enqueue(Runnable task) {
+        delivery = delivery.thenRunAsync(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Keep the chain alive so the stream still finishes
+                logger.error("Chatbot stream delivery failed", e);
+            }
+        }, deliveryExecutor);
+    }
+}
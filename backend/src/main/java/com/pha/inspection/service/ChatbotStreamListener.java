@@ -0,0 +1,28 @@
+package com.pha.inspection.service;
+
+/**
+ * Receiver of a streamed chatbot answer
+ *
+ * Calls are made one at a time on the stream's delivery thread, in order. The next part of the
+ * answer is only requested from Bedrock after onToken returns, so a blocking write to a slow
+ * client holds back the model output instead of buffering it.
+ */
+public interface ChatbotStreamListener {
+
+    /**
+     * Handle the next part of the generated answer
+     *
+     * @throws Exception to cancel the stream (e.g. the client disconnected)
+     */
+    void onToken(String text) throws Exception;
+
+    /**
+     * The answer is complete
+     */
+    void onComplete();
+
+    /**
+     * The query failed; no further calls follow
+     */
+    void onError(Throwable error);
+}
@@ -4,19 +4,14 @@ import com.pha.inspection.model.dto.DashboardFilterDTO;
 import com.pha.inspection.model.dto.DashboardSummaryDTO;
 import com.pha.inspection.model.dto.SiteSummaryDTO;
 import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.repository.InspectionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -28,80 +23,78 @@ public class DashboardService {
 
     private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
 
-    private final DynamoDbTable<Inspection> inspectionTable;
-    private final DynamoDbIndex<Inspection> gsi2; // STATUS#New/InProgress/Closed → DATE#
+    private final InspectionRepository inspectionRepository;
 
     @Autowired
-    public DashboardService(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        this.inspectionTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchema.fromBean(Inspection.class));
-        this.gsi2 = inspectionTable.index("GSI2");
-        logger.info("DashboardService initialized with DynamoDB table: pha-inspections");
+    public DashboardService(InspectionRepository inspectionRepository) {
+        this.inspectionRepository = inspectionRepository;
     }
 
     /**
      * Get dashboard summary with filters
+     *
+     * Completes once all status partitions are loaded; the controller returns the future,
+     * so no request thread waits on DynamoDB
      */
-    public DashboardSummaryDTO getDashboardSummary(DashboardFilterDTO filters) {
+    public CompletableFuture<DashboardSummaryDTO> getDashboardSummary(DashboardFilterDTO filters) {
         logger.info("Getting dashboard summary with filters: area={}, year={}, month={}, siteCode={}",
                 filters.getArea(), filters.getYear(), filters.getMonth(), filters.getSiteCode());
 
-        try {
-            // Get all inspections (or filtered by status if needed)
-            List<Inspection> allInspections = getAllInspections();
+        // Get all inspections (or filtered by status if needed)
+        return getAllInspections()
+                .thenApply(allInspections -> {
+                    // Apply filters and aggregate by site
+                    List<SiteSummaryDTO> siteSummaries = aggregateBySite(allInspections, filters);
 
-            // Apply filters and aggregate by site
-            List<SiteSummaryDTO> siteSummaries = aggregateBySite(allInspections, filters);
+                    logger.info("Dashboard summary generated with {} sites", siteSummaries.size());
 
-            logger.info("Dashboard summary generated with {} sites", siteSummaries.size());
-
-            // Create and return summary
-            return new DashboardSummaryDTO(filters, siteSummaries);
-        } catch (Exception e) {
-            logger.error("Error getting dashboard summary", e);
-            throw new RuntimeException("Failed to get dashboard summary", e);
-        }
+                    // Create and return summary
+                    return new DashboardSummaryDTO(filters, siteSummaries);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error getting dashboard summary", e);
+                    throw new RuntimeException("Failed to get dashboard summary", e);
+                });
     }
 
     /**
      * Get all inspections from DynamoDB
+     * The three status partitions are queried concurrently on the async client and
+     * combined when the last one completes; nothing blocks while the pages stream in
      */
-    private List<Inspection> getAllInspections() {
-        List<Inspection> allInspections = new ArrayList<>();
-
-        try {
-            // Query GSI2 for all statuses
-            String[] statuses = {"New", "InProgress", "Closed"};
-
-            for (String status : statuses) {
-                QueryConditional queryConditional = QueryConditional.keyEqualTo(Key.builder()
-                        .partitionValue("STATUS#" + status)
-                        .build());
-
-                QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
-                        .queryConditional(queryConditional)
-                        .build();
+    private CompletableFuture<List<Inspection>> getAllInspections() {
+        // Query GSI2 for all statuses
+        String[] statuses = {"New", "InProgress", "Closed"};
 
-                List<Inspection> statusInspections = gsi2.query(queryRequest).stream()
-                        .flatMap(page -> page.items().stream())
-                        .collect(Collectors.toList());
-
-                allInspections.addAll(statusInspections);
-                logger.debug("Found {} inspections with status: {}", statusInspections.size(), status);
-            }
-
-            logger.info("Total inspections loaded: {}", allInspections.size());
-        } catch (Exception e) {
-            logger.error("Error loading inspections from DynamoDB", e);
+        List<CompletableFuture<List<Inspection>>> queries = new ArrayList<>(statuses.length);
+        for (String status : statuses) {
+            queries.add(inspectionRepository.findByStatusAsync(status));
         }
 
-        return allInspections;
+        return CompletableFuture.allOf(queries.toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    List<Inspection> allInspections = new ArrayList<>();
+                    for (int i = 0; i < statuses.length; i++) {
+                        List<Inspection> statusInspections = queries.get(i).join();
+                        allInspections.addAll(statusInspections);
+                        logger.debug("Found {} inspections with status: {}", statusInspections.size(), statuses[i]);
+                    }
+
+                    logger.info("Total inspections loaded: {}", allInspections.size());
+                    return allInspections;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error loading inspections from DynamoDB", e);
+                    return new ArrayList<>();
+                });
     }
 
     /**
      * Aggregate inspections by site and apply filters
      * Filters by: area (site code prefix), year, month, and specific siteCode
+     * Static and package-private so the JMH benchmarks can call it without DynamoDB
      */
-    private List<SiteSummaryDTO> aggregateBySite(List<Inspection> inspections, DashboardFilterDTO filters) {
+    static List<SiteSummaryDTO> aggregateBySite(List<Inspection> inspections, DashboardFilterDTO filters) {
         // Group by site code with all filters applied
         Map<String, List<Inspection>> inspectionsBySite = inspections.stream()
                 .filter(inspection -> {
@@ -203,6 +196,6 @@ public class DashboardService {
      */
     public List<SiteSummaryDTO> getAllSites() {
         DashboardFilterDTO filters = new DashboardFilterDTO();
-        return getDashboardSummary(filters).getSites();
+        return getDashboardSummary(filters).join().getSites();
     }
 }
@@ -0,0 +1,508 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
+import com.pha.inspection.event.InspectionChangeListener;
+import com.pha.inspection.model.dto.DeficiencyAnalyticsDTO;
+import com.pha.inspection.model.dto.DeficiencyCategoryDTO;
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.repository.ChangeLogCheckpointRepository;
+import com.pha.inspection.repository.InspectionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Deficiency Analytics Service - DynamoDB Implementation
+ * Maintains aggregates of "Def" inspection responses and answers "top deficiency categories" queries
+ *
+ * Aggregates are kept incrementally from the RESPONSE_SAVED / RESPONSE_DELETED events that
+ * ResponseService.saveResponse and deleteResponse publish to the change log. A replaced
+ * deficiency is subtracted from the bucket it was counted in and the new one added, so
+ * counts stay correct when an inspector edits or clears a response. The last applied
+ * sequence is saved as this subscriber's checkpoint and the log is replayed from it on start.
+ * Every aggregate records the last sequence added to it from each change log (lastSeq_{logId})
+ * and is only updated if that is older than the events being added, so replayed events are
+ * never counted twice. Events skipped as already applied are counted in rollup.events.skipped.
+ *
+ * The site of a response is its inspection's: taken from the inspection events, or looked up
+ * once per batch for SO numbers not seen yet (concurrently, misses are not cached). The site a
+ * response version (its createdAt) was counted under is recorded the first time it is counted,
+ * and subtracting that version later uses the recorded site, so a response counted under
+ * SITE#UNKNOWN before its inspection's site was known is also removed from SITE#UNKNOWN.
+ *
+ * Storage Pattern (one item per month, site, area and category):
+ * - PK: "ANALYTICS#DEF#{yyyy-MM}"
+ * - SK: "SITE#{siteCode}#AREA#{areaName}#SVC#{serviceId}#ACT#{activityCode}"
+ * - defCount, urgentCount, materialRequiredCount, tenantChargeCount, rrpCount
+ * - lastSeq_{logId}: last sequence of change log {logId} applied to the item
+ *
+ * Site a response version was counted under (one item per version):
+ * - PK: "ANALYTICS#DEF#BUCKET#{soNumber}"
+ * - SK: "RESPONSE#{itemId}#{createdAt}"
+ * - siteCode
+ *
+ * Queries read the month partitions in the requested range (narrowed by sort key prefix
+ * when a site is given) and never touch the response items themselves.
+ */
+@Service
+public class DeficiencyAnalyticsService implements InspectionChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeficiencyAnalyticsService.class);
+
+    private static final String SUBSCRIBER = "deficiency-analytics";
+    private static final String PK_PREFIX = "ANALYTICS#DEF#";
+    private static final String BUCKET_PK_PREFIX = "ANALYTICS#DEF#BUCKET#";
+    private static final String SEQUENCE_PREFIX = "lastSeq_";
+    private static final int BATCH_GET_SIZE = 100;
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String[] COUNTERS = {"defCount", "urgentCount", "materialRequiredCount", "tenantChargeCount", "rrpCount"};
+    private static final int SITE_CACHE_SIZE = 10_000;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final InspectionChangeDispatcher changeDispatcher;
+    private final ChangeLogCheckpointRepository checkpoints;
+    private final InspectionRepository inspectionRepository;
+    private final AreaService areaService;
+    private final String tableName;
+    private final ZoneId zoneId;
+    private final boolean enabled;
+    private final Counter skippedEvents;
+
+    // Last change log sequence applied (and saved as this subscriber's checkpoint)
+    private volatile long appliedSequence = NO_CHECKPOINT;
+
+    // Change log the sequences belong to
+    private volatile String logId;
+
+    // SO number -> site code; only touched from the dispatcher thread
+    private final Map<String, String> siteCodeBySoNumber = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > SITE_CACHE_SIZE;
+        }
+    };
+
+    @Autowired
+    public DeficiencyAnalyticsService(DynamoDbClient dynamoDbClient,
+                                      InspectionChangeDispatcher changeDispatcher,
+                                      ChangeLogCheckpointRepository checkpoints,
+                                      InspectionRepository inspectionRepository,
+                                      AreaService areaService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${aws.dynamodb.table-name}") String tableName,
+                                      @Value("${analytics.zone-id:America/New_York}") String zoneId,
+                                      @Value("${analytics.enabled:true}") boolean enabled) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.changeDispatcher = changeDispatcher;
+        this.checkpoints = checkpoints;
+        this.inspectionRepository = inspectionRepository;
+        this.areaService = areaService;
+        this.tableName = tableName;
+        this.zoneId = ZoneId.of(zoneId);
+        this.enabled = enabled;
+        this.skippedEvents = Counter.builder("rollup.events.skipped")
+                .tag("subscriber", SUBSCRIBER)
+                .description("Change log events not added to a rollup because it had already applied them")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && changeDispatcher.isEnabled()) {
+            // Without a checkpoint in this log (first start, or a new log after a redeploy) begin
+            // with the events published from now on; checkpoints of other logs do not apply to it
+            logId = changeDispatcher.getLogId();
+            appliedSequence = checkpoints.find(SUBSCRIBER, logId).orElse(changeDispatcher.getLastSequence());
+            changeDispatcher.subscribe(this);
+        }
+    }
+
+    @Override
+    public long checkpoint() {
+        return appliedSequence;
+    }
+
+    /**
+     * Get the top deficiency categories between two months (inclusive)
+     *
+     * @param siteCode optional - restrict to one site
+     * @param area     optional - restrict to one inspection area (e.g. "Kitchen")
+     * @param limit    maximum number of categories returned, highest count first
+     */
+    public DeficiencyAnalyticsDTO getTopDeficiencies(String siteCode, String area, YearMonth from, YearMonth to, int limit) {
+        logger.info("Getting deficiency analytics - siteCode: {}, area: {}, from: {}, to: {}, limit: {}",
+                siteCode, area, from, to, limit);
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("'limit' must be positive");
+        }
+
+        // (site, serviceId, activityCode) -> aggregated counters
+        Map<List<String>, DeficiencyCategoryDTO> categories = new HashMap<>();
+
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            for (Map<String, AttributeValue> item : queryMonth(month, siteCode, area)) {
+                if (area != null && !area.isEmpty() && !area.equals(item.get("areaName").s())) {
+                    continue;
+                }
+
+                String itemSite = item.get("siteCode").s();
+                String serviceId = item.get("serviceId").s();
+                String activityCode = item.get("activityCode").s();
+                DeficiencyCategoryDTO category = categories.computeIfAbsent(List.of(itemSite, serviceId, activityCode),
+                        k -> new DeficiencyCategoryDTO(itemSite, serviceId, activityCode));
+
+                category.setCount(category.getCount() + counter(item, "defCount"));
+                category.setUrgentCount(category.getUrgentCount() + counter(item, "urgentCount"));
+                category.setMaterialRequiredCount(category.getMaterialRequiredCount() + counter(item, "materialRequiredCount"));
+                category.setTenantChargeCount(category.getTenantChargeCount() + counter(item, "tenantChargeCount"));
+                category.setRrpCount(category.getRrpCount() + counter(item, "rrpCount"));
+            }
+        }
+
+        long total = categories.values().stream().mapToLong(DeficiencyCategoryDTO::getCount).sum();
+        List<DeficiencyCategoryDTO> top = categories.values().stream()
+                .filter(c -> c.getCount() > 0)
+                .sorted(Comparator.comparingLong(DeficiencyCategoryDTO::getCount).reversed()
+                        .thenComparing(DeficiencyCategoryDTO::getSiteCode)
+                        .thenComparing(DeficiencyCategoryDTO::getServiceId))
+                .limit(limit)
+                .collect(Collectors.toList());
+
+        logger.info("Deficiency analytics generated with {} categories ({} deficiencies)", top.size(), total);
+        return new DeficiencyAnalyticsDTO(from.toString(), to.toString(), siteCode, area, top, total);
+    }
+
+    /**
+     * Fold a batch of response changes into per-item counter deltas and apply each item with one UpdateItem
+     *
+     * Throws if an item could not be updated, so that the dispatcher replays the batch from the
+     * checkpoint; items that were already updated skip the events they have applied.
+     */
+    @Override
+    public void onChanges(List<InspectionChangeEvent> events) {
+        resolveSiteCodes(events);
+        Map<String, String> bucketSites = resolveBucketSites(events);
+
+        // "PK|SK" -> (sequence -> counter deltas of that event)
+        Map<String, TreeMap<Long, long[]>> deltas = new LinkedHashMap<>();
+        for (InspectionChangeEvent event : events) {
+            if (event.getType() == InspectionChangeEvent.Type.RESPONSE_SAVED
+                    || event.getType() == InspectionChangeEvent.Type.RESPONSE_DELETED) {
+                addDelta(deltas, bucketSites, event, event.getBefore(), -1);
+                addDelta(deltas, bucketSites, event, event.getAfter(), 1);
+            }
+        }
+
+        RuntimeException failure = null;
+        for (Map.Entry<String, TreeMap<Long, long[]>> entry : deltas.entrySet()) {
+            String[] key = entry.getKey().split("\\|", 2);
+            try {
+                applyDeltas(key[0], key[1], entry.getValue());
+            } catch (RuntimeException e) {
+                logger.error("Error updating deficiency aggregate {} {} with events {}",
+                        key[0], key[1], entry.getValue().keySet(), e);
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        // After a restart the dispatcher replays the log from here
+        long last = events.get(events.size() - 1).getSequence();
+        checkpoints.save(SUBSCRIBER, logId, last);
+        appliedSequence = last;
+    }
+
+    /**
+     * Cache the site codes carried by inspection events and look up the missing ones for responses
+     */
+    private void resolveSiteCodes(List<InspectionChangeEvent> events) {
+        Map<String, CompletableFuture<Optional<Inspection>>> lookups = new LinkedHashMap<>();
+
+        for (InspectionChangeEvent event : events) {
+            switch (event.getType()) {
+                case INSPECTION_CREATED, INSPECTION_UPDATED, INSPECTION_SUBMITTED -> {
+                    if (event.afterValue("siteCode") != null) {
+                        siteCodeBySoNumber.put(event.getSoNumber(), event.afterValue("siteCode"));
+                    }
+                }
+                case RESPONSE_SAVED, RESPONSE_DELETED -> {
+                    if (!siteCodeBySoNumber.containsKey(event.getSoNumber())) {
+                        lookups.computeIfAbsent(event.getSoNumber(), inspectionRepository::findBySoNumberAsync);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        // Only found inspections are cached, so a miss is looked up again with the next batch
+        lookups.forEach((soNumber, lookup) -> lookup.join()
+                .map(Inspection::getSiteCode)
+                .ifPresent(siteCode -> siteCodeBySoNumber.put(soNumber, siteCode)));
+    }
+
+    /**
+     * Site every Def response version in the batch is counted under, by bucketKey
+     *
+     * Versions counted before are looked up; versions being added for the first time are recorded
+     * with the current site of their inspection (or UNKNOWN). Versions without a record (counted
+     * before sites were recorded) are left out and use the current site.
+     */
+    private Map<String, String> resolveBucketSites(List<InspectionChangeEvent> events) {
+        Map<String, Map<String, AttributeValue>> keys = new LinkedHashMap<>();
+        Map<String, String> added = new LinkedHashMap<>();
+        for (InspectionChangeEvent event : events) {
+            if (event.getType() != InspectionChangeEvent.Type.RESPONSE_SAVED
+                    && event.getType() != InspectionChangeEvent.Type.RESPONSE_DELETED) {
+                continue;
+            }
+            for (Map<String, String> response : Arrays.asList(event.getBefore(), event.getAfter())) {
+                String bucketKey = bucketKey(event, response);
+                if (bucketKey != null) {
+                    keys.put(bucketKey, bucketItemKey(event, response));
+                }
+            }
+            String addedKey = bucketKey(event, event.getAfter());
+            if (addedKey != null) {
+                added.put(addedKey, siteCodeBySoNumber.getOrDefault(event.getSoNumber(), UNKNOWN));
+            }
+        }
+
+        Map<String, String> sites = new HashMap<>();
+        if (keys.isEmpty()) {
+            return sites;
+        }
+        List<Map<String, AttributeValue>> pending = new ArrayList<>(keys.values());
+        for (int i = 0; i < pending.size(); i += BATCH_GET_SIZE) {
+            for (Map<String, AttributeValue> item : batchGet(pending.subList(i, Math.min(i + BATCH_GET_SIZE, pending.size())))) {
+                sites.put(item.get("PK").s() + "|" + item.get("SK").s(), item.get("siteCode").s());
+            }
+        }
+
+        // First writer wins, so a replay always counts a version under the site it was recorded with
+        added.forEach((bucketKey, siteCode) -> {
+            if (!sites.containsKey(bucketKey)) {
+                sites.put(bucketKey, recordBucketSite(keys.get(bucketKey), siteCode));
+            }
+        });
+        return sites;
+    }
+
+    private List<Map<String, AttributeValue>> batchGet(List<Map<String, AttributeValue>> keys) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        Map<String, KeysAndAttributes> request = Map.of(tableName, KeysAndAttributes.builder()
+                .keys(keys)
+                .consistentRead(true)
+                .build());
+        while (!request.isEmpty()) {
+            BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+                    .requestItems(request)
+                    .build());
+            items.addAll(response.responses().getOrDefault(tableName, List.of()));
+            request = response.hasUnprocessedKeys() ? response.unprocessedKeys() : Map.of();
+        }
+        return items;
+    }
+
+    /**
+     * Record the site a response version is counted under, unless it already has one
+     *
+     * @return the recorded site
+     */
+    private String recordBucketSite(Map<String, AttributeValue> key, String siteCode) {
+        Map<String, AttributeValue> item = new HashMap<>(key);
+        item.put("EntityType", AttributeValue.builder().s("DeficiencyBucket").build());
+        item.put("siteCode", AttributeValue.builder().s(siteCode).build());
+        try {
+            dynamoDbClient.putItem(PutItemRequest.builder()
+                    .tableName(tableName)
+                    .item(item)
+                    .conditionExpression("attribute_not_exists(PK)")
+                    .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                    .build());
+            return siteCode;
+        } catch (ConditionalCheckFailedException e) {
+            return e.item().get("siteCode").s();
+        }
+    }
+
+    /**
+     * "PK|SK" of the site record of a Def response version (null for other responses, or
+     * versions without createdAt)
+     */
+    private static String bucketKey(InspectionChangeEvent event, Map<String, String> response) {
+        if (response == null || !"Def".equals(response.get("response")) || response.get("createdAt") == null) {
+            return null;
+        }
+        return BUCKET_PK_PREFIX + event.getSoNumber() + "|RESPONSE#" + response.get("itemId") + "#" + response.get("createdAt");
+    }
+
+    private static Map<String, AttributeValue> bucketItemKey(InspectionChangeEvent event, Map<String, String> response) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(BUCKET_PK_PREFIX + event.getSoNumber()).build(),
+                "SK", AttributeValue.builder().s("RESPONSE#" + response.get("itemId") + "#" + response.get("createdAt")).build());
+    }
+
+    private void addDelta(Map<String, TreeMap<Long, long[]>> deltas, Map<String, String> bucketSites,
+                          InspectionChangeEvent event, Map<String, String> response, int sign) {
+        if (response == null || !"Def".equals(response.get("response"))) {
+            return;
+        }
+
+        String createdAt = response.get("createdAt");
+        YearMonth month = createdAt != null
+                ? YearMonth.from(Instant.parse(createdAt).atZone(zoneId))
+                : YearMonth.now(zoneId);
+
+        String bucketKey = bucketKey(event, response);
+        String siteCode = bucketKey != null && bucketSites.containsKey(bucketKey)
+                ? bucketSites.get(bucketKey)
+                : siteCodeBySoNumber.getOrDefault(event.getSoNumber(), UNKNOWN);
+        String sk = "SITE#" + siteCode
+                + "#AREA#" + areaService.findAreaNameByItemId(response.get("itemId")).orElse(UNKNOWN)
+                + "#SVC#" + valueOrUnknown(response.get("serviceId"))
+                + "#ACT#" + valueOrUnknown(response.get("activityCode"));
+
+        long[] counters = deltas.computeIfAbsent(PK_PREFIX + month + "|" + sk, k -> new TreeMap<>())
+                .computeIfAbsent(event.getSequence(), k -> new long[COUNTERS.length]);
+        counters[0] += sign;
+        counters[1] += "true".equals(response.get("urgent")) ? sign : 0;
+        counters[2] += "true".equals(response.get("materialRequired")) ? sign : 0;
+        counters[3] += "true".equals(response.get("tenantCharge")) ? sign : 0;
+        counters[4] += "true".equals(response.get("rrp")) ? sign : 0;
+    }
+
+    /**
+     * Add the deltas of the given events (by sequence) that the item has not applied yet
+     */
+    private void applyDeltas(String pk, String sk, TreeMap<Long, long[]> deltas) {
+        SortedMap<Long, long[]> pending = deltas;
+        while (!pending.isEmpty()) {
+            try {
+                updateAggregate(pk, sk, pending);
+                return;
+            } catch (ConditionalCheckFailedException e) {
+                // Some of these events were applied before (replay of this log): add only the newer ones
+                long itemSequence = Long.parseLong(e.item().get(SEQUENCE_PREFIX + logId).n());
+                SortedMap<Long, long[]> newer = deltas.tailMap(itemSequence, false);
+                int skipped = pending.size() - newer.size();
+                skippedEvents.increment(skipped);
+                logger.info("Deficiency aggregate {} {} already applied sequence {} of log {}, skipped {} events",
+                        pk, sk, itemSequence, logId, skipped);
+                pending = newer;
+            }
+        }
+    }
+
+    private void updateAggregate(String pk, String sk, SortedMap<Long, long[]> pending) {
+        long[] counters = new long[COUNTERS.length];
+        for (long[] delta : pending.values()) {
+            for (int i = 0; i < COUNTERS.length; i++) {
+                counters[i] += delta[i];
+            }
+        }
+        if (Arrays.stream(counters).allMatch(v -> v == 0)) {
+            return;
+        }
+
+        Map<String, AttributeValue> values = new HashMap<>();
+        StringBuilder expression = new StringBuilder("ADD ");
+        for (int i = 0; i < COUNTERS.length; i++) {
+            if (i > 0) {
+                expression.append(", ");
+            }
+            expression.append(COUNTERS[i]).append(" :c").append(i);
+            values.put(":c" + i, AttributeValue.builder().n(Long.toString(counters[i])).build());
+        }
+
+        // Dimension attributes are stored explicitly so reads never parse the sort key
+        String[] parts = sk.split("#", -1);
+        expression.append(" SET EntityType = :entityType, siteCode = :siteCode, areaName = :areaName, " +
+                "serviceId = :serviceId, activityCode = :activityCode, #seq = :lastSeq");
+        values.put(":entityType", AttributeValue.builder().s("DeficiencyAggregate").build());
+        values.put(":siteCode", AttributeValue.builder().s(parts[1]).build());
+        values.put(":areaName", AttributeValue.builder().s(parts[3]).build());
+        values.put(":serviceId", AttributeValue.builder().s(parts[5]).build());
+        values.put(":activityCode", AttributeValue.builder().s(parts[7]).build());
+        values.put(":firstSeq", AttributeValue.builder().n(Long.toString(pending.firstKey())).build());
+        values.put(":lastSeq", AttributeValue.builder().n(Long.toString(pending.lastKey())).build());
+
+        dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s(pk).build(),
+                        "SK", AttributeValue.builder().s(sk).build()))
+                .updateExpression(expression.toString())
+                .conditionExpression("attribute_not_exists(#seq) OR #seq < :firstSeq")
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .expressionAttributeNames(Map.of("#seq", SEQUENCE_PREFIX + logId))
+                .expressionAttributeValues(values)
+                .build());
+    }
+
+    private List<Map<String, AttributeValue>> queryMonth(YearMonth month, String siteCode, String area) {
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":pk", AttributeValue.builder().s(PK_PREFIX + month).build());
+
+        String keyCondition = "PK = :pk";
+        if (siteCode != null && !siteCode.isEmpty()) {
+            String prefix = "SITE#" + siteCode + "#AREA#";
+            if (area != null && !area.isEmpty()) {
+                prefix += area + "#";
+            }
+            keyCondition += " AND begins_with(SK, :skPrefix)";
+            values.put(":skPrefix", AttributeValue.builder().s(prefix).build());
+        }
+
+        QueryRequest request = QueryRequest.builder()
+                .tableName(tableName)
+                .keyConditionExpression(keyCondition)
+                .expressionAttributeValues(values)
+                .build();
+
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (QueryResponse page : dynamoDbClient.queryPaginator(request)) {
+            items.addAll(page.items());
+        }
+        return items;
+    }
+
+    private static String valueOrUnknown(String value) {
+        return value != null && !value.isEmpty() ? value.replace("#", "_") : UNKNOWN;
+    }
+
+    private static long counter(Map<String, AttributeValue> item, String name) {
+        AttributeValue value = item.get(name);
+        return value != null && value.n() != null ? Long.parseLong(value.n()) : 0;
+    }
+}
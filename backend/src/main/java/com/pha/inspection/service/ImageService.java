@@ -1,12 +1,17 @@
 package com.pha.inspection.service;
 
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
 import com.pha.inspection.model.dto.InspectionImageDTO;
 import com.pha.inspection.model.dto.UploadImageRequest;
 import com.pha.inspection.model.entity.InspectionImage;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
@@ -17,6 +22,7 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,10 +30,16 @@ public class ImageService {
     private static final Logger log = LoggerFactory.getLogger(ImageService.class);
 
     private final DynamoDbTable<InspectionImage> imageTable;
+    private final DynamoDbAsyncTable<InspectionImage> asyncImageTable;
+    private final InspectionChangeDispatcher changeDispatcher;
 
     @Autowired
-    public ImageService(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        this.imageTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchema.fromBean(InspectionImage.class));
+    public ImageService(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+                        DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient,
+                        InspectionChangeDispatcher changeDispatcher) {
+        this.imageTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchemas.IMAGE);
+        this.asyncImageTable = dynamoDbEnhancedAsyncClient.table("pha-inspections", TableSchemas.IMAGE);
+        this.changeDispatcher = changeDispatcher;
         log.info("ImageService initialized with DynamoDB table: pha-inspections");
     }
 
@@ -62,6 +74,7 @@ public class ImageService {
 
             // Save to DynamoDB
             imageTable.putItem(image);
+            publishChange(InspectionChangeEvent.Type.IMAGE_UPLOADED, null, image);
 
             log.info("Image uploaded successfully to DynamoDB: {}", imageId);
 
@@ -102,6 +115,24 @@ public class ImageService {
         }
     }
 
+    // MARK: - Get Images by Inspection (non-blocking, IMAGE# range only)
+    public CompletableFuture<List<InspectionImageDTO>> getImagesByInspectionAsync(String soNumber) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.sortBeginsWith(Key.builder()
+                        .partitionValue("INSPECTION#" + soNumber)
+                        .sortValue("IMAGE#")
+                        .build()))
+                .build();
+
+        List<InspectionImage> images = new ArrayList<>();
+        return asyncImageTable.query(queryRequest).items()
+                .subscribe(images::add)
+                .thenApply(done -> images.stream()
+                        .sorted(Comparator.comparing(InspectionImage::getUploadedAt).reversed())
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList()));
+    }
+
     // MARK: - Get Image by ID
     public InspectionImageDTO getImageById(String soNumber, String imageId) {
         log.info("Getting image: {} for SO: {}", imageId, soNumber);
@@ -147,6 +178,7 @@ public class ImageService {
             if (deleted == null) {
                 throw new RuntimeException("Image not found: " + imageId);
             }
+            publishChange(InspectionChangeEvent.Type.IMAGE_DELETED, deleted, null);
 
             log.info("Image deleted successfully from DynamoDB: {}", imageId);
         } catch (Exception e) {
@@ -155,6 +187,14 @@ public class ImageService {
         }
     }
 
+    private void publishChange(InspectionChangeEvent.Type type, InspectionImage before, InspectionImage after) {
+        InspectionImage item = after != null ? after : before;
+        TableSchema<InspectionImage> schema = imageTable.tableSchema();
+        changeDispatcher.publish(new InspectionChangeEvent(type, item.getSoNumber(), item.getSK(),
+                InspectionChangeEvent.snapshot(schema, before),
+                InspectionChangeEvent.snapshot(schema, after)));
+    }
+
     /**
      * Convert entity to DTO
      */
@@ -0,0 +1,65 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.model.dto.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Inspection Bundle Service
+ * Loads an inspection and all of its child items (responses, PMI responses, images,
+ * signatures) with five concurrent non-blocking reads, so the call costs roughly one
+ * DynamoDB round trip instead of five sequential ones.
+ */
+@Service
+public class InspectionBundleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectionBundleService.class);
+
+    private final InspectionService inspectionService;
+    private final ResponseService responseService;
+    private final PMIResponseService pmiResponseService;
+    private final ImageService imageService;
+    private final SignatureService signatureService;
+
+    @Autowired
+    public InspectionBundleService(InspectionService inspectionService,
+                                   ResponseService responseService,
+                                   PMIResponseService pmiResponseService,
+                                   ImageService imageService,
+                                   SignatureService signatureService) {
+        this.inspectionService = inspectionService;
+        this.responseService = responseService;
+        this.pmiResponseService = pmiResponseService;
+        this.imageService = imageService;
+        this.signatureService = signatureService;
+    }
+
+    /**
+     * Get an inspection with all of its child items
+     *
+     * @return empty when the inspection does not exist; completes exceptionally if any of the reads fails
+     */
+    public CompletableFuture<Optional<InspectionBundleDTO>> getBundle(String soNumber) {
+        logger.info("Getting inspection bundle for SO: {}", soNumber);
+
+        CompletableFuture<Optional<InspectionDTO>> inspection = inspectionService.getInspectionBySoNumberAsync(soNumber);
+        CompletableFuture<List<ResponseDTO>> responses = responseService.findResponsesAsync(soNumber);
+        CompletableFuture<List<PMIResponseDTO>> pmiResponses = pmiResponseService.getResponsesBySoNumberAsync(soNumber);
+        CompletableFuture<List<InspectionImageDTO>> images = imageService.getImagesByInspectionAsync(soNumber);
+        CompletableFuture<List<InspectionSignatureDTO>> signatures = signatureService.getSignaturesByInspectionAsync(soNumber);
+
+        return CompletableFuture.allOf(inspection, responses, pmiResponses, images, signatures)
+                .thenApply(done -> inspection.join().map(dto -> new InspectionBundleDTO(
+                        dto,
+                        responses.join(),
+                        pmiResponses.join(),
+                        images.join(),
+                        signatures.join())));
+    }
+}
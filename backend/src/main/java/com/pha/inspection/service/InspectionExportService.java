@@ -0,0 +1,309 @@
+package com.pha.inspection.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pha.inspection.model.dto.ResponseDTO;
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.repository.InspectionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Inspection Export Service
+ * Streams inspections (optionally with their responses) as CSV or NDJSON in constant memory
+ *
+ * Inspections are pulled one page at a time through InspectionRepository.forEachPage and
+ * written straight to the output stream, so heap use does not grow with the row count.
+ * CSV rows are assembled in one reusable StringBuilder and copied into one reusable char[]
+ * for writing; NDJSON rows are written field by field through a single Jackson generator.
+ * CSV text cells that a spreadsheet would run as a formula are prefixed with a quote.
+ *
+ * With responses, CSV emits one row per response (inspection columns repeated, empty
+ * response columns for inspections without responses); NDJSON nests a "responses" array.
+ * The response queries for a page are issued together on the async client and consumed
+ * in page order, so a page costs about one round trip instead of one per inspection.
+ */
+@Service
+public class InspectionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectionExportService.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final List<Column<Inspection>> INSPECTION_COLUMNS = List.of(
+            new Column<>("soNumber", Inspection::getSoNumber),
+            new Column<>("unitNumber", Inspection::getUnitNumber),
+            new Column<>("siteCode", Inspection::getSiteCode),
+            new Column<>("siteName", Inspection::getSiteName),
+            new Column<>("address", Inspection::getAddress),
+            new Column<>("divisionCode", Inspection::getDivisionCode),
+            new Column<>("tenantName", Inspection::getTenantName),
+            new Column<>("tenantPhone", Inspection::getTenantPhone),
+            new Column<>("tenantAvailability", Inspection::getTenantAvailability),
+            new Column<>("brSize", Inspection::getBrSize),
+            new Column<>("isHardwired", Inspection::getIsHardwired),
+            new Column<>("inspectorId", Inspection::getInspectorId),
+            new Column<>("inspectorName", Inspection::getInspectorName),
+            new Column<>("vehicleTagId", Inspection::getVehicleTagId),
+            new Column<>("status", Inspection::getStatus),
+            new Column<>("startDate", Inspection::getStartDate),
+            new Column<>("startTime", Inspection::getStartTime),
+            new Column<>("endDate", Inspection::getEndDate),
+            new Column<>("endTime", Inspection::getEndTime),
+            new Column<>("submitTime", Inspection::getSubmitTime),
+            new Column<>("completionDate", Inspection::getCompletionDate),
+            new Column<>("smokeDetectorsCount", Inspection::getSmokeDetectorsCount),
+            new Column<>("coDetectorsCount", Inspection::getCoDetectorsCount),
+            new Column<>("createdAt", Inspection::getCreatedAt),
+            new Column<>("updatedAt", Inspection::getUpdatedAt)
+    );
+
+    private static final List<Column<ResponseDTO>> RESPONSE_COLUMNS = List.of(
+            new Column<>("itemId", ResponseDTO::getItemId),
+            new Column<>("response", ResponseDTO::getResponse),
+            new Column<>("scopeOfWork", ResponseDTO::getScopeOfWork),
+            new Column<>("materialRequired", ResponseDTO::getMaterialRequired),
+            new Column<>("materialDescription", ResponseDTO::getMaterialDescription),
+            new Column<>("serviceId", ResponseDTO::getServiceId),
+            new Column<>("activityCode", ResponseDTO::getActivityCode),
+            new Column<>("tenantCharge", ResponseDTO::getTenantCharge),
+            new Column<>("urgent", ResponseDTO::getUrgent),
+            new Column<>("rrp", ResponseDTO::getRrp),
+            new Column<>("createdAt", ResponseDTO::getCreatedAt)
+    );
+
+    private final InspectionRepository inspectionRepository;
+    private final ResponseService responseService;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+
+    @Autowired
+    public InspectionExportService(InspectionRepository inspectionRepository,
+                                   ResponseService responseService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${export.page-size:500}") int pageSize) {
+        this.inspectionRepository = inspectionRepository;
+        this.responseService = responseService;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Write all inspections (optionally filtered by status) as CSV
+     */
+    public long exportCsv(String status, boolean includeResponses, OutputStream out) throws IOException {
+        logger.info("Exporting inspections as CSV - status: {}, includeResponses: {}", status, includeResponses);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        StringBuilder row = new StringBuilder(1024);
+        char[][] chars = {new char[1024]};
+        long[] rows = {0};
+
+        // Header
+        appendHeader(row, INSPECTION_COLUMNS, "");
+        if (includeResponses) {
+            appendHeader(row, RESPONSE_COLUMNS, "response.");
+        }
+        writeRow(writer, row, chars);
+
+        try {
+            inspectionRepository.forEachPage(status, pageSize, page -> {
+                try {
+                    List<CompletableFuture<List<ResponseDTO>>> pageResponses = prefetchResponses(page, includeResponses);
+                    for (int i = 0; i < page.size(); i++) {
+                        Inspection inspection = page.get(i);
+                        List<ResponseDTO> responses = pageResponses.get(i).join();
+
+                        if (responses.isEmpty()) {
+                            appendValues(row, INSPECTION_COLUMNS, inspection);
+                            if (includeResponses) {
+                                appendEmpty(row, RESPONSE_COLUMNS.size());
+                            }
+                            writeRow(writer, row, chars);
+                            rows[0]++;
+                        }
+                        for (ResponseDTO response : responses) {
+                            appendValues(row, INSPECTION_COLUMNS, inspection);
+                            appendValues(row, RESPONSE_COLUMNS, response);
+                            writeRow(writer, row, chars);
+                            rows[0]++;
+                        }
+                    }
+                    // Push each page to the client so large exports show progress
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            writer.flush();
+        }
+
+        logger.info("CSV export finished - {} rows", rows[0]);
+        return rows[0];
+    }
+
+    /**
+     * Write all inspections (optionally filtered by status) as newline-delimited JSON
+     */
+    public long exportNdjson(String status, boolean includeResponses, OutputStream out) throws IOException {
+        logger.info("Exporting inspections as NDJSON - status: {}, includeResponses: {}", status, includeResponses);
+
+        long[] rows = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            inspectionRepository.forEachPage(status, pageSize, page -> {
+                try {
+                    List<CompletableFuture<List<ResponseDTO>>> pageResponses = prefetchResponses(page, includeResponses);
+                    for (int i = 0; i < page.size(); i++) {
+                        Inspection inspection = page.get(i);
+                        generator.writeStartObject();
+                        writeFields(generator, INSPECTION_COLUMNS, inspection);
+                        if (includeResponses) {
+                            generator.writeArrayFieldStart("responses");
+                            for (ResponseDTO response : pageResponses.get(i).join()) {
+                                generator.writeStartObject();
+                                writeFields(generator, RESPONSE_COLUMNS, response);
+                                generator.writeEndObject();
+                            }
+                            generator.writeEndArray();
+                        }
+                        generator.writeEndObject();
+                        rows[0]++;
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (rows[0] > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        logger.info("NDJSON export finished - {} rows", rows[0]);
+        return rows[0];
+    }
+
+    /**
+     * Start the response queries for every inspection of a page at once, one future per inspection
+     *
+     * A failed query fails its join() and aborts the export rather than writing the inspection without responses.
+     */
+    private List<CompletableFuture<List<ResponseDTO>>> prefetchResponses(List<Inspection> page, boolean includeResponses) {
+        List<CompletableFuture<List<ResponseDTO>>> futures = new ArrayList<>(page.size());
+        for (Inspection inspection : page) {
+            futures.add(includeResponses
+                    ? responseService.findResponsesAsync(inspection.getSoNumber())
+                    : CompletableFuture.completedFuture(List.of()));
+        }
+        return futures;
+    }
+
+    private static <T> void appendHeader(StringBuilder row, List<Column<T>> columns, String prefix) {
+        for (Column<T> column : columns) {
+            row.append(prefix).append(column.name()).append(',');
+        }
+    }
+
+    private static <T> void appendValues(StringBuilder row, List<Column<T>> columns, T source) {
+        for (Column<T> column : columns) {
+            appendCsvValue(row, column.getter().apply(source));
+            row.append(',');
+        }
+    }
+
+    private static void appendEmpty(StringBuilder row, int count) {
+        for (int i = 0; i < count; i++) {
+            row.append(',');
+        }
+    }
+
+    /**
+     * RFC 4180 quoting: only values containing separators, quotes or line breaks are quoted
+     *
+     * Text starting with =, +, -, @, tab or carriage return is prefixed with ' so that
+     * spreadsheets show it instead of evaluating it as a formula (CSV injection).
+     */
+    private static void appendCsvValue(StringBuilder row, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean formula = !(value instanceof Number) && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0;
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            if (formula) {
+                row.append('\'');
+            }
+            row.append(text);
+            return;
+        }
+        row.append('"');
+        if (formula) {
+            row.append('\'');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    /**
+     * Every field is followed by a comma while the row is assembled; the last one becomes the line break
+     *
+     * The row is copied into chars[0] (grown when a row does not fit) and written from there,
+     * instead of Writer.append(CharSequence), which copies the row into a new String.
+     */
+    private static void writeRow(Writer writer, StringBuilder row, char[][] chars) throws IOException {
+        row.setLength(row.length() - 1);
+        row.append("\r\n");
+        int length = row.length();
+        if (chars[0].length < length) {
+            chars[0] = new char[Math.max(length, chars[0].length * 2)];
+        }
+        row.getChars(0, length, chars[0], 0);
+        writer.write(chars[0], 0, length);
+        row.setLength(0);
+    }
+
+    private static <T> void writeFields(JsonGenerator generator, List<Column<T>> columns, T source) throws IOException {
+        for (Column<T> column : columns) {
+            Object value = column.getter().apply(source);
+            if (value != null) {
+                generator.writeObjectField(column.name(), value);
+            }
+        }
+    }
+
+    private record Column<T>(String name, Function<T, Object> getter) {
+    }
+}
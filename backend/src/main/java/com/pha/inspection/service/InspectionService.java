@@ -3,14 +3,17 @@ package com.pha.inspection.service;
 import com.pha.inspection.model.dto.*;
 import com.pha.inspection.model.entity.Inspection;
 import com.pha.inspection.repository.InspectionRepository;
+import com.pha.inspection.seed.MockDataSeeder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -27,7 +30,15 @@ public class InspectionService {
     private InspectionRepository inspectionRepository;
 
     // SO number generator (will be replaced with actual logic in production)
-    private final AtomicLong soNumberGenerator = new AtomicLong(3184947);
+    private final AtomicLong soNumberGenerator = new AtomicLong(MockDataSeeder.LAST_SO_NUMBER);
+
+    /**
+     * Last SO number in use; new inspections are numbered from the next one
+     */
+    @Value("${inspection.so-number-start:" + MockDataSeeder.LAST_SO_NUMBER + "}")
+    void setSoNumberStart(long soNumberStart) {
+        soNumberGenerator.set(soNumberStart);
+    }
 
     /**
      * Get all inspections with optional filters and pagination
@@ -80,6 +91,14 @@ public class InspectionService {
         return inspection.map(this::convertToDTO);
     }
 
+    /**
+     * Get inspection by SO number without blocking (used by the bundle fetch)
+     */
+    public CompletableFuture<Optional<InspectionDTO>> getInspectionBySoNumberAsync(String soNumber) {
+        return inspectionRepository.findBySoNumberAsync(soNumber)
+                .thenApply(inspection -> inspection.map(this::convertToDTO));
+    }
+
     /**
      * Create new inspection
      */
@@ -222,9 +241,9 @@ public class InspectionService {
     }
 
     /**
-     * Convert Inspection entity to InspectionDTO
+     * Convert Inspection entity to InspectionDTO (package-private for the JMH benchmarks)
      */
-    private InspectionDTO convertToDTO(Inspection inspection) {
+    InspectionDTO convertToDTO(Inspection inspection) {
         InspectionDTO dto = new InspectionDTO();
         dto.setSoNumber(inspection.getSoNumber());
         dto.setUnitNumber(inspection.getUnitNumber());
@@ -255,9 +274,9 @@ public class InspectionService {
     }
 
     /**
-     * Convert Inspection entity to InspectionSummaryDTO
+     * Convert Inspection entity to InspectionSummaryDTO (package-private for the JMH benchmarks)
      */
-    private InspectionSummaryDTO convertToSummaryDTO(Inspection inspection) {
+    InspectionSummaryDTO convertToSummaryDTO(Inspection inspection) {
         return new InspectionSummaryDTO(
                 inspection.getSoNumber(),
                 inspection.getUnitNumber(),
@@ -271,74 +290,4 @@ public class InspectionService {
                 inspection.getStatus()
         );
     }
-
-    /**
-     * Initialize mock data for testing
-     */
-    public void initializeMockData() {
-        logger.info("Initializing mock inspection data");
-
-        // Create 15 mock inspections across different sites and statuses
-        createMockInspection("041529", "901", "Haddington", "123 Main St, Unit 041529", "D1", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-02");
-        createMockInspection("041530", "901", "Haddington", "125 Main St, Unit 041530", "D1", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-02");
-        createMockInspection("041531", "901", "Haddington", "127 Main St, Unit 041531", "D1", "INS002", "CASTOR_USER6", "R", "InProgress", "2025-05-01");
-
-        createMockInspection("042001", "902", "Mantua", "200 Oak St, Unit 042001", "D1", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-03");
-        createMockInspection("042002", "902", "Mantua", "202 Oak St, Unit 042002", "D1", "INS002", "CASTOR_USER6", "R", "Closed", "2025-04-28");
-
-        createMockInspection("050001", "903", "Strawberry Mansion", "300 Pine St, Unit 050001", "D2", "INS001", "CASTOR_USER5", "Q", "New", "2025-05-04");
-        createMockInspection("050002", "903", "Strawberry Mansion", "302 Pine St, Unit 050002", "D2", "INS003", "CASTOR_USER7", "S", "InProgress", "2025-05-02");
-        createMockInspection("050003", "903", "Strawberry Mansion", "304 Pine St, Unit 050003", "D2", "INS003", "CASTOR_USER7", "S", "Closed", "2025-04-25");
-
-        createMockInspection("060001", "801", "Queen Lane", "400 Elm St, Unit 060001", "D3", "INS002", "CASTOR_USER6", "R", "New", "2025-05-05");
-        createMockInspection("060002", "801", "Queen Lane", "402 Elm St, Unit 060002", "D3", "INS002", "CASTOR_USER6", "R", "InProgress", "2025-05-03");
-        createMockInspection("060003", "801", "Queen Lane", "404 Elm St, Unit 060003", "D3", "INS001", "CASTOR_USER5", "Q", "Closed", "2025-04-20");
-
-        createMockInspection("070001", "701", "Martin Luther King", "500 Maple St, Unit 070001", "D4", "INS003", "CASTOR_USER7", "S", "New", "2025-05-06");
-        createMockInspection("070002", "701", "Martin Luther King", "502 Maple St, Unit 070002", "D4", "INS003", "CASTOR_USER7", "S", "InProgress", "2025-05-04");
-        createMockInspection("070003", "701", "Martin Luther King", "504 Maple St, Unit 070003", "D4", "INS002", "CASTOR_USER6", "R", "Closed", "2025-04-18");
-        createMockInspection("070004", "701", "Martin Luther King", "506 Maple St, Unit 070004", "D4", "INS001", "CASTOR_USER5", "Q", "Closed", "2025-04-15");
-
-        logger.info("Mock data initialized - {} inspections created", inspectionRepository.count());
-    }
-
-    private void createMockInspection(String unitNumber, String siteCode, String siteName, String address,
-                                      String divisionCode, String inspectorId, String inspectorName,
-                                      String vehicleTagId, String status, String startDate) {
-        String soNumber = String.valueOf(soNumberGenerator.incrementAndGet());
-
-        Inspection inspection = new Inspection();
-        inspection.setSoNumber(soNumber);
-        inspection.setUnitNumber(unitNumber);
-        inspection.setSiteCode(siteCode);
-        inspection.setSiteName(siteName);
-        inspection.setAddress(address);
-        inspection.setDivisionCode(divisionCode);
-        inspection.setTenantName("Tenant " + unitNumber);
-        inspection.setTenantPhone("+1215555" + unitNumber.substring(unitNumber.length() - 4));
-        inspection.setTenantAvailability(true);
-        inspection.setBrSize(2);
-        inspection.setIsHardwired(false);
-        inspection.setInspectorId(inspectorId);
-        inspection.setInspectorName(inspectorName);
-        inspection.setVehicleTagId(vehicleTagId);
-        inspection.setStatus(status);
-        inspection.setStartDate(startDate);
-        inspection.setStartTime("08:30:00");
-
-        if ("Closed".equals(status)) {
-            inspection.setEndDate(startDate);
-            inspection.setEndTime("09:30:00");
-            inspection.setCompletionDate(startDate);
-            inspection.setSubmitTime(Instant.now().toString());
-            inspection.setSmokeDetectorsCount(5);
-            inspection.setCoDetectorsCount(3);
-        } else if ("InProgress".equals(status)) {
-            inspection.setSmokeDetectorsCount(5);
-            inspection.setCoDetectorsCount(3);
-        }
-
-        inspection.initializeGSI();
-        inspectionRepository.save(inspection);
-    }
 }
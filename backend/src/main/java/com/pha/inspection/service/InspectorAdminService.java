@@ -0,0 +1,229 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.model.dto.BulkImportResultDTO;
+import com.pha.inspection.model.dto.CreateInspectorRequest;
+import com.pha.inspection.model.dto.InspectorDTO;
+import com.pha.inspection.model.dto.InspectorPageDTO;
+import com.pha.inspection.model.entity.Inspector;
+import com.pha.inspection.repository.InspectorRepository;
+import com.pha.inspection.security.PasswordHashingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Inspector Admin Service
+ * Listing, multi-fetch and bulk onboarding of inspectors for the web admin
+ */
+@Service
+public class InspectorAdminService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectorAdminService.class);
+
+    private final InspectorRepository inspectorRepository;
+    private final InspectorDirectory inspectorDirectory;
+    private final PasswordHashingService passwordHashingService;
+    private final RefreshTokenService refreshTokenService;
+    private final int maxPageSize;
+    private final int maxImportSize;
+
+    @Autowired
+    public InspectorAdminService(InspectorRepository inspectorRepository,
+                                 InspectorDirectory inspectorDirectory,
+                                 PasswordHashingService passwordHashingService,
+                                 RefreshTokenService refreshTokenService,
+                                 @Value("${inspectors.admin.max-page-size:100}") int maxPageSize,
+                                 @Value("${inspectors.admin.max-import-size:1000}") int maxImportSize) {
+        this.inspectorRepository = inspectorRepository;
+        this.inspectorDirectory = inspectorDirectory;
+        this.passwordHashingService = passwordHashingService;
+        this.refreshTokenService = refreshTokenService;
+        this.maxPageSize = maxPageSize;
+        this.maxImportSize = maxImportSize;
+    }
+
+    /**
+     * List inspectors one page at a time
+     *
+     * @param cursor nextCursor from the previous page, or null for the first page
+     */
+    public InspectorPageDTO listInspectors(int limit, String cursor) {
+        logger.info("Listing inspectors - limit: {}, cursor: {}", limit, cursor);
+
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + maxPageSize);
+        }
+
+        Page<Inspector> page = inspectorRepository.findPage(limit, decodeCursor(cursor));
+
+        List<InspectorDTO> inspectors = page.items().stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (page.lastEvaluatedKey() != null && !page.lastEvaluatedKey().isEmpty() && !inspectors.isEmpty()) {
+            nextCursor = encodeCursor(inspectors.get(inspectors.size() - 1).getInspectorId());
+        }
+
+        return new InspectorPageDTO(inspectors, nextCursor);
+    }
+
+    /**
+     * Fetch several inspectors by ID with BatchGetItem, in request order; unknown IDs are skipped
+     */
+    public List<InspectorDTO> getInspectors(List<String> inspectorIds) {
+        logger.info("Getting {} inspectors by ID", inspectorIds.size());
+
+        if (inspectorIds.size() > maxImportSize) {
+            throw new IllegalArgumentException("At most " + maxImportSize + " IDs per request");
+        }
+
+        Map<String, Inspector> found = new HashMap<>();
+        for (Inspector inspector : inspectorRepository.findByInspectorIds(new LinkedHashSet<>(inspectorIds))) {
+            found.put(inspector.getInspectorId(), inspector);
+        }
+
+        return inspectorIds.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create many inspectors in one call
+     *
+     * Invalid rows, duplicate IDs within the request and IDs that already exist are
+     * rejected individually; the rest are hashed in parallel on the password pool and
+     * written with conditional puts, so an inspector created in the meantime (by another
+     * import or create-inspector) is rejected too instead of being overwritten.
+     */
+    public BulkImportResultDTO bulkImport(List<CreateInspectorRequest> requests) {
+        logger.info("Bulk importing {} inspectors", requests.size());
+
+        if (requests.size() > maxImportSize) {
+            throw new IllegalArgumentException("At most " + maxImportSize + " inspectors per import");
+        }
+
+        Map<String, String> rejected = new LinkedHashMap<>();
+        Map<String, CreateInspectorRequest> accepted = new LinkedHashMap<>();
+
+        for (CreateInspectorRequest request : requests) {
+            String inspectorId = request.getInspectorId();
+            String problem = validate(request);
+            if (problem != null) {
+                rejected.put(inspectorId != null ? inspectorId : "(missing id #" + rejected.size() + ")", problem);
+            } else if (accepted.containsKey(inspectorId)) {
+                rejected.put(inspectorId, "Duplicate inspectorId in request");
+            } else {
+                accepted.put(inspectorId, request);
+            }
+        }
+
+        for (Inspector existing : inspectorRepository.findByInspectorIds(accepted.keySet())) {
+            accepted.remove(existing.getInspectorId());
+            rejected.put(existing.getInspectorId(), "Inspector already exists");
+        }
+
+        List<CreateInspectorRequest> toCreate = new ArrayList<>(accepted.values());
+        List<String> hashes = passwordHashingService.encodeAll(toCreate.stream()
+                .map(CreateInspectorRequest::getPassword)
+                .collect(Collectors.toList()));
+
+        List<Inspector> inspectors = new ArrayList<>(toCreate.size());
+        for (int i = 0; i < toCreate.size(); i++) {
+            CreateInspectorRequest request = toCreate.get(i);
+            Inspector inspector = new Inspector();
+            inspector.setInspectorId(request.getInspectorId());
+            inspector.setName(request.getName());
+            inspector.setPassword(hashes.get(i));
+            inspector.setVehicleTagId(request.getVehicleTagId());
+            inspector.setActive(true);
+            inspectors.add(inspector);
+        }
+
+        List<Inspector> created = inspectorRepository.saveAllIfAbsent(inspectors);
+        created.forEach(inspectorDirectory::put);
+
+        if (created.size() < inspectors.size()) {
+            Set<String> createdIds = created.stream().map(Inspector::getInspectorId).collect(Collectors.toSet());
+            for (Inspector inspector : inspectors) {
+                if (!createdIds.contains(inspector.getInspectorId())) {
+                    accepted.remove(inspector.getInspectorId());
+                    rejected.put(inspector.getInspectorId(), "Inspector already exists");
+                }
+            }
+        }
+
+        logger.info("Bulk import complete - {} imported, {} rejected", created.size(), rejected.size());
+        return new BulkImportResultDTO(requests.size(), new ArrayList<>(accepted.keySet()), rejected);
+    }
+
+    /**
+     * Deactivate an inspector
+     *
+     * Login is refused from then on, and every refresh token of the inspector is revoked, so
+     * existing sessions end once their access token expires.
+     *
+     * @return the deactivated inspector, or empty if it does not exist
+     */
+    public Optional<InspectorDTO> deactivate(String inspectorId) {
+        logger.info("Deactivating inspector: {}", inspectorId);
+
+        Optional<Inspector> deactivated = inspectorRepository.updateActive(inspectorId, false);
+        if (deactivated.isEmpty()) {
+            return Optional.empty();
+        }
+
+        inspectorDirectory.put(deactivated.get());
+        refreshTokenService.revokeAll(inspectorId);
+        return deactivated.map(this::toDTO);
+    }
+
+    private String validate(CreateInspectorRequest request) {
+        if (isBlank(request.getInspectorId()) || isBlank(request.getName())
+                || isBlank(request.getVehicleTagId()) || isBlank(request.getPassword())) {
+            return "inspectorId, name, password, and vehicleTagId are required";
+        }
+        if (request.getPassword().length() < 6) {
+            return "Password must be at least 6 characters";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private InspectorDTO toDTO(Inspector inspector) {
+        return new InspectorDTO(
+                inspector.getInspectorId(),
+                inspector.getName(),
+                inspector.getVehicleTagId(),
+                inspector.getActive()
+        );
+    }
+
+    private static String encodeCursor(String inspectorId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(inspectorId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
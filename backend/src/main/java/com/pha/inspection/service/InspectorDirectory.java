@@ -0,0 +1,123 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.model.entity.Inspector;
+import com.pha.inspection.repository.InspectorRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inspector Directory
+ * Concurrent, TTL-bounded cache of Inspector records used by login
+ *
+ * All inspectors are loaded in bulk at startup from the INSPECTORS GSI1 partition and
+ * reloaded every inspectors.cache.refresh-seconds, so deactivations made elsewhere
+ * propagate within seconds. Entries older than inspectors.cache.ttl-seconds (e.g. when the
+ * background refresh keeps failing) are re-read from DynamoDB on access; if that read
+ * fails too the stale entry is served rather than blocking every login.
+ */
+@Service
+public class InspectorDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectorDirectory.class);
+
+    private final InspectorRepository inspectorRepository;
+    private final long ttlMs;
+
+    private final Map<String, CachedInspector> inspectors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InspectorDirectory(InspectorRepository inspectorRepository,
+                              @Value("${inspectors.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.inspectorRepository = inspectorRepository;
+        this.ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Find inspector by ID, from the cache when fresh
+     */
+    public Optional<Inspector> findByInspectorId(String inspectorId) {
+        CachedInspector cached = inspectors.get(inspectorId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAtMs < ttlMs) {
+            return Optional.of(cached.inspector);
+        }
+
+        try {
+            Optional<Inspector> inspector = inspectorRepository.findByInspectorId(inspectorId);
+            if (inspector.isPresent()) {
+                inspectors.put(inspectorId, new CachedInspector(inspector.get(), now));
+            } else {
+                inspectors.remove(inspectorId);
+            }
+            return inspector;
+        } catch (RuntimeException e) {
+            if (cached != null) {
+                logger.warn("Could not reload inspector {}, serving cached record: {}", inspectorId, e.getMessage());
+                return Optional.of(cached.inspector);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Add or replace an inspector after it was created or changed through this service
+     */
+    public void put(Inspector inspector) {
+        inspectors.put(inspector.getInspectorId(), new CachedInspector(inspector, System.currentTimeMillis()));
+    }
+
+    /**
+     * Remove an inspector from the cache
+     */
+    public void evict(String inspectorId) {
+        inspectors.remove(inspectorId);
+    }
+
+    /**
+     * Reload every inspector from the INSPECTORS partition
+     *
+     * Inspectors that are no longer in the table are dropped; entries written while the
+     * reload was running are kept.
+     */
+    @Scheduled(fixedDelayString = "${inspectors.cache.refresh-seconds:15}",
+            initialDelayString = "${inspectors.cache.refresh-seconds:15}",
+            timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        long startedAt = System.currentTimeMillis();
+        List<Inspector> loaded;
+        try {
+            loaded = inspectorRepository.findAll();
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh inspector directory: {}", e.getMessage());
+            return;
+        }
+
+        for (Inspector inspector : loaded) {
+            // The scan may predate a put() made while it ran (e.g. a deactivation): keep the newer entry
+            inspectors.compute(inspector.getInspectorId(), (id, cached) ->
+                    cached != null && cached.loadedAtMs >= startedAt ? cached : new CachedInspector(inspector, startedAt));
+        }
+        inspectors.values().removeIf(cached -> cached.loadedAtMs < startedAt);
+
+        logger.debug("Inspector directory refreshed with {} inspectors", loaded.size());
+    }
+
+    private record CachedInspector(Inspector inspector, long loadedAtMs) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.pha.inspection.service;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Knowledge base the chatbot answers from
+ * BedrockKnowledgeBaseClient calls Bedrock retrieve and generate (default);
+ * StubKnowledgeBaseClient answers locally when the "chatbot-stub" profile is active
+ */
+public interface KnowledgeBaseClient {
+
+    /**
+     * Answer a question (blocking)
+     */
+    String retrieveAndGenerate(String question);
+
+    /**
+     * Stream the answer to a question to the subscriber as it is generated, honouring its demand.
+     * The future completes when the call ends, exceptionally if it fails; cancelling it cancels the call.
+     */
+    CompletableFuture<Void> retrieveAndGenerateStream(String question, Subscriber<String> answerParts);
+}
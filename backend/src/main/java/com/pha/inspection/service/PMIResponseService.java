@@ -1,21 +1,29 @@
 package com.pha.inspection.service;
 
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
 import com.pha.inspection.model.dto.CreatePMIResponseRequest;
 import com.pha.inspection.model.dto.PMIResponseDTO;
 import com.pha.inspection.model.entity.PMIResponse;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -28,10 +36,16 @@ public class PMIResponseService {
     private static final Logger logger = LoggerFactory.getLogger(PMIResponseService.class);
 
     private final DynamoDbTable<PMIResponse> pmiResponseTable;
+    private final DynamoDbAsyncTable<PMIResponse> asyncPmiResponseTable;
+    private final InspectionChangeDispatcher changeDispatcher;
 
     @Autowired
-    public PMIResponseService(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        this.pmiResponseTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchema.fromBean(PMIResponse.class));
+    public PMIResponseService(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+                              DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient,
+                              InspectionChangeDispatcher changeDispatcher) {
+        this.pmiResponseTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchemas.PMI_RESPONSE);
+        this.asyncPmiResponseTable = dynamoDbEnhancedAsyncClient.table("pha-inspections", TableSchemas.PMI_RESPONSE);
+        this.changeDispatcher = changeDispatcher;
         logger.info("PMIResponseService initialized with DynamoDB table: pha-inspections");
     }
 
@@ -66,6 +80,24 @@ public class PMIResponseService {
         }
     }
 
+    /**
+     * Get all PMI responses for an inspection without blocking
+     * Reads only the PMI# range of the partition instead of filtering the whole partition
+     */
+    public CompletableFuture<List<PMIResponseDTO>> getResponsesBySoNumberAsync(String soNumber) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.sortBeginsWith(Key.builder()
+                        .partitionValue("INSPECTION#" + soNumber)
+                        .sortValue("PMI#")
+                        .build()))
+                .build();
+
+        List<PMIResponseDTO> responses = new ArrayList<>();
+        return asyncPmiResponseTable.query(queryRequest).items()
+                .subscribe(response -> responses.add(convertToDTO(response)))
+                .thenApply(done -> responses);
+    }
+
     /**
      * Get single PMI response by SO number and item ID
      */
@@ -120,7 +152,12 @@ public class PMIResponseService {
             response.setCreatedAt(Instant.now().toString());
 
             // Save to DynamoDB
-            pmiResponseTable.putItem(response);
+            PMIResponse previous = pmiResponseTable.putItemWithResponse(PutItemEnhancedRequest.builder(PMIResponse.class)
+                    .item(response)
+                    .returnValues(ReturnValue.ALL_OLD)
+                    .build())
+                    .attributes();
+            publishChange(InspectionChangeEvent.Type.PMI_RESPONSE_SAVED, previous, response);
 
             logger.info("PMI response saved successfully to DynamoDB");
             return convertToDTO(response);
@@ -149,6 +186,7 @@ public class PMIResponseService {
             
             boolean success = deleted != null;
             if (success) {
+                publishChange(InspectionChangeEvent.Type.PMI_RESPONSE_DELETED, deleted, null);
                 logger.info("PMI response deleted successfully from DynamoDB");
             } else {
                 logger.warn("PMI response not found for deletion");
@@ -161,6 +199,14 @@ public class PMIResponseService {
         }
     }
 
+    private void publishChange(InspectionChangeEvent.Type type, PMIResponse before, PMIResponse after) {
+        PMIResponse item = after != null ? after : before;
+        TableSchema<PMIResponse> schema = pmiResponseTable.tableSchema();
+        changeDispatcher.publish(new InspectionChangeEvent(type, item.getSoNumber(), item.getSK(),
+                InspectionChangeEvent.snapshot(schema, before),
+                InspectionChangeEvent.snapshot(schema, after)));
+    }
+
     /**
      * Convert entity to DTO
      */
@@ -0,0 +1,185 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.model.dto.LoginResponse;
+import com.pha.inspection.model.entity.Inspector;
+import com.pha.inspection.model.entity.RefreshToken;
+import com.pha.inspection.repository.RefreshTokenRepository;
+import com.pha.inspection.security.InvalidRefreshTokenException;
+import com.pha.inspection.security.JwtTokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Refresh Token Service
+ * Issues, rotates and revokes refresh tokens so short-lived access tokens can be renewed
+ * without repeating the BCrypt login
+ *
+ * A refresh costs one GetItem, one HMAC, a (usually cached) inspector lookup and two writes (mark old token rotated, store new one).
+ * Every refresh rotates the token; presenting a token that was already rotated or revoked
+ * is treated as theft and revokes every token descended from the same login (the family).
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final InspectorDirectory inspectorDirectory;
+    private final SecretKeySpec hmacKey;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtTokenProvider tokenProvider,
+                               InspectorDirectory inspectorDirectory,
+                               @Value("${jwt.refresh.secret:${jwt.secret}}") String refreshSecret,
+                               @Value("${jwt.refresh.expiration-days:30}") long refreshExpirationDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenProvider = tokenProvider;
+        this.inspectorDirectory = inspectorDirectory;
+        this.hmacKey = new SecretKeySpec(refreshSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.refreshExpiration = Duration.ofDays(refreshExpirationDays);
+    }
+
+    /**
+     * Issue the first refresh token of a new family (called after a successful login)
+     */
+    public String issue(String inspectorId) {
+        return create(inspectorId, UUID.randomUUID().toString()).rawToken;
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or already used,
+     *                                      or the inspector no longer exists or is inactive
+     */
+    public LoginResponse refresh(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        if (current.isExpired()) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        if (Boolean.TRUE.equals(current.getRevoked()) || current.getReplacedBy() != null) {
+            logger.warn("Refresh token reuse detected for inspector {}, revoking family {}",
+                    current.getInspectorId(), current.getFamilyId());
+            revokeFamily(current.getInspectorId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        // Cached directory, falls back to DynamoDB on miss (deactivation updates it directly)
+        Inspector inspector = inspectorDirectory.findByInspectorId(current.getInspectorId()).orElse(null);
+        if (inspector == null || !Boolean.TRUE.equals(inspector.getActive())) {
+            logger.warn("Refresh refused for missing or inactive inspector {}", current.getInspectorId());
+            revokeFamily(current.getInspectorId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Inspector account is inactive");
+        }
+
+        IssuedToken next = create(current.getInspectorId(), current.getFamilyId());
+        if (!refreshTokenRepository.markReplaced(current, next.tokenHash)) {
+            // Lost a race with another refresh of the same token
+            logger.warn("Concurrent refresh detected for inspector {}, revoking family {}",
+                    current.getInspectorId(), current.getFamilyId());
+            revokeFamily(current.getInspectorId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        LoginResponse response = new LoginResponse(
+                tokenProvider.generateToken(current.getInspectorId()),
+                tokenProvider.getExpirationMs(),
+                null
+        );
+        response.setRefreshToken(next.rawToken);
+        response.setRefreshExpiresIn(refreshExpiration.toMillis());
+
+        logger.info("Refreshed access token for inspector: {}", current.getInspectorId());
+        return response;
+    }
+
+    /**
+     * Revoke the family of the given refresh token (logout from one device)
+     *
+     * Unknown or expired tokens are ignored so logout is idempotent.
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> revokeFamily(token.getInspectorId(), token.getFamilyId()));
+    }
+
+    /**
+     * Revoke every refresh token of an inspector (logout everywhere, deactivated accounts)
+     */
+    public void revokeAll(String inspectorId) {
+        revokeFamily(inspectorId, null);
+    }
+
+    /**
+     * Refresh token lifetime in milliseconds
+     */
+    public long getRefreshExpirationMs() {
+        return refreshExpiration.toMillis();
+    }
+
+    private void revokeFamily(String inspectorId, String familyId) {
+        int revoked = 0;
+        for (RefreshToken token : refreshTokenRepository.findByInspectorId(inspectorId, familyId)) {
+            // Rotated and revoked tokens can no longer be exchanged, only the live one needs a write
+            if (Boolean.TRUE.equals(token.getRevoked()) || token.getReplacedBy() != null) {
+                continue;
+            }
+            refreshTokenRepository.revoke(token.getTokenHash());
+            revoked++;
+        }
+        logger.info("Revoked {} refresh tokens for inspector {}", revoked, inspectorId);
+    }
+
+    private IssuedToken create(String inspectorId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setInspectorId(inspectorId);
+        token.setFamilyId(familyId);
+        token.setTtl(Instant.now().plus(refreshExpiration).getEpochSecond());
+        refreshTokenRepository.save(token);
+
+        return new IssuedToken(rawToken, token.getTokenHash());
+    }
+
+    private String hash(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            byte[] digest = mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private record IssuedToken(String rawToken, String tokenHash) {
+    }
+}
@@ -1,22 +1,30 @@
 package com.pha.inspection.service;
 
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
 import com.pha.inspection.model.dto.CreateResponseRequest;
 import com.pha.inspection.model.dto.ResponseDTO;
 import com.pha.inspection.model.entity.InspectionResponse;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -33,11 +41,17 @@ public class ResponseService {
     private static final Logger logger = LoggerFactory.getLogger(ResponseService.class);
 
     private final DynamoDbTable<InspectionResponse> responseTable;
+    private final DynamoDbAsyncTable<InspectionResponse> asyncResponseTable;
+    private final InspectionChangeDispatcher changeDispatcher;
 
     @Autowired
     public ResponseService(DynamoDbEnhancedClient enhancedClient,
+                          DynamoDbEnhancedAsyncClient enhancedAsyncClient,
+                          InspectionChangeDispatcher changeDispatcher,
                           @Value("${aws.dynamodb.table-name}") String tableName) {
-        this.responseTable = enhancedClient.table(tableName, TableSchema.fromBean(InspectionResponse.class));
+        this.responseTable = enhancedClient.table(tableName, TableSchemas.RESPONSE);
+        this.asyncResponseTable = enhancedAsyncClient.table(tableName, TableSchemas.RESPONSE);
+        this.changeDispatcher = changeDispatcher;
     }
 
     /**
@@ -46,7 +60,13 @@ public class ResponseService {
      */
     public List<ResponseDTO> getResponsesBySoNumber(String soNumber) {
         logger.info("Getting responses for SO: {}", soNumber);
+        return findResponses(soNumber);
+    }
 
+    /**
+     * Get all responses for an inspection without per-call logging (bulk readers such as the export)
+     */
+    public List<ResponseDTO> findResponses(String soNumber) {
         try {
             QueryEnhancedRequest query = QueryEnhancedRequest.builder()
                     .queryConditional(QueryConditional.sortBeginsWith(
@@ -68,6 +88,32 @@ public class ResponseService {
         }
     }
 
+    /**
+     * Non-blocking variant of findResponses for fan-out readers (bundle fetch, export prefetch)
+     *
+     * Unlike the blocking variant, completes exceptionally on failure: an empty list would
+     * look like an inspection without responses in the bundle and the export.
+     */
+    public CompletableFuture<List<ResponseDTO>> findResponsesAsync(String soNumber) {
+        QueryEnhancedRequest query = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.sortBeginsWith(
+                        Key.builder()
+                                .partitionValue("INSPECTION#" + soNumber)
+                                .sortValue("RESPONSE#")
+                                .build()))
+                .build();
+
+        List<ResponseDTO> responses = new ArrayList<>();
+        return asyncResponseTable.query(query).items()
+                .subscribe(response -> responses.add(convertToDTO(response)))
+                .thenApply(done -> responses)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        logger.error("Error getting responses for SO: {}", soNumber, e);
+                    }
+                });
+    }
+
     /**
      * Get single response by SO number and item ID
      * Uses DynamoDB GetItem with composite key
@@ -121,8 +167,13 @@ public class ResponseService {
             response.setCreatedAt(Instant.now().toString());
 
             // Note: PK and SK are already set by the constructor
-            // Store response in DynamoDB
-            responseTable.putItem(response);
+            // Store response in DynamoDB (ALL_OLD gives the replaced response to change log subscribers)
+            InspectionResponse previous = responseTable.putItemWithResponse(PutItemEnhancedRequest.builder(InspectionResponse.class)
+                    .item(response)
+                    .returnValues(ReturnValue.ALL_OLD)
+                    .build())
+                    .attributes();
+            publishChange(InspectionChangeEvent.Type.RESPONSE_SAVED, response.getSK(), previous, response);
 
             logger.info("Response saved successfully to DynamoDB");
             return convertToDTO(response);
@@ -148,7 +199,10 @@ public class ResponseService {
                     .sortValue("RESPONSE#" + itemId)
                     .build();
 
-            responseTable.deleteItem(key);
+            InspectionResponse deleted = responseTable.deleteItem(key);
+            if (deleted != null) {
+                publishChange(InspectionChangeEvent.Type.RESPONSE_DELETED, deleted.getSK(), deleted, null);
+            }
             logger.info("Response deleted successfully from DynamoDB");
             return true;
         } catch (Exception e) {
@@ -187,6 +241,15 @@ public class ResponseService {
         }
     }
 
+    private void publishChange(InspectionChangeEvent.Type type, String sortKey,
+                               InspectionResponse before, InspectionResponse after) {
+        InspectionResponse item = after != null ? after : before;
+        TableSchema<InspectionResponse> schema = responseTable.tableSchema();
+        changeDispatcher.publish(new InspectionChangeEvent(type, item.getSoNumber(), sortKey,
+                InspectionChangeEvent.snapshot(schema, before),
+                InspectionChangeEvent.snapshot(schema, after)));
+    }
+
     /**
      * Convert entity to DTO
      */
@@ -1,12 +1,17 @@
 package com.pha.inspection.service;
 
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
 import com.pha.inspection.model.dto.InspectionSignatureDTO;
 import com.pha.inspection.model.dto.UploadSignatureRequest;
 import com.pha.inspection.model.entity.InspectionSignature;
+import com.pha.inspection.model.entity.TableSchemas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
@@ -17,6 +22,7 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,10 +30,16 @@ public class SignatureService {
     private static final Logger log = LoggerFactory.getLogger(SignatureService.class);
 
     private final DynamoDbTable<InspectionSignature> signatureTable;
+    private final DynamoDbAsyncTable<InspectionSignature> asyncSignatureTable;
+    private final InspectionChangeDispatcher changeDispatcher;
 
     @Autowired
-    public SignatureService(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        this.signatureTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchema.fromBean(InspectionSignature.class));
+    public SignatureService(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+                            DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient,
+                            InspectionChangeDispatcher changeDispatcher) {
+        this.signatureTable = dynamoDbEnhancedClient.table("pha-inspections", TableSchemas.SIGNATURE);
+        this.asyncSignatureTable = dynamoDbEnhancedAsyncClient.table("pha-inspections", TableSchemas.SIGNATURE);
+        this.changeDispatcher = changeDispatcher;
         log.info("SignatureService initialized with DynamoDB table: pha-inspections");
     }
 
@@ -60,6 +72,7 @@ public class SignatureService {
 
             // Save to DynamoDB
             signatureTable.putItem(signature);
+            publishChange(InspectionChangeEvent.Type.SIGNATURE_UPLOADED, null, signature);
 
             log.info("Signature uploaded successfully to DynamoDB: {}", signatureId);
 
@@ -100,6 +113,24 @@ public class SignatureService {
         }
     }
 
+    // MARK: - Get Signatures by Inspection (non-blocking, SIGNATURE# range only)
+    public CompletableFuture<List<InspectionSignatureDTO>> getSignaturesByInspectionAsync(String soNumber) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.sortBeginsWith(Key.builder()
+                        .partitionValue("INSPECTION#" + soNumber)
+                        .sortValue("SIGNATURE#")
+                        .build()))
+                .build();
+
+        List<InspectionSignature> signatures = new ArrayList<>();
+        return asyncSignatureTable.query(queryRequest).items()
+                .subscribe(signatures::add)
+                .thenApply(done -> signatures.stream()
+                        .sorted(Comparator.comparing(InspectionSignature::getSignedAt).reversed())
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList()));
+    }
+
     // MARK: - Get Signature by ID
     public InspectionSignatureDTO getSignatureById(String soNumber, String signatureId) {
         log.info("Getting signature: {} for SO: {}", signatureId, soNumber);
@@ -145,6 +176,7 @@ public class SignatureService {
             if (deleted == null) {
                 throw new RuntimeException("Signature not found: " + signatureId);
             }
+            publishChange(InspectionChangeEvent.Type.SIGNATURE_DELETED, deleted, null);
 
             log.info("Signature deleted successfully from DynamoDB: {}", signatureId);
         } catch (Exception e) {
@@ -153,6 +185,14 @@ public class SignatureService {
         }
     }
 
+    private void publishChange(InspectionChangeEvent.Type type, InspectionSignature before, InspectionSignature after) {
+        InspectionSignature item = after != null ? after : before;
+        TableSchema<InspectionSignature> schema = signatureTable.tableSchema();
+        changeDispatcher.publish(new InspectionChangeEvent(type, item.getSoNumber(), item.getSK(),
+                InspectionChangeEvent.snapshot(schema, before),
+                InspectionChangeEvent.snapshot(schema, after)));
+    }
+
     /**
      * Convert entity to DTO
      */
@@ -0,0 +1,65 @@
+package com.pha.inspection.service;
+
+import org.reactivestreams.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the Bedrock knowledge base, active with the "chatbot-stub" profile
+ *
+ * Answers every question with a canned text after chatbot.stub.latency-ms, without AWS
+ * credentials or cost, for development, load tests and tuning the answer cache. Streamed
+ * answers are sent word by word.
+ */
+@Component
+@Lazy
+@Profile("chatbot-stub")
+public class StubKnowledgeBaseClient implements KnowledgeBaseClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubKnowledgeBaseClient.class);
+
+    private final long latencyMs;
+
+    public StubKnowledgeBaseClient(@Value("${chatbot.stub.latency-ms:1000}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public String retrieveAndGenerate(String question) {
+        logger.debug("Stub knowledge base query: {}", question);
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Stub knowledge base query interrupted", e);
+        }
+        return answer(question);
+    }
+
+    @Override
+    public CompletableFuture<Void> retrieveAndGenerateStream(String question, Subscriber<String> answerParts) {
+        logger.debug("Stub knowledge base stream query: {}", question);
+        List<String> parts = new ArrayList<>();
+        for (String word : answer(question).split(" ")) {
+            parts.add(parts.isEmpty() ? word : " " + word);
+        }
+
+        AnswerPartsPublisher publisher = new AnswerPartsPublisher(parts);
+        CompletableFuture.runAsync(() -> publisher.subscribe(answerParts),
+                CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS));
+        return publisher.done();
+    }
+
+    private static String answer(String question) {
+        return "This is a stub answer from the local knowledge base to the question: " + question;
+    }
+}
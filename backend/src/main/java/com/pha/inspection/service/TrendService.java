@@ -0,0 +1,416 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
+import com.pha.inspection.event.InspectionChangeListener;
+import com.pha.inspection.model.dto.TrendPointDTO;
+import com.pha.inspection.model.dto.TrendSeriesDTO;
+import com.pha.inspection.repository.ChangeLogCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Trend Service - DynamoDB Implementation
+ * Maintains pre-bucketed inspection status rollups and serves time-series queries from them
+ *
+ * Rollups are updated incrementally from the inspection change log: every time an
+ * inspection enters a status (created as New, moved to InProgress, submitted as Closed)
+ * one counter is added for that day, site and status. The last applied sequence is saved
+ * as this subscriber's checkpoint (ChangeLogCheckpointRepository) and the log is replayed
+ * from it on start.
+ *
+ * Every rollup item records the last sequence added to it from each change log
+ * (lastSeq_{logId}) and is only updated if that is older than the events being added, in the
+ * same UpdateItem, so replaying events that were already applied never counts them twice.
+ * Sequences of different logs (instances, deployments) are never compared with each other.
+ * Events that are skipped as already applied are counted in rollup.events.skipped.
+ *
+ * Storage Pattern (one partition per year and site, one item per month, one counter
+ * attribute per day and status):
+ * - PK: "ROLLUP#TREND#{yyyy}#SITE#{siteCode}"
+ * - SK: "MONTH#{MM}"
+ * - D{dd}_{status}: number of inspections that entered {status} on that day
+ * - lastSeq_{logId}: last sequence of change log {logId} applied to the item
+ *
+ * Sites with rollups in a year are listed in PK "ROLLUP#TREND#{yyyy}#SITES", SK "SITE#{siteCode}".
+ *
+ * A 365-day chart for one site is one Query per calendar year returning up to 12 items;
+ * all sites is one more Query per year for the site list and one per site.
+ */
+@Service
+public class TrendService implements InspectionChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendService.class);
+
+    private static final String SUBSCRIBER = "trends";
+    private static final String PK_PREFIX = "ROLLUP#TREND#";
+    private static final String SITES_SUFFIX = "#SITES";
+    private static final String SEQUENCE_PREFIX = "lastSeq_";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final InspectionChangeDispatcher changeDispatcher;
+    private final ChangeLogCheckpointRepository checkpoints;
+    private final String tableName;
+    private final ZoneId zoneId;
+    private final boolean enabled;
+    private final Counter skippedEvents;
+
+    // Last change log sequence applied (and saved as this subscriber's checkpoint)
+    private volatile long appliedSequence = NO_CHECKPOINT;
+
+    // Change log the sequences belong to
+    private volatile String logId;
+
+    // "yyyy|siteCode" already in the site list; only touched from the dispatcher thread
+    private final Set<String> listedSites = new HashSet<>();
+
+    @Autowired
+    public TrendService(DynamoDbClient dynamoDbClient,
+                        InspectionChangeDispatcher changeDispatcher,
+                        ChangeLogCheckpointRepository checkpoints,
+                        MeterRegistry meterRegistry,
+                        @Value("${aws.dynamodb.table-name}") String tableName,
+                        @Value("${trends.zone-id:America/New_York}") String zoneId,
+                        @Value("${trends.enabled:true}") boolean enabled) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.changeDispatcher = changeDispatcher;
+        this.checkpoints = checkpoints;
+        this.tableName = tableName;
+        this.zoneId = ZoneId.of(zoneId);
+        this.enabled = enabled;
+        this.skippedEvents = Counter.builder("rollup.events.skipped")
+                .tag("subscriber", SUBSCRIBER)
+                .description("Change log events not added to a rollup because it had already applied them")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && changeDispatcher.isEnabled()) {
+            // Without a checkpoint in this log (first start, or a new log after a redeploy) begin
+            // with the events published from now on; checkpoints of other logs do not apply to it
+            logId = changeDispatcher.getLogId();
+            appliedSequence = checkpoints.find(SUBSCRIBER, logId).orElse(changeDispatcher.getLastSequence());
+            changeDispatcher.subscribe(this);
+        }
+    }
+
+    @Override
+    public long checkpoint() {
+        return appliedSequence;
+    }
+
+    /**
+     * Get bucketed status counts between two dates (inclusive)
+     *
+     * @param granularity day, week (ISO weeks starting Monday) or month
+     * @param siteCode    optional - restrict to one site
+     * @param area        optional - SS = 9xx, CS = 8xx, AMPB = 7xx, PAPMC = 6xx
+     * @param status      optional - restrict to one status
+     */
+    public TrendSeriesDTO getTrends(String granularity, LocalDate from, LocalDate to,
+                                    String siteCode, String area, String status) {
+        logger.info("Getting trends - granularity: {}, from: {}, to: {}, siteCode: {}, area: {}, status: {}",
+                granularity, from, to, siteCode, area, status);
+
+        if (!"day".equals(granularity) && !"week".equals(granularity) && !"month".equals(granularity)) {
+            throw new IllegalArgumentException("Invalid granularity. Must be 'day', 'week', or 'month'");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        // (bucket, site, status) -> count, kept sorted for a stable response
+        Map<List<String>, Long> buckets = new TreeMap<>(Comparator
+                .comparing((List<String> k) -> k.get(0))
+                .thenComparing(k -> k.get(1))
+                .thenComparing(k -> k.get(2)));
+
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            int firstMonth = year == from.getYear() ? from.getMonthValue() : 1;
+            int lastMonth = year == to.getYear() ? to.getMonthValue() : 12;
+
+            List<String> sites = siteCode != null && !siteCode.isEmpty() ? List.of(siteCode) : querySites(year);
+            for (String itemSite : sites) {
+                if (!matchesArea(itemSite, area)) {
+                    continue;
+                }
+                for (Map<String, AttributeValue> item : queryRollups(year, itemSite, firstMonth, lastMonth)) {
+                    addCounters(buckets, item, year, itemSite, granularity, from, to, status);
+                }
+            }
+        }
+
+        List<TrendPointDTO> points = new ArrayList<>(buckets.size());
+        buckets.forEach((key, count) -> points.add(new TrendPointDTO(key.get(0), key.get(1), key.get(2), count)));
+
+        logger.info("Trend series generated with {} points", points.size());
+        return new TrendSeriesDTO(granularity, from.toString(), to.toString(), points);
+    }
+
+    /**
+     * Add the day counters of one rollup item that fall between from and to to their buckets
+     */
+    private void addCounters(Map<List<String>, Long> buckets, Map<String, AttributeValue> item, int year,
+                             String itemSite, String granularity, LocalDate from, LocalDate to, String status) {
+        int month = Integer.parseInt(item.get("SK").s().substring(item.get("SK").s().length() - 2));
+
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            String name = attribute.getKey();
+            if (!name.startsWith("D") || name.indexOf('_') != 3) {
+                continue;
+            }
+            String dayStatus = name.substring(4);
+            if (status != null && !status.isEmpty() && !status.equals(dayStatus)) {
+                continue;
+            }
+            LocalDate day = LocalDate.of(year, month, Integer.parseInt(name.substring(1, 3)));
+            if (day.isBefore(from) || day.isAfter(to)) {
+                continue;
+            }
+
+            List<String> key = List.of(bucketStart(day, granularity).toString(), itemSite, dayStatus);
+            buckets.merge(key, Long.parseLong(attribute.getValue().n()), Long::sum);
+        }
+    }
+
+    /**
+     * Fold a batch of change events into per-item counters and apply each item with one UpdateItem
+     *
+     * Throws if an item could not be updated, so that the dispatcher replays the batch from the
+     * checkpoint; items that were already updated skip the events they have applied.
+     */
+    @Override
+    public void onChanges(List<InspectionChangeEvent> events) {
+        // "yyyy|siteCode|MM" -> (sequence -> counter attribute), one counter per event
+        Map<String, TreeMap<Long, String>> counters = new LinkedHashMap<>();
+        Map<String, String> siteNames = new HashMap<>();
+
+        for (InspectionChangeEvent event : events) {
+            if (event.getType() != InspectionChangeEvent.Type.INSPECTION_CREATED
+                    && event.getType() != InspectionChangeEvent.Type.INSPECTION_UPDATED
+                    && event.getType() != InspectionChangeEvent.Type.INSPECTION_SUBMITTED) {
+                continue;
+            }
+
+            String newStatus = event.afterValue("status");
+            String siteCode = event.afterValue("siteCode");
+            if (newStatus == null || siteCode == null || newStatus.equals(event.beforeValue("status"))) {
+                continue;
+            }
+
+            LocalDate day = LocalDate.ofInstant(Instant.parse(event.getOccurredAt()), zoneId);
+            String itemKey = String.format("%d|%s|%02d", day.getYear(), siteCode, day.getMonthValue());
+            String counter = String.format("D%02d_%s", day.getDayOfMonth(), newStatus);
+
+            counters.computeIfAbsent(itemKey, k -> new TreeMap<>()).put(event.getSequence(), counter);
+            if (event.afterValue("siteName") != null) {
+                siteNames.put(itemKey, event.afterValue("siteName"));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (Map.Entry<String, TreeMap<Long, String>> entry : counters.entrySet()) {
+            String[] key = entry.getKey().split("\\|", 3);
+            try {
+                applyCounters(Integer.parseInt(key[0]), key[1], "MONTH#" + key[2], siteNames.get(entry.getKey()), entry.getValue());
+            } catch (RuntimeException e) {
+                logger.error("Error updating trend rollup {} {} {} with {}", key[0], key[1], key[2], entry.getValue(), e);
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        // After a restart the dispatcher replays the log from here
+        long last = events.get(events.size() - 1).getSequence();
+        checkpoints.save(SUBSCRIBER, logId, last);
+        appliedSequence = last;
+    }
+
+    /**
+     * Add the counters of the given events (by sequence) that the item has not applied yet
+     */
+    private void applyCounters(int year, String siteCode, String sk, String siteName, TreeMap<Long, String> counters) {
+        listSite(year, siteCode, siteName);
+
+        String pk = sitePartition(year, siteCode);
+        SortedMap<Long, String> pending = counters;
+        while (!pending.isEmpty()) {
+            try {
+                updateRollup(pk, sk, siteCode, siteName, pending);
+                return;
+            } catch (ConditionalCheckFailedException e) {
+                // Some of these events were applied before (replay of this log): add only the newer ones
+                long itemSequence = Long.parseLong(e.item().get(SEQUENCE_PREFIX + logId).n());
+                SortedMap<Long, String> newer = counters.tailMap(itemSequence, false);
+                int skipped = pending.size() - newer.size();
+                skippedEvents.increment(skipped);
+                logger.info("Trend rollup {} {} already applied sequence {} of log {}, skipped {} events",
+                        pk, sk, itemSequence, logId, skipped);
+                pending = newer;
+            }
+        }
+    }
+
+    private void updateRollup(String pk, String sk, String siteCode, String siteName, SortedMap<Long, String> pending) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        pending.values().forEach(counter -> deltas.merge(counter, 1L, Long::sum));
+
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        StringBuilder expression = new StringBuilder("ADD ");
+        names.put("#seq", SEQUENCE_PREFIX + logId);
+
+        int i = 0;
+        for (Map.Entry<String, Long> counter : deltas.entrySet()) {
+            if (i > 0) {
+                expression.append(", ");
+            }
+            expression.append("#c").append(i).append(" :c").append(i);
+            names.put("#c" + i, counter.getKey());
+            values.put(":c" + i, AttributeValue.builder().n(Long.toString(counter.getValue())).build());
+            i++;
+        }
+
+        // siteCode is stored on the item so reads do not have to parse it out of the key
+        expression.append(" SET EntityType = :entityType, siteCode = :siteCode, #seq = :lastSeq");
+        values.put(":entityType", AttributeValue.builder().s("TrendRollup").build());
+        values.put(":siteCode", AttributeValue.builder().s(siteCode).build());
+        values.put(":firstSeq", AttributeValue.builder().n(Long.toString(pending.firstKey())).build());
+        values.put(":lastSeq", AttributeValue.builder().n(Long.toString(pending.lastKey())).build());
+        if (siteName != null) {
+            expression.append(", siteName = :siteName");
+            values.put(":siteName", AttributeValue.builder().s(siteName).build());
+        }
+
+        dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s(pk).build(),
+                        "SK", AttributeValue.builder().s(sk).build()))
+                .updateExpression(expression.toString())
+                .conditionExpression("attribute_not_exists(#seq) OR #seq < :firstSeq")
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build());
+    }
+
+    /**
+     * Add a site to the site list of a year, once per year and site while the service runs
+     */
+    private void listSite(int year, String siteCode, String siteName) {
+        if (listedSites.contains(year + "|" + siteCode)) {
+            return;
+        }
+
+        Map<String, AttributeValue> values = new HashMap<>();
+        StringBuilder expression = new StringBuilder("SET EntityType = :entityType, siteCode = :siteCode");
+        values.put(":entityType", AttributeValue.builder().s("TrendRollupSite").build());
+        values.put(":siteCode", AttributeValue.builder().s(siteCode).build());
+        if (siteName != null) {
+            expression.append(", siteName = :siteName");
+            values.put(":siteName", AttributeValue.builder().s(siteName).build());
+        }
+
+        dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s(PK_PREFIX + year + SITES_SUFFIX).build(),
+                        "SK", AttributeValue.builder().s("SITE#" + siteCode).build()))
+                .updateExpression(expression.toString())
+                .expressionAttributeValues(values)
+                .build());
+        listedSites.add(year + "|" + siteCode);
+    }
+
+    /**
+     * Site codes with rollups in a year
+     */
+    private List<String> querySites(int year) {
+        QueryRequest request = QueryRequest.builder()
+                .tableName(tableName)
+                .keyConditionExpression("PK = :pk")
+                .expressionAttributeValues(Map.of(":pk", AttributeValue.builder().s(PK_PREFIX + year + SITES_SUFFIX).build()))
+                .build();
+
+        List<String> sites = new ArrayList<>();
+        for (QueryResponse page : dynamoDbClient.queryPaginator(request)) {
+            for (Map<String, AttributeValue> item : page.items()) {
+                sites.add(item.get("siteCode").s());
+            }
+        }
+        return sites;
+    }
+
+    /**
+     * Query the rollup items of one site and year in a month range
+     */
+    private List<Map<String, AttributeValue>> queryRollups(int year, String siteCode, int firstMonth, int lastMonth) {
+        QueryRequest request = QueryRequest.builder()
+                .tableName(tableName)
+                .keyConditionExpression("PK = :pk AND SK BETWEEN :fromSk AND :toSk")
+                .expressionAttributeValues(Map.of(
+                        ":pk", AttributeValue.builder().s(sitePartition(year, siteCode)).build(),
+                        ":fromSk", AttributeValue.builder().s(String.format("MONTH#%02d", firstMonth)).build(),
+                        ":toSk", AttributeValue.builder().s(String.format("MONTH#%02d", lastMonth)).build()))
+                .build();
+
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (QueryResponse page : dynamoDbClient.queryPaginator(request)) {
+            items.addAll(page.items());
+        }
+        return items;
+    }
+
+    private static String sitePartition(int year, String siteCode) {
+        return PK_PREFIX + year + "#SITE#" + siteCode;
+    }
+
+    private LocalDate bucketStart(LocalDate day, String granularity) {
+        return switch (granularity) {
+            case "week" -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> day.withDayOfMonth(1);
+            default -> day;
+        };
+    }
+
+    /**
+     * Area filter (site code prefix mapping), same as the dashboard summary
+     */
+    private boolean matchesArea(String siteCode, String area) {
+        if (area == null || area.isEmpty() || siteCode == null || siteCode.isEmpty()) {
+            return true;
+        }
+        char firstChar = siteCode.charAt(0);
+        return switch (area) {
+            case "SS" -> firstChar == '9';
+            case "CS" -> firstChar == '8';
+            case "AMPB" -> firstChar == '7';
+            case "PAPMC" -> firstChar == '6';
+            default -> true;
+        };
+    }
+}
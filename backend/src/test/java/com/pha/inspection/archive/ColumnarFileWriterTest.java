@@ -0,0 +1,89 @@
+package com.pha.inspection.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rowsRoundTripWithMissingAndEmptyValues() throws IOException {
+        List<Map<String, String>> rows = List.of(
+                row("PK", "INSPECTION#3184948", "SK", "METADATA", "siteCode", "901", "notes", ""),
+                row("PK", "INSPECTION#3184948", "SK", "RESPONSE#K001", "response", "Déf, \"urgent\"\nline 2"),
+                row("PK", "INSPECTION#3184949", "SK", "METADATA", "siteCode", "801"));
+        Path file = directory.resolve("inspections").resolve("dt=2025-05").resolve("part-1-0" + ColumnarFileWriter.FILE_SUFFIX);
+
+        ColumnarFileWriter.write(file, rows);
+
+        assertEquals(rows, ColumnarFileReader.read(file, null));
+        try (Stream<Path> listing = Files.list(file.getParent())) {
+            assertEquals(List.of(file), listing.toList());
+        }
+    }
+
+    @Test
+    void readsOnlyTheRequestedColumns() throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(row("PK", "INSPECTION#" + (3184948 + i), "siteCode", Integer.toString(900 + i % 7), "unitNumber", "U" + i));
+        }
+        Path file = directory.resolve("part" + ColumnarFileWriter.FILE_SUFFIX);
+
+        ColumnarFileWriter.write(file, rows);
+        List<Map<String, String>> read = ColumnarFileReader.read(file, List.of("siteCode", "missing"));
+
+        assertEquals(1000, read.size());
+        assertEquals(Map.of("siteCode", "900"), read.get(0));
+        assertEquals(Map.of("siteCode", "905"), read.get(999));
+    }
+
+    @Test
+    void emptyFileHasNoRows() throws IOException {
+        Path file = directory.resolve("empty" + ColumnarFileWriter.FILE_SUFFIX);
+
+        ColumnarFileWriter.write(file, List.of());
+
+        assertEquals(List.of(), ColumnarFileReader.read(file, null));
+    }
+
+    @Test
+    void rewritingAFileReplacesIt() throws IOException {
+        Path file = directory.resolve("part" + ColumnarFileWriter.FILE_SUFFIX);
+
+        ColumnarFileWriter.write(file, List.of(row("PK", "A"), row("PK", "B")));
+        ColumnarFileWriter.write(file, List.of(row("SK", "C")));
+
+        assertEquals(List.of(row("SK", "C")), ColumnarFileReader.read(file, null));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = Files.writeString(directory.resolve("other" + ColumnarFileWriter.FILE_SUFFIX),
+                "PK,SK\nINSPECTION#3184948,METADATA\n");
+
+        assertThrows(IOException.class, () -> ColumnarFileReader.read(file, null));
+    }
+
+    private static Map<String, String> row(String... namesAndValues) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            row.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,166 @@
+package com.pha.inspection.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ChangeLogFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rollsOverToANewSegmentNamedAfterItsFirstSequence() throws IOException {
+        // Every batch is larger than one byte, so each append after the first starts a new segment
+        ChangeLogFile log = new ChangeLogFile(directory, 1, false, objectMapper);
+        log.open();
+        log.append(events(1, 2));
+        log.append(events(3, 5));
+        log.append(events(6, 6));
+        log.close();
+
+        assertEquals(List.of(
+                "changes-00000000000000000001.ndjson",
+                "changes-00000000000000000003.ndjson",
+                "changes-00000000000000000006.ndjson"), segmentNames());
+    }
+
+    @Test
+    void keepsAppendingToTheCurrentSegmentUntilItIsFull() throws IOException {
+        ChangeLogFile log = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        log.open();
+        log.append(events(1, 2));
+        log.append(events(3, 5));
+        log.close();
+
+        assertEquals(List.of("changes-00000000000000000001.ndjson"), segmentNames());
+    }
+
+    @Test
+    void replaysEventsAfterASequenceAcrossSegments() throws IOException {
+        ChangeLogFile log = new ChangeLogFile(directory, 1, false, objectMapper);
+        log.open();
+        log.append(events(1, 3));
+        log.append(events(4, 6));
+        log.append(events(7, 9));
+
+        List<Long> replayed = new ArrayList<>();
+        long last = log.replay(4, event -> replayed.add(event.getSequence()));
+        log.close();
+
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L), replayed);
+        assertEquals(9, last);
+    }
+
+    @Test
+    void replayFromTheEndReturnsThePosition() throws IOException {
+        ChangeLogFile log = new ChangeLogFile(directory, 1, false, objectMapper);
+        log.open();
+        log.append(events(1, 3));
+
+        List<Long> replayed = new ArrayList<>();
+        assertEquals(3, log.replay(3, event -> replayed.add(event.getSequence())));
+        log.close();
+
+        assertEquals(List.of(), replayed);
+    }
+
+    @Test
+    void reopenReturnsTheLastSequenceAndContinuesInANewSegment() throws IOException {
+        ChangeLogFile log = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        assertEquals(0, log.open());
+        log.append(events(1, 4));
+        log.close();
+
+        ChangeLogFile reopened = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        assertEquals(4, reopened.open());
+        reopened.append(events(5, 6));
+
+        List<Long> replayed = new ArrayList<>();
+        reopened.replay(0, event -> replayed.add(event.getSequence()));
+        reopened.close();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), replayed);
+        assertEquals(List.of(
+                "changes-00000000000000000001.ndjson",
+                "changes-00000000000000000005.ndjson"), segmentNames());
+    }
+
+    @Test
+    void replaySkipsTornLinesAndEventsLoggedTwice() throws IOException {
+        // A failed append may leave part of a batch (and a torn line) before it is appended again
+        Path segment = directory.resolve("changes-00000000000000000001.ndjson");
+        StringBuilder content = new StringBuilder();
+        for (InspectionChangeEvent event : events(1, 3)) {
+            content.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        content.append("{\"sequence\":4,\"type\":\"RESP");
+        Files.writeString(segment, content);
+
+        ChangeLogFile log = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        assertEquals(3, log.open());
+        log.append(events(2, 5));
+
+        List<Long> replayed = new ArrayList<>();
+        long last = log.replay(0, event -> replayed.add(event.getSequence()));
+        log.close();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), replayed);
+        assertEquals(5, last);
+    }
+
+    @Test
+    void keepsItsIdAcrossReopensUntilTheSegmentsAreGone() throws IOException {
+        ChangeLogFile log = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        log.open();
+        String logId = log.logId();
+        log.append(events(1, 2));
+        log.close();
+
+        ChangeLogFile reopened = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        reopened.open();
+        reopened.close();
+        assertEquals(logId, reopened.logId());
+
+        // Without its segments the directory holds a new log that starts again at sequence 1
+        Files.delete(directory.resolve("changes-00000000000000000001.ndjson"));
+        ChangeLogFile emptied = new ChangeLogFile(directory, 64 * 1024, false, objectMapper);
+        assertEquals(0, emptied.open());
+        emptied.close();
+        assertNotEquals(logId, emptied.logId());
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith("changes-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static List<InspectionChangeEvent> events(long firstSequence, long lastSequence) {
+        List<InspectionChangeEvent> events = new ArrayList<>();
+        for (long sequence = firstSequence; sequence <= lastSequence; sequence++) {
+            InspectionChangeEvent event = new InspectionChangeEvent(InspectionChangeEvent.Type.INSPECTION_UPDATED,
+                    "SO" + sequence, "METADATA", null, Map.of("status", "InProgress"));
+            event.setSequence(sequence);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,237 @@
+package com.pha.inspection.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InspectionChangeDispatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<InspectionChangeDispatcher> dispatchers = new ArrayList<>();
+
+    @AfterEach
+    void stopDispatchers() {
+        dispatchers.forEach(InspectionChangeDispatcher::stop);
+    }
+
+    @Test
+    void subscriberWithACheckpointIsReplayedTheLogBeforeNewEvents() throws Exception {
+        InspectionChangeDispatcher first = start(100);
+        for (int i = 0; i < 3; i++) {
+            first.publish(event());
+        }
+        await(() -> first.getLastSequence() == 3);
+        first.stop();
+
+        InspectionChangeDispatcher restarted = start(100);
+        RecordingListener listener = new RecordingListener(1);
+        restarted.subscribe(listener);
+        restarted.publish(event());
+
+        await(() -> listener.checkpoint() == 4);
+        assertEquals(List.of(2L, 3L, 4L), listener.sequences());
+    }
+
+    @Test
+    void subscriberWithoutACheckpointOnlyReceivesNewEvents() throws Exception {
+        InspectionChangeDispatcher first = start(100);
+        first.publish(event());
+        await(() -> first.getLastSequence() == 1);
+        first.stop();
+
+        InspectionChangeDispatcher restarted = start(100);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        restarted.subscribe(events -> events.forEach(e -> received.add(e.getSequence())));
+        restarted.publish(event());
+
+        await(() -> received.size() == 1);
+        assertEquals(List.of(2L), received);
+    }
+
+    @Test
+    void restartWithAnEmptyLogDirectoryStartsANewLogInsteadOfTheOldCheckpoint() throws Exception {
+        Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+        InspectionChangeDispatcher first = start(100);
+        PerLogListener before = new PerLogListener(first, checkpoints);
+        first.subscribe(before);
+        for (int i = 0; i < 3; i++) {
+            first.publish(event());
+        }
+        await(() -> before.checkpoint() == 3);
+        first.stop();
+
+        // A redeploy gets an empty disk: the log restarts at sequence 1 while the checkpoint stays at 3
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+
+        InspectionChangeDispatcher restarted = start(100);
+        assertNotEquals(first.getLogId(), restarted.getLogId());
+        PerLogListener after = new PerLogListener(restarted, checkpoints);
+        restarted.subscribe(after);
+        restarted.publish(event());
+        restarted.publish(event());
+
+        await(() -> after.checkpoint() == 2);
+        assertEquals(List.of(1L, 2L), after.sequences());
+        assertEquals(3, (long) checkpoints.get(first.getLogId()));
+    }
+
+    @Test
+    void failedBatchIsReplayedFromTheCheckpoint() throws Exception {
+        InspectionChangeDispatcher dispatcher = start(100);
+        RecordingListener listener = new RecordingListener(0);
+        listener.failNext.set(true);
+        dispatcher.subscribe(listener);
+
+        dispatcher.publish(event());
+        await(() -> dispatcher.getLastSequence() == 1);
+        dispatcher.publish(event());
+
+        await(() -> listener.checkpoint() == 2);
+        assertEquals(List.of(1L, 2L), listener.sequences());
+    }
+
+    @Test
+    void publishWaitsForQueueSpaceInsteadOfDropping() throws Exception {
+        InspectionChangeDispatcher dispatcher = start(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        dispatcher.subscribe(events -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.forEach(e -> received.add(e.getSequence()));
+        });
+
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 4; i++) {
+                dispatcher.publish(event());
+            }
+        });
+        publisher.start();
+
+        await(() -> dispatcher.getBlockedPublishes() > 0);
+        release.countDown();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+
+        await(() -> dispatcher.getLastSequence() == 4);
+        await(() -> received.size() == 4);
+        assertEquals(List.of(1L, 2L, 3L, 4L), received);
+        assertEquals(0, dispatcher.getDroppedEvents());
+    }
+
+    private InspectionChangeDispatcher start(int queueCapacity) throws IOException {
+        InspectionChangeDispatcher dispatcher = new InspectionChangeDispatcher(new ObjectMapper(), true,
+                directory.toString(), queueCapacity, 256, 10, 10, 50, 64 * 1024, false);
+        dispatcher.start();
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private static InspectionChangeEvent event() {
+        return ChangeLogFileTest.events(0, 0).get(0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Keeps one checkpoint per log id, like ChangeLogCheckpointRepository
+     */
+    private static class PerLogListener implements InspectionChangeListener {
+
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+        private final Map<String, Long> checkpoints;
+        private final String logId;
+
+        PerLogListener(InspectionChangeDispatcher dispatcher, Map<String, Long> checkpoints) {
+            this.checkpoints = checkpoints;
+            this.logId = dispatcher.getLogId();
+            checkpoints.putIfAbsent(logId, dispatcher.getLastSequence());
+        }
+
+        @Override
+        public void onChanges(List<InspectionChangeEvent> events) {
+            events.forEach(event -> sequences.add(event.getSequence()));
+            checkpoints.put(logId, events.get(events.size() - 1).getSequence());
+        }
+
+        @Override
+        public long checkpoint() {
+            return checkpoints.get(logId);
+        }
+
+        List<Long> sequences() {
+            return new ArrayList<>(sequences);
+        }
+    }
+
+    /**
+     * Records delivered sequences and keeps its checkpoint in memory; can fail one batch
+     */
+    private static class RecordingListener implements InspectionChangeListener {
+
+        private final List<Long> sequences = new ArrayList<>();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+        private volatile long checkpoint;
+
+        RecordingListener(long checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public void onChanges(List<InspectionChangeEvent> events) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("simulated failure");
+            }
+            for (InspectionChangeEvent event : events) {
+                synchronized (sequences) {
+                    sequences.add(event.getSequence());
+                }
+            }
+            checkpoint = events.get(events.size() - 1).getSequence();
+        }
+
+        @Override
+        public long checkpoint() {
+            return checkpoint;
+        }
+
+        List<Long> sequences() {
+            synchronized (sequences) {
+                return new ArrayList<>(sequences);
+            }
+        }
+    }
+}
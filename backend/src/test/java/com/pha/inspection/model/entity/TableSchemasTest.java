@@ -0,0 +1,155 @@
+package com.pha.inspection.model.entity;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.IndexMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnore;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The reflective schemas used in native images must map exactly like TableSchema.fromBean
+ */
+class TableSchemasTest {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Inspection.class,
+            InspectionResponse.class,
+            PMIResponse.class,
+            InspectionImage.class,
+            InspectionSignature.class,
+            Inspector.class,
+            RefreshToken.class);
+
+    // Inspection.setStatus also stamps updatedAt, so after mapToItem it depends on attribute order and the clock
+    private static final Map<Class<?>, Set<String>> SET_BY_OTHER_SETTERS = Map.of(Inspection.class, Set.of("updatedAt"));
+
+    @Test
+    void attributeNamesMatchTheBeanSchema() {
+        for (Class<?> entity : ENTITIES) {
+            assertEquals(new TreeSet<>(TableSchema.fromBean(entity).attributeNames()),
+                    new TreeSet<>(TableSchemas.reflectiveSchema(entity).attributeNames()),
+                    entity.getSimpleName());
+        }
+    }
+
+    @Test
+    void primaryAndIndexKeysMatchTheBeanSchema() {
+        for (Class<?> entity : ENTITIES) {
+            TableMetadata bean = TableSchema.fromBean(entity).tableMetadata();
+            TableMetadata reflective = TableSchemas.reflectiveSchema(entity).tableMetadata();
+            String name = entity.getSimpleName();
+
+            assertEquals(bean.primaryPartitionKey(), reflective.primaryPartitionKey(), name);
+            assertEquals(bean.primarySortKey(), reflective.primarySortKey(), name);
+
+            Set<String> indices = indexNames(bean);
+            assertEquals(indices, indexNames(reflective), name);
+            for (String index : indices) {
+                assertEquals(bean.indexPartitionKey(index), reflective.indexPartitionKey(index), name + " " + index);
+                assertEquals(bean.indexSortKey(index), reflective.indexSortKey(index), name + " " + index);
+            }
+        }
+    }
+
+    @Test
+    void itemToMapMatchesTheBeanSchema() throws Exception {
+        for (Class<?> entity : ENTITIES) {
+            assertItemToMapMatches(entity);
+        }
+    }
+
+    @Test
+    void mapToItemRoundTripsThroughTheBeanSchema() throws Exception {
+        for (Class<?> entity : ENTITIES) {
+            assertRoundTrip(entity);
+        }
+    }
+
+    private static <T> void assertItemToMapMatches(Class<T> entity) throws Exception {
+        TableSchema<T> bean = TableSchema.fromBean(entity);
+        TableSchema<T> reflective = TableSchemas.reflectiveSchema(entity);
+        String name = entity.getSimpleName();
+
+        T empty = entity.getConstructor().newInstance();
+        assertEquals(bean.itemToMap(empty, true), reflective.itemToMap(empty, true), name + " (defaults)");
+
+        T sample = sample(bean, entity);
+        Map<String, AttributeValue> expected = bean.itemToMap(sample, false);
+        assertEquals(expected, reflective.itemToMap(sample, false), name);
+        assertEquals(bean.itemToMap(sample, true), reflective.itemToMap(sample, true), name + " (ignoring nulls)");
+    }
+
+    private static <T> void assertRoundTrip(Class<T> entity) throws Exception {
+        TableSchema<T> bean = TableSchema.fromBean(entity);
+        TableSchema<T> reflective = TableSchemas.reflectiveSchema(entity);
+        String name = entity.getSimpleName();
+
+        Map<String, AttributeValue> stored = bean.itemToMap(sample(bean, entity), false);
+        assertEquals(comparable(entity, stored), comparable(entity, bean.itemToMap(reflective.mapToItem(stored), false)), name);
+        assertEquals(comparable(entity, stored), comparable(entity, reflective.itemToMap(bean.mapToItem(stored), false)), name);
+    }
+
+    private static Map<String, AttributeValue> comparable(Class<?> entity, Map<String, AttributeValue> attributes) {
+        Map<String, AttributeValue> comparable = new TreeMap<>(attributes);
+        for (String attribute : SET_BY_OTHER_SETTERS.getOrDefault(entity, Set.of())) {
+            assertTrue(comparable.remove(attribute) != null, entity.getSimpleName() + " lost " + attribute);
+        }
+        return comparable;
+    }
+
+    /**
+     * An item with every mapped property set; passed through the bean schema once so that keys
+     * derived by setters (PK, GSI keys, ...) are consistent with the values they derive from
+     */
+    private static <T> T sample(TableSchema<T> bean, Class<T> entity) throws Exception {
+        T item = entity.getConstructor().newInstance();
+        int set = 0;
+        for (PropertyDescriptor property : Introspector.getBeanInfo(entity).getPropertyDescriptors()) {
+            if (property.getReadMethod() == null || property.getWriteMethod() == null
+                    || property.getReadMethod().isAnnotationPresent(DynamoDbIgnore.class)) {
+                continue;
+            }
+            property.getWriteMethod().invoke(item, sampleValue(property));
+            set++;
+        }
+        assertTrue(set > 0, entity.getSimpleName() + " has no mapped properties");
+        return bean.mapToItem(bean.itemToMap(item, false));
+    }
+
+    private static Object sampleValue(PropertyDescriptor property) {
+        Class<?> type = property.getPropertyType();
+        if (type == String.class) {
+            return property.getName() + "-value";
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 7;
+        }
+        if (type == Long.class || type == long.class) {
+            return 1_700_000_000L;
+        }
+        throw new IllegalArgumentException("No sample value for " + property.getName() + " of type " + type.getName());
+    }
+
+    private static Set<String> indexNames(TableMetadata metadata) {
+        return metadata.indices().stream()
+                .map(IndexMetadata::name)
+                .filter(name -> !TableMetadata.primaryIndexName().equals(name))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,125 @@
+package com.pha.inspection.service;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerPartsPublisherTest {
+
+    @Test
+    void deliversOnlyWhatWasRequested() {
+        AnswerPartsPublisher publisher = new AnswerPartsPublisher(List.of("a", "b", "c"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        assertEquals(List.of(), subscriber.parts);
+
+        subscriber.subscription.request(1);
+        assertEquals(List.of("a"), subscriber.parts);
+        assertFalse(subscriber.completed);
+        assertFalse(publisher.done().isDone());
+
+        subscriber.subscription.request(2);
+        assertEquals(List.of("a", "b", "c"), subscriber.parts);
+        assertTrue(subscriber.completed);
+        assertTrue(publisher.done().isDone());
+        assertFalse(publisher.done().isCompletedExceptionally());
+    }
+
+    @Test
+    void completesOnceWithUnboundedDemand() {
+        AnswerPartsPublisher publisher = new AnswerPartsPublisher(List.of("a", "b"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(List.of("a", "b"), subscriber.parts);
+        assertEquals(1, subscriber.completions);
+    }
+
+    @Test
+    void requestingFromOnNextDoesNotReorderParts() {
+        AnswerPartsPublisher publisher = new AnswerPartsPublisher(List.of("a", "b", "c"));
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(String part) {
+                super.onNext(part);
+                subscription.request(1);
+            }
+        };
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(List.of("a", "b", "c"), subscriber.parts);
+        assertEquals(1, subscriber.completions);
+    }
+
+    @Test
+    void cancelStopsDeliveryAndCancelsDone() {
+        AnswerPartsPublisher publisher = new AnswerPartsPublisher(List.of("a", "b"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+
+        assertEquals(List.of("a"), subscriber.parts);
+        assertFalse(subscriber.completed);
+        assertTrue(publisher.done().isCancelled());
+    }
+
+    @Test
+    void nonPositiveRequestFailsTheSubscriber() {
+        AnswerPartsPublisher publisher = new AnswerPartsPublisher(List.of("a"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(List.of(), subscriber.parts);
+        assertTrue(publisher.done().isCompletedExceptionally());
+    }
+
+    private static class RecordingSubscriber implements Subscriber<String> {
+
+        final List<String> parts = new ArrayList<>();
+        Subscription subscription;
+        boolean completed;
+        int completions;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String part) {
+            parts.add(part);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            completions++;
+        }
+    }
+}
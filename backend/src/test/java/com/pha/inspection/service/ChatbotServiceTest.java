@@ -0,0 +1,130 @@
+package com.pha.inspection.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatbotServiceTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<ChatbotService> services = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+        services.forEach(ChatbotService::shutdown);
+    }
+
+    @Test
+    void answersAreCachedByNormalizedQuestion() {
+        CountingKnowledgeBase knowledgeBase = new CountingKnowledgeBase();
+        ChatbotService service = service(knowledgeBase, 60_000);
+
+        assertEquals("answer to What is a PMI?", service.query("What is a PMI?"));
+        assertEquals("answer to What is a PMI?", service.query("  what is a   pmi "));
+        assertEquals(1, knowledgeBase.calls.get());
+    }
+
+    @Test
+    void failedAnswersAreNotCached() {
+        CountingKnowledgeBase knowledgeBase = new CountingKnowledgeBase();
+        knowledgeBase.failures.set(1);
+        ChatbotService service = service(knowledgeBase, 60_000);
+
+        assertThrows(IllegalStateException.class, () -> service.query("question"));
+        assertEquals("answer to question", service.query("question"));
+        assertEquals(2, knowledgeBase.calls.get());
+    }
+
+    @Test
+    void identicalQuestionsInProgressShareOneCall() throws Exception {
+        CountingKnowledgeBase knowledgeBase = new CountingKnowledgeBase();
+        knowledgeBase.release = new CountDownLatch(1);
+        ChatbotService service = service(knowledgeBase, 60_000);
+
+        Future<String> first = callers.submit(() -> service.query("Question"));
+        knowledgeBase.started.await(5, TimeUnit.SECONDS);
+        Future<String> second = callers.submit(() -> service.query("question?"));
+
+        // The second caller is waiting on the first call, not calling again
+        Thread.sleep(100);
+        assertEquals(1, knowledgeBase.calls.get());
+        knowledgeBase.release.countDown();
+
+        assertEquals("answer to Question", first.get(5, TimeUnit.SECONDS));
+        assertEquals("answer to Question", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, knowledgeBase.calls.get());
+    }
+
+    @Test
+    void callersWaitingOnACallInProgressTimeOutWithoutFailingIt() throws Exception {
+        CountingKnowledgeBase knowledgeBase = new CountingKnowledgeBase();
+        knowledgeBase.release = new CountDownLatch(1);
+        ChatbotService service = service(knowledgeBase, 100);
+
+        Future<String> first = callers.submit(() -> service.query("question"));
+        knowledgeBase.started.await(5, TimeUnit.SECONDS);
+
+        RuntimeException timeout = assertThrows(RuntimeException.class, () -> service.query("question"));
+        assertTrue(timeout.getMessage().contains("Timed out"), timeout.getMessage());
+
+        knowledgeBase.release.countDown();
+        assertEquals("answer to question", first.get(5, TimeUnit.SECONDS));
+        assertEquals("answer to question", service.query("question"));
+        assertEquals(1, knowledgeBase.calls.get());
+    }
+
+    private ChatbotService service(KnowledgeBaseClient knowledgeBase, long queryTimeoutMs) {
+        ChatbotService service = new ChatbotService(knowledgeBase, new SimpleMeterRegistry(), 2, 3600, 100, queryTimeoutMs);
+        services.add(service);
+        return service;
+    }
+
+    /**
+     * Answers "answer to {question}", optionally failing first or waiting for release
+     */
+    private static class CountingKnowledgeBase implements KnowledgeBaseClient {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch release;
+
+        @Override
+        public String retrieveAndGenerate(String question) {
+            calls.incrementAndGet();
+            started.countDown();
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("simulated failure");
+            }
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "answer to " + question;
+        }
+
+        @Override
+        public CompletableFuture<Void> retrieveAndGenerateStream(String question, Subscriber<String> answerParts) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
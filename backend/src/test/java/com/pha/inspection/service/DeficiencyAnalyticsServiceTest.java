@@ -0,0 +1,169 @@
+package com.pha.inspection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
+import com.pha.inspection.model.dto.DeficiencyAnalyticsDTO;
+import com.pha.inspection.model.dto.DeficiencyCategoryDTO;
+import com.pha.inspection.model.entity.Inspection;
+import com.pha.inspection.repository.ChangeLogCheckpointRepository;
+import com.pha.inspection.repository.InMemoryInspectionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeficiencyAnalyticsServiceTest {
+
+    private static final String TABLE = "pha-inspections";
+    private static final String MAY = "ANALYTICS#DEF#2025-05";
+    private static final String KITCHEN_PLUMBING = "#AREA#Kitchen#SVC#100-PLUMBING#ACT#703";
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryDynamoDbClient dynamoDb = new InMemoryDynamoDbClient();
+    private final ChangeLogCheckpointRepository checkpoints = new ChangeLogCheckpointRepository(dynamoDb, TABLE);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<InspectionChangeDispatcher> dispatchers = new ArrayList<>();
+    private final InMemoryInspectionRepository inspections = new InMemoryInspectionRepository(disabledDispatcher());
+
+    @AfterEach
+    void stopDispatchers() {
+        dispatchers.forEach(InspectionChangeDispatcher::stop);
+    }
+
+    @Test
+    void replayedEventsAreCountedOnce() throws IOException {
+        DeficiencyAnalyticsService analytics = service(directory.resolve("log"));
+        saveInspection("SO1", "901");
+        List<InspectionChangeEvent> events = List.of(
+                saved(1, "SO1", null, deficiency("K001", "2025-05-02T10:00:00Z")),
+                saved(2, "SO1", deficiency("K001", "2025-05-02T10:00:00Z"), deficiency("K001", "2025-05-03T10:00:00Z")),
+                saved(3, "SO1", null, deficiency("K002", "2025-05-04T10:00:00Z")));
+
+        analytics.onChanges(events.subList(0, 2));
+        analytics.onChanges(events);
+
+        assertEquals(Map.of("901|100-PLUMBING|703", 2L), top(analytics));
+        assertEquals(2, skippedEvents());
+    }
+
+    @Test
+    void responseCountedBeforeItsSiteWasKnownIsRemovedFromTheSameBucket() throws IOException {
+        DeficiencyAnalyticsService analytics = service(directory.resolve("log"));
+
+        // No inspection yet: counted under SITE#UNKNOWN
+        analytics.onChanges(List.of(saved(1, "SO1", null, deficiency("K001", "2025-05-02T10:00:00Z"))));
+        assertEquals(1, count(MAY, "SITE#UNKNOWN" + KITCHEN_PLUMBING));
+
+        // The inspection (and its site) arrives, then the response is edited and later deleted
+        analytics.onChanges(List.of(inspectionCreated(2, "SO1", "901")));
+        analytics.onChanges(List.of(saved(3, "SO1",
+                deficiency("K001", "2025-05-02T10:00:00Z"), deficiency("K001", "2025-05-06T10:00:00Z"))));
+
+        assertEquals(0, count(MAY, "SITE#UNKNOWN" + KITCHEN_PLUMBING));
+        assertEquals(1, count(MAY, "SITE#901" + KITCHEN_PLUMBING));
+
+        analytics.onChanges(List.of(deleted(4, "SO1", deficiency("K001", "2025-05-06T10:00:00Z"))));
+
+        assertEquals(0, count(MAY, "SITE#UNKNOWN" + KITCHEN_PLUMBING));
+        assertEquals(0, count(MAY, "SITE#901" + KITCHEN_PLUMBING));
+    }
+
+    @Test
+    void eventsOfANewLogAreCountedAfterARedeploy() throws IOException {
+        saveInspection("SO1", "901");
+        saveInspection("SO2", "901");
+        DeficiencyAnalyticsService before = service(directory.resolve("before"));
+        before.onChanges(List.of(
+                saved(1, "SO1", null, deficiency("K001", "2025-05-02T10:00:00Z")),
+                saved(2, "SO1", null, deficiency("K002", "2025-05-02T11:00:00Z"))));
+
+        // The new deployment's log starts again at sequence 1 while the aggregate is at 2
+        DeficiencyAnalyticsService after = service(directory.resolve("after"));
+        after.onChanges(List.of(saved(1, "SO2", null, deficiency("K001", "2025-05-03T10:00:00Z"))));
+
+        assertEquals(Map.of("901|100-PLUMBING|703", 3L), top(after));
+        assertEquals(0, skippedEvents());
+        assertEquals(1, after.checkpoint());
+    }
+
+    private DeficiencyAnalyticsService service(Path logDirectory) throws IOException {
+        InspectionChangeDispatcher dispatcher = new InspectionChangeDispatcher(new ObjectMapper(), true,
+                logDirectory.toString(), 100, 256, 10, 10, 50, 64 * 1024, false);
+        dispatcher.start();
+        dispatchers.add(dispatcher);
+
+        DeficiencyAnalyticsService analytics = new DeficiencyAnalyticsService(dynamoDb, dispatcher, checkpoints,
+                inspections, new AreaService(), meterRegistry, TABLE, "UTC", true);
+        analytics.init();
+        return analytics;
+    }
+
+    private void saveInspection(String soNumber, String siteCode) {
+        Inspection inspection = new Inspection();
+        inspection.setSoNumber(soNumber);
+        inspection.setSiteCode(siteCode);
+        inspections.save(inspection);
+    }
+
+    private static InspectionChangeDispatcher disabledDispatcher() {
+        return new InspectionChangeDispatcher(new ObjectMapper(), false, "unused", 1, 1, 1, 1, 1, 1, false);
+    }
+
+    private long count(String pk, String sk) {
+        Map<String, AttributeValue> item = dynamoDb.item(pk, sk);
+        return item == null ? 0 : Long.parseLong(item.get("defCount").n());
+    }
+
+    private double skippedEvents() {
+        return meterRegistry.get("rollup.events.skipped").tag("subscriber", "deficiency-analytics").counter().count();
+    }
+
+    /**
+     * "site|serviceId|activityCode" -> count for May 2025
+     */
+    private static Map<String, Long> top(DeficiencyAnalyticsService analytics) {
+        DeficiencyAnalyticsDTO result = analytics.getTopDeficiencies(null, null, YearMonth.of(2025, 5), YearMonth.of(2025, 5), 10);
+        return result.getCategories().stream().collect(Collectors.toMap(
+                c -> c.getSiteCode() + "|" + c.getServiceId() + "|" + c.getActivityCode(),
+                DeficiencyCategoryDTO::getCount));
+    }
+
+    private static Map<String, String> deficiency(String itemId, String createdAt) {
+        return Map.of("itemId", itemId, "response", "Def", "serviceId", "100-PLUMBING", "activityCode", "703",
+                "urgent", "false", "createdAt", createdAt);
+    }
+
+    private static InspectionChangeEvent saved(long sequence, String soNumber, Map<String, String> before, Map<String, String> after) {
+        return event(sequence, InspectionChangeEvent.Type.RESPONSE_SAVED, soNumber, "RESPONSE#" + after.get("itemId"), before, after);
+    }
+
+    private static InspectionChangeEvent deleted(long sequence, String soNumber, Map<String, String> before) {
+        return event(sequence, InspectionChangeEvent.Type.RESPONSE_DELETED, soNumber, "RESPONSE#" + before.get("itemId"), before, null);
+    }
+
+    private static InspectionChangeEvent inspectionCreated(long sequence, String soNumber, String siteCode) {
+        return event(sequence, InspectionChangeEvent.Type.INSPECTION_CREATED, soNumber, "METADATA",
+                null, Map.of("status", "New", "siteCode", siteCode));
+    }
+
+    private static InspectionChangeEvent event(long sequence, InspectionChangeEvent.Type type, String soNumber,
+                                               String sortKey, Map<String, String> before, Map<String, String> after) {
+        InspectionChangeEvent event = new InspectionChangeEvent(type, soNumber, sortKey, before, after);
+        event.setSequence(sequence);
+        return event;
+    }
+}
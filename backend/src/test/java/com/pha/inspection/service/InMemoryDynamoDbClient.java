@@ -0,0 +1,190 @@
+package com.pha.inspection.service;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Single-table DynamoDB stand-in for the rollup services
+ *
+ * Supports what they use: UpdateItem with ADD/SET of top-level attributes and PutItem, both with
+ * conditions made of attribute_exists, attribute_not_exists and numeric "<" joined by OR; GetItem
+ * and BatchGetItem; and Query on PK with an optional SK BETWEEN or begins_with.
+ */
+class InMemoryDynamoDbClient implements DynamoDbClient {
+
+    private final Map<String, Map<String, AttributeValue>> items = new TreeMap<>();
+
+    // Updates matching this fail (once each time it is set) as if DynamoDB had returned an error
+    private Predicate<UpdateItemRequest> failNext;
+
+    @Override
+    public String serviceName() {
+        return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    void failNextUpdate(Predicate<UpdateItemRequest> matching) {
+        this.failNext = matching;
+    }
+
+    Map<String, AttributeValue> item(String pk, String sk) {
+        return items.get(pk + "|" + sk);
+    }
+
+    @Override
+    public synchronized UpdateItemResponse updateItem(UpdateItemRequest request) {
+        if (failNext != null && failNext.test(request)) {
+            failNext = null;
+            throw new IllegalStateException("simulated DynamoDB failure");
+        }
+
+        Map<String, String> names = request.hasExpressionAttributeNames() ? request.expressionAttributeNames() : Map.of();
+        Map<String, AttributeValue> values = request.expressionAttributeValues();
+        String key = key(request.key());
+        Map<String, AttributeValue> item = items.get(key);
+
+        if (request.conditionExpression() != null && !matches(request.conditionExpression(), item, names, values)) {
+            ConditionalCheckFailedException.Builder failure = ConditionalCheckFailedException.builder()
+                    .message("The conditional request failed");
+            if (request.returnValuesOnConditionCheckFailure() == ReturnValuesOnConditionCheckFailure.ALL_OLD && item != null) {
+                failure.item(item);
+            }
+            throw failure.build();
+        }
+
+        Map<String, AttributeValue> updated = item == null ? new HashMap<>(request.key()) : new HashMap<>(item);
+        String expression = request.updateExpression();
+        int set = expression.indexOf("SET ");
+        if (expression.startsWith("ADD ")) {
+            for (String clause : (set < 0 ? expression.substring(4) : expression.substring(4, set)).split(",")) {
+                String[] parts = clause.trim().split(" ");
+                String name = names.getOrDefault(parts[0], parts[0]);
+                long current = updated.containsKey(name) ? Long.parseLong(updated.get(name).n()) : 0;
+                long added = Long.parseLong(values.get(parts[1]).n());
+                updated.put(name, AttributeValue.builder().n(Long.toString(current + added)).build());
+            }
+        }
+        if (set >= 0) {
+            for (String clause : expression.substring(set + 4).split(",")) {
+                String[] parts = clause.trim().split(" = ");
+                updated.put(names.getOrDefault(parts[0], parts[0]), values.get(parts[1].trim()));
+            }
+        }
+        items.put(key, updated);
+        return UpdateItemResponse.builder().build();
+    }
+
+    @Override
+    public synchronized PutItemResponse putItem(PutItemRequest request) {
+        Map<String, String> names = request.hasExpressionAttributeNames() ? request.expressionAttributeNames() : Map.of();
+        Map<String, AttributeValue> values = request.hasExpressionAttributeValues() ? request.expressionAttributeValues() : Map.of();
+        String key = key(request.item());
+        Map<String, AttributeValue> item = items.get(key);
+
+        if (request.conditionExpression() != null && !matches(request.conditionExpression(), item, names, values)) {
+            ConditionalCheckFailedException.Builder failure = ConditionalCheckFailedException.builder()
+                    .message("The conditional request failed");
+            if (request.returnValuesOnConditionCheckFailure() == ReturnValuesOnConditionCheckFailure.ALL_OLD && item != null) {
+                failure.item(item);
+            }
+            throw failure.build();
+        }
+        items.put(key, new HashMap<>(request.item()));
+        return PutItemResponse.builder().build();
+    }
+
+    @Override
+    public synchronized BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        Map<String, List<Map<String, AttributeValue>>> found = new HashMap<>();
+        request.requestItems().forEach((table, keys) -> {
+            List<Map<String, AttributeValue>> tableItems = new ArrayList<>();
+            for (Map<String, AttributeValue> itemKey : keys.keys()) {
+                Map<String, AttributeValue> item = items.get(key(itemKey));
+                if (item != null) {
+                    tableItems.add(item);
+                }
+            }
+            found.put(table, tableItems);
+        });
+        return BatchGetItemResponse.builder().responses(found).build();
+    }
+
+    @Override
+    public synchronized GetItemResponse getItem(GetItemRequest request) {
+        Map<String, AttributeValue> item = items.get(key(request.key()));
+        return item == null ? GetItemResponse.builder().build() : GetItemResponse.builder().item(item).build();
+    }
+
+    @Override
+    public synchronized QueryResponse query(QueryRequest request) {
+        Map<String, AttributeValue> values = request.expressionAttributeValues();
+        String condition = request.keyConditionExpression();
+
+        List<Map<String, AttributeValue>> found = new ArrayList<>();
+        for (Map<String, AttributeValue> item : items.values()) {
+            String sk = item.get("SK").s();
+            if (!item.get("PK").s().equals(values.get(":pk").s())
+                    || condition.contains("BETWEEN") && (sk.compareTo(values.get(":fromSk").s()) < 0
+                    || sk.compareTo(values.get(":toSk").s()) > 0)
+                    || condition.contains("begins_with") && !sk.startsWith(values.get(":skPrefix").s())) {
+                continue;
+            }
+            found.add(item);
+        }
+        return QueryResponse.builder().items(found).count(found.size()).build();
+    }
+
+    private static boolean matches(String condition, Map<String, AttributeValue> item,
+                                   Map<String, String> names, Map<String, AttributeValue> values) {
+        for (String term : condition.split(" OR ")) {
+            term = term.trim();
+            if (term.startsWith("attribute_not_exists(")) {
+                if (item == null || !item.containsKey(attribute(term, names))) {
+                    return true;
+                }
+            } else if (term.startsWith("attribute_exists(")) {
+                if (item != null && item.containsKey(attribute(term, names))) {
+                    return true;
+                }
+            } else {
+                String[] parts = term.split(" < ");
+                AttributeValue current = item == null ? null : item.get(names.getOrDefault(parts[0], parts[0]));
+                if (current != null && Long.parseLong(current.n()) < Long.parseLong(values.get(parts[1]).n())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String attribute(String function, Map<String, String> names) {
+        String name = function.substring(function.indexOf('(') + 1, function.indexOf(')'));
+        return names.getOrDefault(name, name);
+    }
+
+    private static String key(Map<String, AttributeValue> key) {
+        return key.get("PK").s() + "|" + key.get("SK").s();
+    }
+}
@@ -0,0 +1,119 @@
+package com.pha.inspection.service;
+
+import com.pha.inspection.model.entity.Inspector;
+import com.pha.inspection.repository.InspectorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InspectorDirectoryTest {
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor();
+    private final BlockingInspectorRepository repository = new BlockingInspectorRepository();
+
+    @AfterEach
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    @Test
+    void reloadKeepsEntriesWrittenWhileItWasScanning() throws Exception {
+        InspectorDirectory directory = new InspectorDirectory(repository, 300);
+        repository.scanned = List.of(inspector("I001", true), inspector("I002", true));
+
+        repository.release = new CountDownLatch(1);
+        Future<?> reload = refresher.submit(directory::refresh);
+        assertTrue(repository.scanning.await(5, TimeUnit.SECONDS));
+
+        // Deactivated after the scan read the table, before the reload wrote the cache
+        directory.put(inspector("I001", false));
+        repository.release.countDown();
+        reload.get(5, TimeUnit.SECONDS);
+
+        assertFalse(directory.findByInspectorId("I001").orElseThrow().getActive());
+        assertTrue(directory.findByInspectorId("I002").orElseThrow().getActive());
+        assertEquals(0, repository.lookups);
+    }
+
+    @Test
+    void reloadDropsInspectorsNoLongerInTheTable() throws InterruptedException {
+        InspectorDirectory directory = new InspectorDirectory(repository, 300);
+        repository.scanned = List.of(inspector("I001", true), inspector("I002", true));
+        directory.refresh();
+        // Reloads are seconds apart; entries loaded in the same millisecond count as current
+        Thread.sleep(5);
+
+        repository.scanned = List.of(inspector("I002", true));
+        directory.refresh();
+
+        assertEquals(Optional.empty(), directory.findByInspectorId("I001"));
+        assertEquals(1, repository.lookups);
+    }
+
+    private static Inspector inspector(String inspectorId, boolean active) {
+        Inspector inspector = new Inspector();
+        inspector.setInspectorId(inspectorId);
+        inspector.setActive(active);
+        return inspector;
+    }
+
+    /**
+     * Serves findAll from a fixed list, optionally holding it until released; single lookups find nothing
+     */
+    private static class BlockingInspectorRepository extends InspectorRepository {
+
+        private final CountDownLatch scanning = new CountDownLatch(1);
+        private volatile List<Inspector> scanned = List.of();
+        private volatile CountDownLatch release;
+        private volatile int lookups;
+
+        BlockingInspectorRepository() {
+            super(DynamoDbEnhancedClient.builder().dynamoDbClient(new InMemoryDynamoDbClient()).build(),
+                    DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(new DynamoDbAsyncClient() {
+                        @Override
+                        public String serviceName() {
+                            return "dynamodb";
+                        }
+
+                        @Override
+                        public void close() {
+                        }
+                    }).build(),
+                    new InMemoryDynamoDbClient(), "pha-inspections");
+        }
+
+        @Override
+        public List<Inspector> findAll() {
+            List<Inspector> result = scanned;
+            scanning.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Optional<Inspector> findByInspectorId(String inspectorId) {
+            lookups++;
+            return Optional.empty();
+        }
+    }
+}
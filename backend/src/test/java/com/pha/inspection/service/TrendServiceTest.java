@@ -0,0 +1,146 @@
+package com.pha.inspection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pha.inspection.event.InspectionChangeDispatcher;
+import com.pha.inspection.event.InspectionChangeEvent;
+import com.pha.inspection.model.dto.TrendPointDTO;
+import com.pha.inspection.repository.ChangeLogCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrendServiceTest {
+
+    private static final String TABLE = "pha-inspections";
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryDynamoDbClient dynamoDb = new InMemoryDynamoDbClient();
+    private final ChangeLogCheckpointRepository checkpoints = new ChangeLogCheckpointRepository(dynamoDb, TABLE);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<InspectionChangeDispatcher> dispatchers = new ArrayList<>();
+
+    @AfterEach
+    void stopDispatchers() {
+        dispatchers.forEach(InspectionChangeDispatcher::stop);
+    }
+
+    @Test
+    void replayedEventsAreCountedOnce() throws IOException {
+        TrendService trends = service(directory.resolve("log"));
+        List<InspectionChangeEvent> events = List.of(
+                created(1, "901", "2025-05-02T10:00:00Z"),
+                moved(2, "901", "New", "InProgress", "2025-05-02T11:00:00Z"),
+                created(3, "901", "2025-05-02T12:00:00Z"),
+                created(4, "801", "2025-05-03T10:00:00Z"));
+
+        trends.onChanges(events.subList(0, 2));
+        // Replayed with different batch boundaries, e.g. after the checkpoint save failed
+        trends.onChanges(events);
+        trends.onChanges(events.subList(2, 4));
+
+        assertEquals(Map.of(
+                "2025-05-02|901|New", 2L,
+                "2025-05-02|901|InProgress", 1L,
+                "2025-05-03|801|New", 1L), counts(trends));
+        assertEquals(4, skippedEvents());
+        assertEquals(4, trends.checkpoint());
+    }
+
+    @Test
+    void failedItemIsCompletedOnReplayWithoutRecountingTheOthers() throws IOException {
+        TrendService trends = service(directory.resolve("log"));
+        List<InspectionChangeEvent> events = List.of(
+                created(1, "901", "2025-05-02T10:00:00Z"),
+                created(2, "801", "2025-05-03T10:00:00Z"));
+
+        dynamoDb.failNextUpdate(request -> request.key().get("PK").s().endsWith("#SITE#801"));
+        assertThrows(IllegalStateException.class, () -> trends.onChanges(events));
+        assertEquals(0, trends.checkpoint());
+
+        trends.onChanges(events);
+
+        assertEquals(Map.of(
+                "2025-05-02|901|New", 1L,
+                "2025-05-03|801|New", 1L), counts(trends));
+        assertEquals(2, trends.checkpoint());
+    }
+
+    @Test
+    void eventsOfANewLogAreCountedAfterARedeploy() throws IOException {
+        TrendService before = service(directory.resolve("before"));
+        before.onChanges(List.of(
+                created(1, "901", "2025-05-02T10:00:00Z"),
+                created(2, "901", "2025-05-02T11:00:00Z"),
+                created(3, "901", "2025-05-02T12:00:00Z")));
+
+        // The new deployment's log starts again at sequence 1 while the rollup item is at 3
+        TrendService after = service(directory.resolve("after"));
+        assertEquals(0, after.checkpoint());
+        after.onChanges(List.of(
+                created(1, "901", "2025-05-02T13:00:00Z"),
+                created(2, "901", "2025-05-02T14:00:00Z")));
+
+        assertEquals(Map.of("2025-05-02|901|New", 5L), counts(after));
+        assertEquals(0, skippedEvents());
+        assertEquals(2, after.checkpoint());
+    }
+
+    private TrendService service(Path logDirectory) throws IOException {
+        InspectionChangeDispatcher dispatcher = new InspectionChangeDispatcher(new ObjectMapper(), true,
+                logDirectory.toString(), 100, 256, 10, 10, 50, 64 * 1024, false);
+        dispatcher.start();
+        dispatchers.add(dispatcher);
+
+        TrendService trends = new TrendService(dynamoDb, dispatcher, checkpoints, meterRegistry, TABLE, "UTC", true);
+        trends.init();
+        return trends;
+    }
+
+    private double skippedEvents() {
+        return meterRegistry.get("rollup.events.skipped").tag("subscriber", "trends").counter().count();
+    }
+
+    /**
+     * "day|site|status" -> count for May 2025
+     */
+    private static Map<String, Long> counts(TrendService trends) {
+        Map<String, Long> counts = new HashMap<>();
+        for (TrendPointDTO point : trends.getTrends("day", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31),
+                null, null, null).getPoints()) {
+            counts.put(point.getBucket() + "|" + point.getSiteCode() + "|" + point.getStatus(), point.getCount());
+        }
+        return counts;
+    }
+
+    private static InspectionChangeEvent created(long sequence, String siteCode, String occurredAt) {
+        return event(sequence, InspectionChangeEvent.Type.INSPECTION_CREATED, siteCode, null, "New", occurredAt);
+    }
+
+    private static InspectionChangeEvent moved(long sequence, String siteCode, String from, String to, String occurredAt) {
+        return event(sequence, InspectionChangeEvent.Type.INSPECTION_UPDATED, siteCode, from, to, occurredAt);
+    }
+
+    private static InspectionChangeEvent event(long sequence, InspectionChangeEvent.Type type, String siteCode,
+                                               String fromStatus, String toStatus, String occurredAt) {
+        Map<String, String> before = fromStatus == null ? null : Map.of("status", fromStatus, "siteCode", siteCode);
+        InspectionChangeEvent event = new InspectionChangeEvent(type, "SO" + sequence, "METADATA",
+                before, Map.of("status", toStatus, "siteCode", siteCode));
+        event.setSequence(sequence);
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+}